@@ -0,0 +1,70 @@
+package com.backend.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+/**
+ * Token work JwtAuthFilter does per request: the old three parses (each with a freshly
+ * built parser), one parse with a shared parser (cache off), and a verified-token cache hit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthBenchmark {
+
+    private JwtUtil cached;
+    private JwtUtil uncached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cached = new JwtUtil(10_000);
+        uncached = new JwtUtil(0);
+        token = cached.generateToken("manager@bank.com", "BANK");
+        cached.verify(token);
+    }
+
+    @Benchmark
+    public void threeParsesPerRequest(Blackhole bh) {
+        Claims valid = parseWithNewParser(token);
+        bh.consume(valid.getExpiration().after(new java.util.Date()));
+        bh.consume(parseWithNewParser(token).getSubject());
+        bh.consume(parseWithNewParser(token).get("role", String.class));
+    }
+
+    @Benchmark
+    public Object oneParsePerRequest() {
+        return uncached.verify(token);
+    }
+
+    @Benchmark
+    public Object cachedToken() {
+        return cached.verify(token);
+    }
+
+    // What JwtUtil.extractClaims did before
+    private static Claims parseWithNewParser(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(JwtUtil.key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
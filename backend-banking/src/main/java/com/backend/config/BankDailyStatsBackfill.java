@@ -0,0 +1,29 @@
+package com.backend.config;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.backend.service.BankDailyStatsService;
+
+/**
+ * One-off backfill of bank_daily_stats from the whole ledger
+ * (banking.stats.rebuild-on-startup=true, then switch it off again).
+ * Safe to re-run: each day is replaced, not added to.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.stats.rebuild-on-startup", havingValue = "true")
+public class BankDailyStatsBackfill implements ApplicationRunner {
+
+    private final BankDailyStatsService statsService;
+
+    public BankDailyStatsBackfill(BankDailyStatsService statsService) {
+        this.statsService = statsService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        statsService.rebuild(null, null);
+    }
+}
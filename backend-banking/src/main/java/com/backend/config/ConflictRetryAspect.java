@@ -0,0 +1,112 @@
+package com.backend.config;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE) // must run OUTSIDE the transaction interceptor
+public class ConflictRetryAspect {
+
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final double backoffMultiplier;
+    private final long maxBackoffMs;
+
+    private final Counter optimisticConflicts;
+    private final Counter pessimisticConflicts;
+    private final Counter retries;
+    private final Counter exhausted;
+
+    // Set while this thread is inside a retry loop
+    private final ThreadLocal<Boolean> retrying = new ThreadLocal<>();
+
+    public ConflictRetryAspect(
+            MeterRegistry meterRegistry,
+            @Value("${banking.retry.max-attempts:3}") int maxAttempts,
+            @Value("${banking.retry.initial-backoff-ms:10}") long initialBackoffMs,
+            @Value("${banking.retry.backoff-multiplier:2.0}") double backoffMultiplier,
+            @Value("${banking.retry.max-backoff-ms:200}") long maxBackoffMs
+    ) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMs = Math.max(0, initialBackoffMs);
+        this.backoffMultiplier = Math.max(1.0, backoffMultiplier);
+        this.maxBackoffMs = Math.max(this.initialBackoffMs, maxBackoffMs);
+
+        this.optimisticConflicts = Counter.builder("banking.retry.conflicts")
+                .tag("type", "optimistic").register(meterRegistry);
+        this.pessimisticConflicts = Counter.builder("banking.retry.conflicts")
+                .tag("type", "pessimistic").register(meterRegistry);
+        this.retries = Counter.builder("banking.retry.retries").register(meterRegistry);
+        this.exhausted = Counter.builder("banking.retry.exhausted").register(meterRegistry);
+    }
+
+    @Around("@annotation(com.backend.config.RetryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint) throws Throwable {
+
+        // Already inside someone else's transaction → a retry here cannot help,
+        // the outer caller owns the rollback
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        // Called from another @RetryOnConflict method (e.g. IdempotencyService.execute without
+        // a key) → the outer loop re-runs us; retrying here too would multiply the attempts
+        if (retrying.get() != null) {
+            return joinPoint.proceed();
+        }
+
+        retrying.set(Boolean.TRUE);
+        try {
+            return proceedWithRetries(joinPoint);
+        } finally {
+            retrying.remove();
+        }
+    }
+
+    private Object proceedWithRetries(ProceedingJoinPoint joinPoint) throws Throwable {
+        int attempt = 1;
+        long backoff = initialBackoffMs;
+        while (true) {
+            try {
+                return joinPoint.proceed();
+            } catch (ConcurrencyFailureException ex) {
+                // stale @Version, deadlock, lock timeout or serialization failure
+                if (ex instanceof OptimisticLockingFailureException) {
+                    optimisticConflicts.increment();
+                } else {
+                    pessimisticConflicts.increment();
+                }
+
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    throw ex;
+                }
+
+                sleep(backoff);
+                backoff = Math.min(maxBackoffMs, (long) (backoff * backoffMultiplier));
+                attempt++;
+                retries.increment();
+            }
+        }
+    }
+
+    // Full jitter so colliding callers don't retry in lock-step
+    private void sleep(long backoff) throws InterruptedException {
+        if (backoff > 0) {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(backoff + 1));
+        }
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
@@ -43,11 +44,16 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
             String token = authHeader.substring(7);
 
-            if (jwtUtil.isTokenValid(token)
-                    && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // One signature check per token (cached until it expires), not one per claim
+            Optional<JwtUtil.VerifiedToken> verified =
+                    SecurityContextHolder.getContext().getAuthentication() == null
+                            ? jwtUtil.verify(token)
+                            : Optional.empty();
 
-                String email = jwtUtil.extractUsername(token);
-                String role = jwtUtil.extractRole(token);
+            if (verified.isPresent()) {
+
+                String email = verified.get().email();
+                String role = verified.get().role();
 
                 // Convert role to Spring Security format
                 String authorityRole = "ROLE_" + role;
@@ -1,10 +1,23 @@
 package com.backend.config;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -18,9 +31,47 @@ public class JwtUtil {
     private static final long EXPIRATION_TIME = 24 * 60 * 60 * 1000;
 
     // Secret key (should be moved to application.properties in real projects)
-    private static final SecretKey key =
+    static final SecretKey key =
             Keys.hmacShaKeyFor("my-super-secret-key-my-super-secret-key".getBytes());
 
+    /** What a verified token says: who, in which role, until when (epoch millis). */
+    public record VerifiedToken(String email, String role, long expiresAt) {
+    }
+
+    // Built once: the parser is immutable and thread-safe
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(key)
+            .build();
+
+    // SHA-256 of the token → its verified claims, each entry dropped when the token expires.
+    // Clients send the same token on every request, so most requests skip the HMAC check.
+    private final Cache<String, VerifiedToken> verified;
+
+    public JwtUtil(@Value("${banking.jwt.cache-max-size:10000}") long cacheMaxSize) {
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String hash, VerifiedToken token, long currentTime) {
+                        long millis = Math.max(0, token.expiresAt() - System.currentTimeMillis());
+                        return TimeUnit.MILLISECONDS.toNanos(millis);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String hash, VerifiedToken token, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(hash, token, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String hash, VerifiedToken token, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
     // Generate token with email and role
     public String generateToken(String email, String role) {
         return Jwts.builder()
@@ -32,32 +83,61 @@ public class JwtUtil {
                 .compact();
     }
 
+    /**
+     * Checks signature and expiry once and returns the claims the filter needs;
+     * empty for a forged, malformed or expired token (those are not cached).
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        String hash = sha256(token);
+        VerifiedToken cached = verified.getIfPresent(hash);
+        if (cached != null) {
+            // the cache drops entries on expiry; this covers the moment in between
+            return cached.expiresAt() > System.currentTimeMillis() ? Optional.of(cached) : Optional.empty();
+        }
+
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        Date expiration = claims.getExpiration();
+        if (expiration == null || !expiration.after(new Date())) {
+            return Optional.empty();
+        }
+
+        VerifiedToken result = new VerifiedToken(
+                claims.getSubject(), claims.get("role", String.class), expiration.getTime());
+        verified.put(hash, result);
+        return Optional.of(result);
+    }
+
     // Extract email (subject) from token
     public String extractUsername(String token) {
-        return extractClaims(token).getSubject();
+        return verify(token).map(VerifiedToken::email)
+                .orElseThrow(() -> new RuntimeException("Invalid or expired token"));
     }
 
     // Extract role from token
     public String extractRole(String token) {
-        return extractClaims(token).get("role", String.class);
+        return verify(token).map(VerifiedToken::role)
+                .orElseThrow(() -> new RuntimeException("Invalid or expired token"));
     }
 
-    // Validate token (checks expiration)
+    // Validate token (checks signature and expiration)
     public boolean isTokenValid(String token) {
-        try {
-            Claims claims = extractClaims(token);
-            return claims.getExpiration().after(new Date());
-        } catch (Exception e) {
-            return false;
-        }
+        return verify(token).isPresent();
     }
 
-    // Parse token to get claims
-    private Claims extractClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private static String sha256(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,77 @@
+package com.backend.config;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-off re-keying of transactions created with random UUID ids
+ * (banking.txid.migrate-legacy=true, then switch it off again).
+ *
+ * Rows still carrying a 36-char UUID get a {@link TransactionIdGenerator#legacyId}
+ * derived from their transaction date, so old and new ids share one sortable format.
+ * Runs in small auto-committed chunks and can safely be restarted.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.txid.migrate-legacy", havingValue = "true")
+public class LegacyTransactionIdMigration implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LegacyTransactionIdMigration.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int chunkSize;
+
+    public LegacyTransactionIdMigration(
+            JdbcTemplate jdbcTemplate,
+            @Value("${banking.txid.migrate-chunk-size:1000}") int chunkSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    private record LegacyRow(long id, Timestamp transactionDate) {
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long lastId = 0;
+        int migrated = 0;
+
+        while (true) {
+            List<LegacyRow> rows = jdbcTemplate.query(
+                    "select id, transaction_date from transactions "
+                    + "where id > ? and length(transaction_id) = 36 order by id limit ?",
+                    (rs, i) -> new LegacyRow(rs.getLong("id"), rs.getTimestamp("transaction_date")),
+                    lastId, chunkSize);
+
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            jdbcTemplate.batchUpdate(
+                    "update transactions set transaction_id = ? where id = ?",
+                    rows, rows.size(), (ps, row) -> {
+                        ps.setString(1, TransactionIdGenerator.legacyId(
+                                row.transactionDate() != null
+                                        ? row.transactionDate().toLocalDateTime()
+                                        : LocalDateTime.now(),
+                                row.id()));
+                        ps.setLong(2, row.id());
+                    });
+
+            migrated += rows.size();
+            lastId = rows.get(rows.size() - 1).id();
+        }
+
+        log.info("Re-keyed {} legacy transaction ids", migrated);
+    }
+}
@@ -0,0 +1,93 @@
+package com.backend.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Primary + read replicas (banking.datasource.replicas.enabled=true).
+ *
+ * The primary pool is built from the usual spring.datasource.* / spring.datasource.hikari.*
+ * settings; each replica URL gets its own, smaller, read-only pool. All pools report
+ * hikaricp.* metrics under their pool name. Without the flag Spring Boot's single
+ * DataSource is used unchanged.
+ */
+@Configuration
+@ConditionalOnProperty(name = "banking.datasource.replicas.enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${banking.datasource.replicas.urls}") List<String> urls,
+            @Value("${banking.datasource.replicas.username:${spring.datasource.username:}}") String username,
+            @Value("${banking.datasource.replicas.password:${spring.datasource.password:}}") String password,
+            @Value("${banking.datasource.replicas.pool-size:5}") int poolSize,
+            @Value("${banking.datasource.replicas.connection-timeout-ms:2000}") long connectionTimeoutMs,
+            @Value("${banking.datasource.replicas.max-lag-ms:5000}") long maxLagMs,
+            @Value("${banking.datasource.replicas.lag-query:" + DEFAULT_LAG_QUERY + "}") String lagQuery
+    ) {
+        MicrometerMetricsTrackerFactory metrics = new MicrometerMetricsTrackerFactory(meterRegistry);
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+        primary.setMetricsTrackerFactory(metrics);
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setMaximumPoolSize(poolSize);
+            replica.setConnectionTimeout(connectionTimeoutMs);
+            replica.setReadOnly(true);
+            // don't block startup on a replica that is down; the lag check skips it
+            replica.setInitializationFailTimeout(-1);
+            replica.setMetricsTrackerFactory(metrics);
+            replicas.add(replica);
+        }
+
+        return new ReplicaRoutingDataSource(primary, replicas, lagQuery, maxLagMs, meterRegistry);
+    }
+
+    // Defers taking the connection until the first statement, when readOnly is already set
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    // Postgres streaming replica: 0 when everything received is replayed, otherwise the
+    // age of the last replayed transaction
+    static final String DEFAULT_LAG_QUERY =
+            "select case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0 "
+            + "else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000, 0) end";
+}
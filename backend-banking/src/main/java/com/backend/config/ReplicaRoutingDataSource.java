@@ -0,0 +1,145 @@
+package com.backend.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sends connections for @Transactional(readOnly = true) work to a read replica and
+ * everything else to the primary. Must sit behind a LazyConnectionDataSourceProxy,
+ * so the connection is only taken once the transaction's read-only flag is known.
+ *
+ * A replica is used while its replication lag (lag-query, run every check-interval-ms)
+ * is at most max-lag-ms; lagging, unreachable or failing replicas are skipped and the
+ * read goes to the primary instead. Replicas are picked round-robin.
+ *
+ * Note that Spring Data repository finders are read-only transactions of their own,
+ * so they also go to a replica when called outside a read-write service transaction.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private static final class Replica {
+        final HikariDataSource dataSource;
+        final Counter routed;
+        volatile boolean healthy;
+        volatile long lagMs = -1;
+
+        Replica(HikariDataSource dataSource, MeterRegistry meterRegistry) {
+            this.dataSource = dataSource;
+            String name = dataSource.getPoolName();
+            this.routed = Counter.builder("banking.datasource.routed")
+                    .tag("target", name).register(meterRegistry);
+            Gauge.builder("banking.datasource.replica.lag", this, r -> r.lagMs)
+                    .tag("replica", name).baseUnit("milliseconds").register(meterRegistry);
+            Gauge.builder("banking.datasource.replica.healthy", this, r -> r.healthy ? 1 : 0)
+                    .tag("replica", name).register(meterRegistry);
+        }
+    }
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final long maxLagMs;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Counter routedPrimary;
+    private final Counter fallbacks;
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+                                    String lagQuery, long maxLagMs, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(ds -> new Replica(ds, meterRegistry)).toList();
+        this.lagQuery = lagQuery;
+        this.maxLagMs = maxLagMs;
+
+        this.routedPrimary = Counter.builder("banking.datasource.routed")
+                .tag("target", primary.getPoolName()).register(meterRegistry);
+        this.fallbacks = Counter.builder("banking.datasource.replica.fallbacks").register(meterRegistry);
+
+        checkReplicas();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            routedPrimary.increment();
+            return primary.getConnection();
+        }
+
+        // Read-only: first healthy replica in round-robin order
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, replicas.size()));
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replica.routed.increment();
+                return connection;
+            } catch (SQLException ex) {
+                // skip it until the next check says it's back
+                replica.healthy = false;
+                log.warn("Replica {} unavailable, marked unhealthy: {}",
+                        replica.dataSource.getPoolName(), ex.getMessage());
+            }
+        }
+
+        fallbacks.increment();
+        routedPrimary.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Routing data source uses the pools' own credentials");
+    }
+
+    // ================= LAG CHECK =================
+
+    @Scheduled(fixedDelayString = "${banking.datasource.replicas.check-interval-ms:1000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean wasHealthy = replica.healthy;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(lagQuery)) {
+                replica.lagMs = rs.next() ? rs.getLong(1) : -1;
+                replica.healthy = replica.lagMs >= 0 && replica.lagMs <= maxLagMs;
+            } catch (SQLException ex) {
+                replica.lagMs = -1;
+                replica.healthy = false;
+            }
+
+            if (wasHealthy != replica.healthy) {
+                log.info("Replica {} is now {} (lag {} ms)", replica.dataSource.getPoolName(),
+                        replica.healthy ? "in use" : "skipped", replica.lagMs);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(r -> r.dataSource.close());
+        primary.close();
+    }
+}
@@ -0,0 +1,17 @@
+package com.backend.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a transactional service method that should be re-run from the start
+ * when it loses an optimistic version check or the database aborts it with a
+ * deadlock, lock timeout or serialization error.
+ * The retry wraps the whole transaction (see {@link ConflictRetryAspect}).
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+}
@@ -0,0 +1,130 @@
+package com.backend.config;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Snowflake-style ids for Transaction.transactionId.
+ *
+ * 64 bits = 41 bits milliseconds since 2024-01-01 | 10 bits node | 12 bits sequence.
+ * Ids are generated lock-free (one CAS on a packed timestamp+sequence word), never
+ * go backwards on this node, and are rendered as 13 fixed-width Crockford base32
+ * characters, so string order == numeric order == time order. New rows therefore
+ * land at the right edge of the unique index instead of at random pages.
+ *
+ * The node bits come from banking.txid.node-id when set, otherwise from a database lease
+ * (TransactionNodeLease), so instances sharing a database never share a node id. Don't mix
+ * the two: a configured id is not checked against the leases.
+ */
+@Component
+public class TransactionIdGenerator {
+
+    static final long EPOCH_MS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    public static final int ENCODED_LENGTH = 13;
+
+    private final long fixedNode;
+    private final TransactionNodeLease lease;   // null when the node id is configured
+
+    // (timestamp << SEQUENCE_BITS) | sequence of the last id handed out
+    private final AtomicLong last = new AtomicLong();
+
+    @Autowired
+    public TransactionIdGenerator(
+            @Value("${banking.txid.node-id:-1}") long nodeId,
+            TransactionNodeLease lease
+    ) {
+        if (nodeId > MAX_NODE) {
+            // wrapping it would give two nodes (say 5 and 1029) the same ids
+            throw new IllegalArgumentException("banking.txid.node-id must be 0.." + MAX_NODE
+                    + " (or negative to lease one), got " + nodeId);
+        }
+        this.fixedNode = Math.max(nodeId, 0);
+        this.lease = nodeId >= 0 ? null : lease;
+        if (this.lease != null) {
+            // lease now, so a database without a free node fails startup, not the first transfer
+            this.lease.node();
+        }
+    }
+
+    public TransactionIdGenerator(long nodeId) {
+        this(nodeId, null);
+    }
+
+    public String nextId() {
+        return encode(nextLong());
+    }
+
+    public long nextLong() {
+        while (true) {
+            long prev = last.get();
+            long now = System.currentTimeMillis() - EPOCH_MS;
+            long prevTs = prev >>> SEQUENCE_BITS;
+
+            // Same (or earlier, clock stepped back) millisecond → bump sequence;
+            // on overflow the sequence rolls into the next millisecond
+            long next = now > prevTs ? now << SEQUENCE_BITS : prev + 1;
+
+            if (last.compareAndSet(prev, next)) {
+                long node = lease != null ? lease.node() : fixedNode;
+                long ts = next >>> SEQUENCE_BITS;
+                return (ts << (NODE_BITS + SEQUENCE_BITS))
+                        | (node << SEQUENCE_BITS)
+                        | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /**
+     * Deterministic id for a row created before this generator existed (migration).
+     * Uses node 0 / sequence from the row's primary key, so ids stay unique and sort
+     * by the original transaction date.
+     */
+    public static String legacyId(LocalDateTime transactionDate, long rowId) {
+        long ts = Math.max(0, transactionDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() - EPOCH_MS);
+        long low = rowId & ((1L << (NODE_BITS + SEQUENCE_BITS)) - 1);
+        return encode((ts << (NODE_BITS + SEQUENCE_BITS)) | low);
+    }
+
+    public static String encode(long id) {
+        char[] out = new char[ENCODED_LENGTH];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            out[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(out);
+    }
+
+    public static long decode(String encoded) {
+        long id = 0;
+        for (char c : encoded.toCharArray()) {
+            int digit = indexOf(Character.toUpperCase(c));
+            if (digit < 0) {
+                throw new IllegalArgumentException("Invalid transaction id: " + encoded);
+            }
+            id = (id << 5) | digit;
+        }
+        return id;
+    }
+
+    private static int indexOf(char c) {
+        for (int i = 0; i < ALPHABET.length; i++) {
+            if (ALPHABET[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
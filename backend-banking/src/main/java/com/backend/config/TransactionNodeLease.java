@@ -0,0 +1,110 @@
+package com.backend.config;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.backend.repository.TransactionNodeLeaseRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * The node id TransactionIdGenerator uses when banking.txid.node-id is not set: a row of
+ * txid_node_leases held by this instance, so no two running instances share one (a hash
+ * of host + pid into 10 bits could). Leased on first use, renewed every renew-seconds,
+ * released on shutdown. An instance that misses renewals for ttl-seconds (long pause, lost
+ * database) may find its node taken over; it then leases another one. The new owner's ids
+ * are stamped after the old owner's last renewal, so they cannot repeat its ids unless
+ * the two clocks differ by more than the ttl.
+ */
+@Component
+public class TransactionNodeLease {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionNodeLease.class);
+
+    static final int NODES = 1024;
+
+    private final TransactionNodeLeaseRepository repository;
+    private final Duration ttl;
+    private final String owner;
+
+    private volatile int node = -1;
+
+    public TransactionNodeLease(
+            TransactionNodeLeaseRepository repository,
+            @Value("${banking.txid.lease-ttl-seconds:300}") long ttlSeconds
+    ) {
+        this.repository = repository;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.owner = identity() + "/" + UUID.randomUUID();
+    }
+
+    /** This instance's node id, leasing one on the first call; fails if all are taken. */
+    public int node() {
+        int current = node;
+        return current >= 0 ? current : acquire();
+    }
+
+    private synchronized int acquire() {
+        if (node >= 0) {
+            return node;
+        }
+        while (true) {
+            LocalDateTime now = LocalDateTime.now();
+            Set<Integer> live = new HashSet<>(repository.findLive(now.minus(ttl)));
+            if (live.size() >= NODES) {
+                throw new RuntimeException("No free transaction id node: all " + NODES
+                        + " are leased; set banking.txid.node-id or stop stale instances");
+            }
+            for (int candidate = 0; candidate < NODES; candidate++) {
+                if (!live.contains(candidate) && repository.claim(candidate, owner, now, now.minus(ttl))) {
+                    log.info("Leased transaction id node {}", candidate);
+                    node = candidate;
+                    return candidate;
+                }
+            }
+            // every free node was claimed by someone else in the meantime; look again
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${banking.txid.lease-renew-seconds:60}",
+            initialDelayString = "${banking.txid.lease-renew-seconds:60}",
+            timeUnit = TimeUnit.SECONDS)
+    public synchronized void renew() {
+        if (node < 0 || repository.renew(node, owner, LocalDateTime.now())) {
+            return;
+        }
+        log.warn("Transaction id node {} was taken over after missed renewals; leasing another", node);
+        node = -1;
+        acquire();
+    }
+
+    @PreDestroy
+    synchronized void release() {
+        if (node >= 0) {
+            repository.release(node, owner);
+            node = -1;
+        }
+    }
+
+    private static String identity() {
+        String name;
+        try {
+            name = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            name = "unknown";
+        }
+        return name + "/" + ManagementFactory.getRuntimeMXBean().getName();
+    }
+}
@@ -3,6 +3,8 @@ package com.backend.controller;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -12,14 +14,15 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.backend.dto.AccountSummaryDTO;
 import com.backend.dto.CustomerListResponseDTO;
-import com.backend.entity.BankAccount;
-import com.backend.entity.BankManager;
-import com.backend.repository.BankManagerRepository;
+import com.backend.dto.ManagerBank;
 import com.backend.service.BankAccountService;
 import com.backend.service.CustomerService;
+import com.backend.service.ManagerDirectory;
 @RestController
 @RequestMapping("/api/admin")
 @PreAuthorize("hasAnyAuthority('ADMIN', 'BANK')") // allow both roles
@@ -28,32 +31,46 @@ public class AdminBankAccountController {
 
     private final BankAccountService accountService;
     private final CustomerService customerService;
-    private final BankManagerRepository bankManagerRepository; // to get current manager's bank
+    private final ManagerDirectory managerDirectory; // to get current manager's bank
 
     @Autowired
     public AdminBankAccountController(BankAccountService accountService,
                                       CustomerService customerService,
-                                      BankManagerRepository bankManagerRepository) {
+                                      ManagerDirectory managerDirectory) {
         this.accountService = accountService;
         this.customerService = customerService;
-        this.bankManagerRepository = bankManagerRepository;
+        this.managerDirectory = managerDirectory;
     }
 
     // ================= FETCH ALL BANK ACCOUNTS =================
+    // Optional ?page=&size=&sort=balance,desc&status=ACTIVE; X-Has-Next tells if another page exists
     @GetMapping("/accounts")
-    public List<BankAccount> getAccounts() {
+    public ResponseEntity<List<AccountSummaryDTO>> getAccounts(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String status) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String username = auth.getName(); // email or username
 
-        // If ADMIN → return all accounts
-        if (auth.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
-            return accountService.getAllAccounts();
+        Long bankId = null;
+
+        // If BANK MANAGER → only their bank's accounts (ADMIN → all accounts)
+        if (auth.getAuthorities().stream().noneMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
+            bankId = managerDirectory.find(username)
+                    .map(ManagerBank::bankId)
+                    .orElse(null);
+            if (bankId == null) {
+                return ResponseEntity.ok(List.of()); // safe fallback: empty list if manager not found
+            }
         }
 
-        // If BANK MANAGER → return only their bank's accounts
-        return bankManagerRepository.findByEmail(username)
-                .map(manager -> accountService.getAccountsByBank(manager.getBank().getId()))
-                .orElseGet(() -> List.of()); // safe fallback: empty list if manager not found
+        Slice<AccountSummaryDTO> accounts = accountService.getAccountSummaries(
+                bankId, status, accountService.accountListingPage(page, size, sort));
+
+        return ResponseEntity.ok()
+                .header("X-Has-Next", String.valueOf(accounts.hasNext()))
+                .body(accounts.getContent());
     }
 //    @GetMapping("/accounts")
 //    public List<BankAccount> getAccounts() {
@@ -74,11 +91,19 @@ public class AdminBankAccountController {
         return ResponseEntity.ok("Account unlocked successfully");
     }
 
-    // Customers endpoint - can also be filtered similarly if needed
+    // Customers endpoint: optional ?page=&size=&sort=name,desc&status=&city= (X-Total-Count = all matches)
     @GetMapping("/customers")
-    public ResponseEntity<List<CustomerListResponseDTO>> getAllCustomers() {
-        // For now returning all - you can apply similar filtering later
-        List<CustomerListResponseDTO> customers = customerService.getAllCustomers();
-        return ResponseEntity.ok(customers);
+    public ResponseEntity<List<CustomerListResponseDTO>> getAllCustomers(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String city) {
+        Page<CustomerListResponseDTO> customers = customerService.getAllCustomers(
+                status, city, customerService.listingPage(page, size, sort));
+
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(customers.getTotalElements()))
+                .body(customers.getContent());
     }
 }
\ No newline at end of file
@@ -1,13 +1,16 @@
 package com.backend.controller;
 
 import com.backend.dto.AccountDetailResponseDTO;
+import com.backend.dto.AccountRef;
 import com.backend.dto.AddAccountRequest;
 import com.backend.dto.AmountRequestDTO;
 import com.backend.dto.CustomerAccountInfoDTO;
-import com.backend.entity.BankAccount;
 import com.backend.dto.ApiResponse;
-import com.backend.repository.BankAccountRepository;
+import com.backend.service.AccountDirectory;
+import com.backend.service.AccountShardEngine;
 import com.backend.service.BankAccountService;
+import com.backend.service.CashGroupCommitter;
+import com.backend.service.IdempotencyService;
 import com.backend.dto.TransactionResponseDTO;
 import java.util.List;
 
@@ -23,14 +26,23 @@ import org.springframework.web.bind.annotation.*;
 public class BankAccountController {
 
     private final BankAccountService bankAccountService;
-    private final BankAccountRepository bankAccountRepository;
+    private final AccountDirectory accountDirectory;
+    private final IdempotencyService idempotencyService;
+    private final AccountShardEngine shardEngine;
+    private final CashGroupCommitter groupCommitter;
 
     public BankAccountController(
             BankAccountService bankAccountService,
-            BankAccountRepository bankAccountRepository
+            AccountDirectory accountDirectory,
+            IdempotencyService idempotencyService,
+            AccountShardEngine shardEngine,
+            CashGroupCommitter groupCommitter
     ) {
         this.bankAccountService = bankAccountService;
-        this.bankAccountRepository = bankAccountRepository;
+        this.accountDirectory = accountDirectory;
+        this.idempotencyService = idempotencyService;
+        this.shardEngine = shardEngine;
+        this.groupCommitter = groupCommitter;
     }
 
     // ✅ FETCH CUSTOMER + BANK INFO FOR ADD ACCOUNT PAGE
@@ -66,7 +78,7 @@ public class BankAccountController {
     public ResponseEntity<Boolean> isAccountExists(
             @RequestParam String email
     ) {
-        boolean exists = bankAccountRepository.existsByCustomer_Email(email);
+        boolean exists = accountDirectory.byCustomerEmail(email).isPresent();
         return ResponseEntity.ok(exists);
     }
 
@@ -84,9 +96,9 @@ public class BankAccountController {
     }
     @GetMapping("/status")
     public String getAccountStatus(@RequestParam String email) {
-        return bankAccountRepository
-                .findByCustomer_Email(email)
-                .map(BankAccount::getStatus)
+        return accountDirectory
+                .byCustomerEmail(email)
+                .map(AccountRef::status)
                 .orElse("INACTIVE");
     }
     
@@ -95,22 +107,54 @@ public class BankAccountController {
         return  bankAccountService.getAccountDetail(email);
     }
 
+    // Full history, or one keyset page when limit / cursor is given
     @GetMapping("/transactions")
     @PreAuthorize("hasRole('BANK')")
-    public List<TransactionResponseDTO> getTransactions(@RequestParam String email) {
-        return  bankAccountService.getTransactions(email);
+    public ResponseEntity<List<TransactionResponseDTO>> getTransactions(
+            @RequestParam String email,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        if (limit == null && cursor == null) {
+            return ResponseEntity.ok(bankAccountService.getTransactions(email));
+        }
+        return bankAccountService.getTransactions(email, limit, cursor).toResponse();
     }
 
     @PostMapping("/deposit")
     @PreAuthorize("hasRole('BANK')")
-    public void deposit(@RequestBody AmountRequestDTO req) {
-    	 bankAccountService.deposit(req);
+    public ResponseEntity<String> deposit(
+            @RequestBody AmountRequestDTO req,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return applyCash("DEPOSIT", req, idempotencyKey);
     }
 
     @PostMapping("/withdraw")
     @PreAuthorize("hasRole('BANK')")
-    public void withdraw(@RequestBody AmountRequestDTO req) {
-    	 bankAccountService.withdraw(req);
+    public ResponseEntity<String> withdraw(
+            @RequestBody AmountRequestDTO req,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return applyCash("WITHDRAW", req, idempotencyKey);
+    }
+
+    // Shards > group commit > direct call; the first two commit on their own thread
+    private ResponseEntity<String> applyCash(String type, AmountRequestDTO req, String idempotencyKey) {
+        if (shardEngine.isEnabled()) {
+            return idempotencyService.executeDetached(idempotencyKey, type, req, shardEngine.getTimeoutMs(),
+                    () -> shardEngine.applyCash(type, req).thenApply(done -> ResponseEntity.ok().<String>build()));
+        }
+        if (groupCommitter.isEnabled()) {
+            return idempotencyService.executeDetached(idempotencyKey, type, req, groupCommitter.getTimeoutMs(),
+                    () -> groupCommitter.applyCash(type, req).thenApply(done -> ResponseEntity.ok().<String>build()));
+        }
+
+        return idempotencyService.execute(idempotencyKey, type, req, () -> {
+            if ("DEPOSIT".equals(type)) {
+                bankAccountService.deposit(req);
+            } else {
+                bankAccountService.withdraw(req);
+            }
+            return ResponseEntity.ok().build();
+        });
     }
 
 }
@@ -0,0 +1,44 @@
+package com.backend.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import com.backend.dto.ApiResponse;
+import com.backend.dto.BankDailyStat;
+import com.backend.service.BankDailyStatsService;
+
+@RestController
+@RequestMapping("/api/bank")
+@CrossOrigin
+public class BankStatsController {
+
+    private final BankDailyStatsService statsService;
+
+    public BankStatsController(BankDailyStatsService statsService) {
+        this.statsService = statsService;
+    }
+
+    // Daily count / sum per type: ?bankId=&from=2024-01-01&to=2024-01-31 (default: last 30 days)
+    @GetMapping("/stats")
+    public ResponseEntity<List<BankDailyStat>> getStats(
+            @RequestParam Long bankId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(statsService.getStats(bankId, from, to));
+    }
+
+    // ✅ Recompute from the ledger (backfill / repair); from defaults to the first transaction
+    @PostMapping("/stats/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse> rebuildStats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        int rows = statsService.rebuild(from, to);
+        return ResponseEntity.ok(new ApiResponse("Rebuilt " + rows + " stats rows"));
+    }
+}
@@ -3,9 +3,12 @@ package com.backend.controller;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.backend.dto.CustomerTransactionResponseDTO;
+import com.backend.dto.TransactionSearchRequest;
 import com.backend.service.TransactionService;
 
 import lombok.RequiredArgsConstructor;
@@ -19,8 +22,27 @@ public class BankTransactionController {
 	@Autowired
     private  TransactionService transactionService;
 
+    // Newest first; X-Next-Cursor is set when more rows are available
     @GetMapping("/transactions")
-    public List<CustomerTransactionResponseDTO> getBankTransactions(@RequestParam Long bankId) {
-        return transactionService.getBankTransactions(bankId);
+    public ResponseEntity<List<CustomerTransactionResponseDTO>> getBankTransactions(
+            @RequestParam Long bankId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        return transactionService.getBankTransactions(bankId, limit, cursor).toResponse();
+    }
+
+    // Filtered search, ?page=&size=&sort=date|amount|type[,desc]; X-Total-Count = all matches
+    @PostMapping("/transactions/search")
+    public ResponseEntity<List<CustomerTransactionResponseDTO>> searchBankTransactions(
+            @RequestBody TransactionSearchRequest request,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort) {
+        Page<CustomerTransactionResponseDTO> result = transactionService.searchBankTransactions(
+                request, transactionService.searchPage(page, size, sort));
+
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(result.getTotalElements()))
+                .body(result.getContent());
     }
 }
@@ -3,10 +3,13 @@ package com.backend.controller;
 import com.backend.dto.CustomerListResponseDTO;
 import com.backend.dto.ApiResponse;
 import com.backend.dto.CustomerRegisterRequest;
+import com.backend.dto.CustomerSearchHit;
+import com.backend.service.CustomerSearchService;
 import com.backend.service.CustomerService;
 
 import java.util.List;
 
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -19,9 +22,11 @@ import org.springframework.web.bind.annotation.*;
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final CustomerSearchService customerSearchService;
 
-    public CustomerController(CustomerService customerService) {
+    public CustomerController(CustomerService customerService, CustomerSearchService customerSearchService) {
         this.customerService = customerService;
+        this.customerSearchService = customerSearchService;
     }
 
     @PostMapping("/register")
@@ -42,20 +47,41 @@ public class CustomerController {
                 .body(new ApiResponse("Customer registered and linked with bank successfully"));
     }
 
- // Controller
+ // Controller: optional ?page=&size=&sort=name,desc&status=&city= (X-Total-Count = all matches)
     @GetMapping("/all")
     @PreAuthorize("hasRole('BANK')")
-    public ResponseEntity<List<CustomerListResponseDTO>> getAllCustomers(Authentication authentication) {
+    public ResponseEntity<List<CustomerListResponseDTO>> getAllCustomers(
+            Authentication authentication,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String city) {
         if (authentication == null || !authentication.isAuthenticated()) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
         }
 
         String managerEmail = authentication.getName();
-        List<CustomerListResponseDTO> customers = customerService.getAllCustomers(managerEmail);
+        Page<CustomerListResponseDTO> customers = customerService.getAllCustomers(
+                managerEmail, status, city, customerService.listingPage(page, size, sort));
 
-        return ResponseEntity.ok(customers);
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(customers.getTotalElements()))
+                .body(customers.getContent());
     }
 
+    // Type-ahead: ?q= name / email / phone fragment, one typo tolerated; ?limit= (capped)
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('BANK')")
+    public ResponseEntity<List<CustomerSearchHit>> searchCustomers(
+            Authentication authentication,
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
+        }
+        return ResponseEntity.ok(customerSearchService.search(authentication.getName(), q, limit));
+    }
 
     // 🔹 DELETE CUSTOMER
     @DeleteMapping("/delete")
@@ -1,10 +1,19 @@
 package com.backend.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.backend.dto.TransactionResponseDTO;
+import com.backend.service.TransactionExportService;
+import com.backend.service.TransactionExportService.Format;
 import com.backend.service.TransactionService;
 
 @RestController
@@ -13,16 +22,46 @@ import com.backend.service.TransactionService;
 public class CustomerTransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionExportService exportService;
 
-    public CustomerTransactionController(TransactionService transactionService) {
+    public CustomerTransactionController(TransactionService transactionService,
+                                         TransactionExportService exportService) {
         this.transactionService = transactionService;
+        this.exportService = exportService;
     }
 
- // Fetch transactions (all or by account number)
+ // Fetch transactions (all or by account number); keyset page when limit / cursor is given
     @GetMapping("/transactions")
-    public List<TransactionResponseDTO> getTransactions(
-            @RequestParam(required = false) String accountNumber
+    public ResponseEntity<List<TransactionResponseDTO>> getTransactions(
+            @RequestParam(required = false) String accountNumber,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor
     ) {
-        return transactionService.getTransactions(accountNumber);
+        if (limit == null && cursor == null) {
+            return ResponseEntity.ok(transactionService.getTransactions(accountNumber));
+        }
+        return transactionService.getTransactions(accountNumber, limit, cursor).toResponse();
+    }
+
+    // ✅ AUDIT EXPORT (streamed, any size): ?format=ndjson|csv&from=&to=&bankId=
+    @GetMapping("/transactions/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'BANK')")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long bankId
+    ) {
+        Format exportFormat = "csv".equalsIgnoreCase(format) ? Format.CSV : Format.NDJSON;
+
+        StreamingResponseBody body = out -> exportService.export(exportFormat, from, to, bankId, out);
+
+        return ResponseEntity.ok()
+                .contentType(exportFormat == Format.CSV
+                        ? new MediaType("text", "csv")
+                        : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=transactions." + (exportFormat == Format.CSV ? "csv" : "ndjson"))
+                .body(body);
     }
 }
@@ -1,6 +1,7 @@
 package com.backend.controller;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,7 +9,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.backend.dto.TransferRequest;
+import com.backend.dto.TransferResultDTO;
 import com.backend.entity.Transaction;
+import com.backend.service.AccountShardEngine;
+import com.backend.service.IdempotencyService;
 import com.backend.service.TransactionService;
 import com.backend.service.TransferService;
 
@@ -20,14 +24,35 @@ import lombok.RequiredArgsConstructor;
 public class TransferController {
 
     private final TransferService transferService;
+    private final IdempotencyService idempotencyService;
+    private final AccountShardEngine shardEngine;
 
-    public TransferController(TransferService transferService) {
+    public TransferController(TransferService transferService,
+                              IdempotencyService idempotencyService,
+                              AccountShardEngine shardEngine) {
         this.transferService = transferService;
+        this.idempotencyService = idempotencyService;
+        this.shardEngine = shardEngine;
     }
 
+    // Clients may retry safely by re-sending the same Idempotency-Key
     @PostMapping("/transfer")
-    public ResponseEntity<String> transfer(@RequestBody TransferRequest request) {
-        transferService.transferMoney(request);
-        return ResponseEntity.ok("Transfer successful");
+    public ResponseEntity<String> transfer(
+            @RequestBody TransferRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (shardEngine.isEnabled()) {
+            return idempotencyService.executeDetached(idempotencyKey, "TRANSFER", request, shardEngine.getTimeoutMs(),
+                    () -> shardEngine.transfer(request).thenApply(done -> ResponseEntity.ok("Transfer successful")));
+        }
+        return idempotencyService.execute(idempotencyKey, "TRANSFER", request, () -> {
+            transferService.transferMoney(request);
+            return ResponseEntity.ok("Transfer successful");
+        });
+    }
+
+    // Bulk disbursements (payroll / vendor runs): one transaction, per-item results
+    @PostMapping("/transfer/batch")
+    public ResponseEntity<List<TransferResultDTO>> transferBatch(@RequestBody List<TransferRequest> requests) {
+        return ResponseEntity.ok(transferService.transferBatch(requests));
     }
 }
@@ -0,0 +1,15 @@
+package com.backend.dto;
+
+// What AccountDirectory knows about an account: enough to route a request to its row
+public record AccountRef(
+        long id,
+        String accountNumber,
+        String ifscCode,
+        String customerEmail,
+        String status
+) {
+
+    public AccountRef withStatus(String newStatus) {
+        return new AccountRef(id, accountNumber, ifscCode, customerEmail, newStatus);
+    }
+}
@@ -0,0 +1,149 @@
+package com.backend.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Lean row for the account listings (/api/admin/accounts).
+ * Keeps the JSON shape of the old entity response (nested bank / customer)
+ * with only the fields the screens use.
+ */
+public class AccountSummaryDTO {
+
+    private Long id;
+    private String accountNumber;
+    private String ifscCode;
+    private String accountType;
+    private BigDecimal balance;
+    private String status;
+    private LocalDateTime createdOn;
+    private BankInfo bank;
+    private CustomerInfo customer;
+
+    // Constructor expression target of BankAccountRepository#findSummaries
+    public AccountSummaryDTO(Long id, String accountNumber, String ifscCode, String accountType,
+                             BigDecimal balance, String status, LocalDateTime createdOn,
+                             Long bankId, String bankName, String bankCode, String bankEmail, String website,
+                             Long customerId, String customerName, String customerEmail,
+                             String contact, String gender) {
+        this.id = id;
+        this.accountNumber = accountNumber;
+        this.ifscCode = ifscCode;
+        this.accountType = accountType;
+        this.balance = balance;
+        this.status = status;
+        this.createdOn = createdOn;
+        this.bank = bankId == null ? null : new BankInfo(bankId, bankName, bankCode, bankEmail, website);
+        this.customer = new CustomerInfo(customerId, customerName, customerEmail, contact, gender);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public String getIfscCode() {
+        return ifscCode;
+    }
+
+    public String getAccountType() {
+        return accountType;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getCreatedOn() {
+        return createdOn;
+    }
+
+    public BankInfo getBank() {
+        return bank;
+    }
+
+    public CustomerInfo getCustomer() {
+        return customer;
+    }
+
+    public static class BankInfo {
+
+        private final Long id;
+        private final String bankName;
+        private final String bankCode;
+        private final String bankEmail;
+        private final String website;
+
+        BankInfo(Long id, String bankName, String bankCode, String bankEmail, String website) {
+            this.id = id;
+            this.bankName = bankName;
+            this.bankCode = bankCode;
+            this.bankEmail = bankEmail;
+            this.website = website;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getBankName() {
+            return bankName;
+        }
+
+        public String getBankCode() {
+            return bankCode;
+        }
+
+        public String getBankEmail() {
+            return bankEmail;
+        }
+
+        public String getWebsite() {
+            return website;
+        }
+    }
+
+    public static class CustomerInfo {
+
+        private final Long id;
+        private final String name;
+        private final String email;
+        private final String contact;
+        private final String gender;
+
+        CustomerInfo(Long id, String name, String email, String contact, String gender) {
+            this.id = id;
+            this.name = name;
+            this.email = email;
+            this.contact = contact;
+            this.gender = gender;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public String getContact() {
+            return contact;
+        }
+
+        public String getGender() {
+            return gender;
+        }
+    }
+}
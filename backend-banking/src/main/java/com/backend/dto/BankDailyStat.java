@@ -0,0 +1,13 @@
+package com.backend.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// One bank_daily_stats row (bank is implied by the request)
+public record BankDailyStat(
+        LocalDate date,
+        String type,
+        long count,
+        BigDecimal totalAmount
+) {
+}
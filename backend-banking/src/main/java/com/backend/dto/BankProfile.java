@@ -0,0 +1,15 @@
+package com.backend.dto;
+
+// A bank's own columns, as served from BankDirectory
+public record BankProfile(
+        Long id,
+        String bankName,
+        String bankCode,
+        String bankAddress,
+        String phoneNumber,
+        String bankEmail,
+        String website,
+        String country,
+        String currency
+) {
+}
@@ -0,0 +1,21 @@
+package com.backend.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Flat projection for the bank-wide listing: no entities are loaded
+public record BankTransactionRow(
+        Long id,
+        String transactionId,
+        String bankName,
+        String customerName,
+        String accountNumber,
+        String type,
+        BigDecimal amount,
+        BigDecimal balanceAfter,
+        String recipientBank,
+        String recipientAccount,
+        String purpose,
+        LocalDateTime transactionDate
+) {
+}
@@ -0,0 +1,36 @@
+package com.backend.dto;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+
+// One keyset page; nextCursor is null on the last page
+public class CursorPage<T> {
+
+    // Paged list endpoints keep a plain JSON array body and return the cursor here
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public ResponseEntity<List<T>> toResponse() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(items);
+    }
+}
@@ -0,0 +1,20 @@
+package com.backend.dto;
+
+import java.math.BigDecimal;
+
+// Flat projection for the customer listings (account columns are null when there is no account)
+public record CustomerListRow(
+        String name,
+        String bankName,
+        String email,
+        String gender,
+        String contact,
+        String street,
+        String city,
+        String pincode,
+        String accountNumber,
+        String ifscCode,
+        BigDecimal balance,
+        String accountStatus
+) {
+}
@@ -0,0 +1,11 @@
+package com.backend.dto;
+
+// Type-ahead result for /api/customer/search; also the projection the index is loaded from
+public record CustomerSearchHit(
+        Long id,
+        Long bankId,
+        String name,
+        String email,
+        String contact
+) {
+}
@@ -0,0 +1,10 @@
+package com.backend.dto;
+
+// A bank manager and the bank they run (bank fields are null until one is assigned)
+public record ManagerBank(
+        Long managerId,
+        Long bankId,
+        String bankName,
+        String bankCode
+) {
+}
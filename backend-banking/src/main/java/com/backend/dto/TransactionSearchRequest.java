@@ -0,0 +1,88 @@
+package com.backend.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Filters for POST /api/bank/transactions/search; every field except bankId is optional
+public class TransactionSearchRequest {
+
+    private Long bankId;
+    private String type; // DEPOSIT / WITHDRAW / TRANSFER
+
+    // [from, to)
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    // inclusive
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+
+    private String counterpartyAccount;
+    private String purpose; // case-insensitive substring
+
+    // ================= GETTERS & SETTERS =================
+
+    public Long getBankId() {
+        return bankId;
+    }
+
+    public void setBankId(Long bankId) {
+        this.bankId = bankId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+
+    public BigDecimal getMinAmount() {
+        return minAmount;
+    }
+
+    public void setMinAmount(BigDecimal minAmount) {
+        this.minAmount = minAmount;
+    }
+
+    public BigDecimal getMaxAmount() {
+        return maxAmount;
+    }
+
+    public void setMaxAmount(BigDecimal maxAmount) {
+        this.maxAmount = maxAmount;
+    }
+
+    public String getCounterpartyAccount() {
+        return counterpartyAccount;
+    }
+
+    public void setCounterpartyAccount(String counterpartyAccount) {
+        this.counterpartyAccount = counterpartyAccount;
+    }
+
+    public String getPurpose() {
+        return purpose;
+    }
+
+    public void setPurpose(String purpose) {
+        this.purpose = purpose;
+    }
+}
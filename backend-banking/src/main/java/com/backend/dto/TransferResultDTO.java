@@ -0,0 +1,48 @@
+package com.backend.dto;
+
+import java.math.BigDecimal;
+
+public class TransferResultDTO {
+
+    private int index;                    // position in the submitted batch
+    private String senderAccountNumber;
+    private String receiverAccountNumber;
+    private BigDecimal amount;
+    private String status;                // SUCCESS / FAILED
+    private String message;
+
+    public TransferResultDTO(int index, TransferRequest request, String status, String message) {
+        this.index = index;
+        if (request != null) {
+            this.senderAccountNumber = request.getSenderAccountNumber();
+            this.receiverAccountNumber = request.getReceiverAccountNumber();
+            this.amount = request.getAmount();
+        }
+        this.status = status;
+        this.message = message;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getSenderAccountNumber() {
+        return senderAccountNumber;
+    }
+
+    public String getReceiverAccountNumber() {
+        return receiverAccountNumber;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
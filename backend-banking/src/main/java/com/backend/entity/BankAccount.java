@@ -6,6 +6,7 @@ import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.hibernate.annotations.ColumnDefault;
 
 import jakarta.persistence.*;
 
@@ -34,9 +35,17 @@ public class BankAccount {
     @Column(nullable = false)
     private LocalDateTime createdOn = LocalDateTime.now();
 
+    // Optimistic lock: bumped on every balance / status change
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @JsonIgnore
+    private Long version;
+
     // ================= RELATIONSHIPS =================
 
-    @ManyToOne
+    // Lazy: bank names come from BankDirectory, listings join fetch it
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "bank_id")
     @JsonIgnoreProperties({"admin", "bankManagers", "bankAccounts"})
     private Bank bank;
@@ -136,5 +145,9 @@ public class BankAccount {
 	public void setId(Long id) {
 		this.id = id;
 	}
+
+    public Long getVersion() {
+        return version;
+    }
     
 }
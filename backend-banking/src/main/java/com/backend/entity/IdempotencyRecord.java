@@ -0,0 +1,57 @@
+package com.backend.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+/**
+ * One row per client Idempotency-Key.
+ * The unique key column is what guarantees a retried request is applied once.
+ */
+@Entity
+@Table(name = "idempotency_keys")
+public class IdempotencyRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "idempotency_key", unique = true, nullable = false, length = 100)
+    private String idempotencyKey;
+
+    @Column(nullable = false, length = 30)
+    private String endpoint; // TRANSFER / DEPOSIT / WITHDRAW
+
+    @Column(nullable = false, length = 64)
+    private String requestHash; // SHA-256 of the request body
+
+    private Integer responseStatus;
+
+    @Column(length = 2000)
+    private String responseBody;
+
+    @Column(nullable = false)
+    private LocalDateTime createdOn = LocalDateTime.now();
+
+    // ================= GETTERS & SETTERS =================
+
+    public Long getId() { return id; }
+
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
+
+    public String getEndpoint() { return endpoint; }
+    public void setEndpoint(String endpoint) { this.endpoint = endpoint; }
+
+    public String getRequestHash() { return requestHash; }
+    public void setRequestHash(String requestHash) { this.requestHash = requestHash; }
+
+    public Integer getResponseStatus() { return responseStatus; }
+    public void setResponseStatus(Integer responseStatus) { this.responseStatus = responseStatus; }
+
+    public String getResponseBody() { return responseBody; }
+    public void setResponseBody(String responseBody) { this.responseBody = responseBody; }
+
+    public LocalDateTime getCreatedOn() { return createdOn; }
+    public void setCreatedOn(LocalDateTime createdOn) { this.createdOn = createdOn; }
+}
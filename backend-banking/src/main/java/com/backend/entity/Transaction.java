@@ -8,14 +8,16 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions") // indexes: db/migration
 public class Transaction {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(unique = true, nullable = false)
+    // 13-char time-ordered id (TransactionIdGenerator); 36 still fits un-migrated UUIDs.
+    // Unique by construction; on partitioned Postgres the constraint is (transaction_id, transaction_date)
+    @Column(nullable = false, length = 36)
     private String transactionId;
 
     private String type; // DEPOSIT / WITHDRAW / TRANSFER
@@ -29,6 +31,8 @@ public class Transaction {
     private String recipientAccount;
     private String purpose;
 
+    // Partition key on Postgres (monthly ranges): required, and never updated
+    @Column(nullable = false, updatable = false)
     private LocalDateTime transactionDate = LocalDateTime.now();
 
     // 🔹 FOR NORMAL TRANSACTIONS (DEPOSIT / WITHDRAW)
@@ -53,6 +57,10 @@ public class Transaction {
         return id;
     }
 
+    public void setId(Long id) {
+        this.id = id;
+    }
+
     public String getTransactionId() {
         return transactionId;
     }
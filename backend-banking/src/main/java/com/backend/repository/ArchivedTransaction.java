@@ -0,0 +1,41 @@
+package com.backend.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.backend.entity.BankAccount;
+import com.backend.entity.Transaction;
+
+// One transactions row as stored in an archive segment (bankId is the account's bank at archive time)
+public record ArchivedTransaction(
+        Long id,
+        String transactionId,
+        String type,
+        BigDecimal amount,
+        BigDecimal balanceAfter,
+        String recipientBank,
+        String recipientAccount,
+        String purpose,
+        LocalDateTime transactionDate,
+        Long bankAccountId,
+        Long senderAccountId,
+        Long receiverAccountId,
+        Long bankId
+) {
+
+    // Detached, read-only view for the history mappers; never persisted
+    public Transaction toTransaction(BankAccount account) {
+        Transaction tx = new Transaction();
+        tx.setId(id);
+        tx.setTransactionId(transactionId);
+        tx.setType(type);
+        tx.setAmount(amount);
+        tx.setBalanceAfter(balanceAfter);
+        tx.setRecipientBank(recipientBank);
+        tx.setRecipientAccount(recipientAccount);
+        tx.setPurpose(purpose);
+        tx.setTransactionDate(transactionDate);
+        tx.setBankAccount(account);
+        return tx;
+    }
+}
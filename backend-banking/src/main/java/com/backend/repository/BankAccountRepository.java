@@ -1,11 +1,29 @@
 package com.backend.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import com.backend.dto.AccountRef;
+import com.backend.dto.AccountSummaryDTO;
 import com.backend.entity.BankAccount;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 public interface BankAccountRepository extends JpaRepository<BankAccount, Long> {
 
@@ -38,6 +56,84 @@ public interface BankAccountRepository extends JpaRepository<BankAccount, Long>
             Long bankId
     );
     List<BankAccount> findByBank_Id(Long bankId);
-    
-    
+
+    // ✅ SELECT ... FOR UPDATE
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from BankAccount a where a.id = :id")
+    Optional<BankAccount> findByIdForUpdate(@Param("id") Long id);
+
+    // ✅ Lock a whole set of accounts in id order (batch transfers)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from BankAccount a where a.accountNumber in :accountNumbers order by a.id")
+    List<BankAccount> findAllByAccountNumberInForUpdate(
+            @Param("accountNumbers") Collection<String> accountNumbers);
+
+    // ✅ Lock the accounts of a set of customers in id order (cash batches)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from BankAccount a join fetch a.customer c where c.email in :emails order by a.id")
+    List<BankAccount> findAllByCustomerEmailInForUpdate(@Param("emails") Collection<String> emails);
+
+    // Archived history rows only carry account ids: one query for everything the listings print
+    @Query("select a from BankAccount a join fetch a.bank left join fetch a.customer where a.id in :ids")
+    List<BankAccount> findAllWithBankAndCustomerByIdIn(@Param("ids") Collection<Long> ids);
+
+    // ✅ Atomic balance changes: one conditional UPDATE, 0 rows = rejected
+    @Modifying
+    @Query("update BankAccount a set a.balance = a.balance + :amount, a.version = a.version + 1 "
+            + "where a.id = :id and a.status = 'ACTIVE'")
+    int creditIfActive(@Param("id") Long id, @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Query("update BankAccount a set a.balance = a.balance - :amount, a.version = a.version + 1 "
+            + "where a.id = :id and a.balance >= :amount and a.status = 'ACTIVE'")
+    int debitIfSufficient(@Param("id") Long id, @Param("amount") BigDecimal amount);
+
+    @Query("select a.balance from BankAccount a where a.id = :id")
+    BigDecimal findBalanceById(@Param("id") Long id);
+
+    @Query("select a.status from BankAccount a where a.id = :id")
+    String findStatusById(@Param("id") Long id);
+
+    // ✅ Account listing: lean projection, ONE query per page (Slice → no count query)
+    @Query("""
+            select new com.backend.dto.AccountSummaryDTO(
+                a.id, a.accountNumber, a.ifscCode, a.accountType, a.balance, a.status, a.createdOn,
+                b.id, b.bankName, b.bankCode, b.bankEmail, b.website,
+                c.id, c.name, c.email, c.contact, c.gender)
+            from BankAccount a left join a.bank b join a.customer c
+            where (:bankId is null or b.id = :bankId)
+              and (:status is null or a.status = :status)
+            """)
+    Slice<AccountSummaryDTO> findSummaries(
+            @Param("bankId") Long bankId,
+            @Param("status") String status,
+            Pageable pageable
+    );
+
+    // ================= ACCOUNT DIRECTORY =================
+
+    // Every account, streamed, to warm AccountDirectory
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new com.backend.dto.AccountRef(a.id, a.accountNumber, a.ifscCode, c.email, a.status)
+            from BankAccount a left join a.customer c
+            """)
+    Stream<AccountRef> streamAccountRefs();
+
+    @Query("""
+            select new com.backend.dto.AccountRef(a.id, a.accountNumber, a.ifscCode, c.email, a.status)
+            from BankAccount a left join a.customer c
+            where a.accountNumber = :accountNumber
+            """)
+    Optional<AccountRef> findRefByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    @Query("""
+            select new com.backend.dto.AccountRef(a.id, a.accountNumber, a.ifscCode, c.email, a.status)
+            from BankAccount a join a.customer c
+            where c.email = :email
+            """)
+    Optional<AccountRef> findRefByCustomerEmail(@Param("email") String email);
 }
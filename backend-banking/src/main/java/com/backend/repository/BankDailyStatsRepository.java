@@ -0,0 +1,164 @@
+package com.backend.repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.sql.DataSource;
+
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.backend.dto.BankDailyStat;
+import com.backend.entity.Transaction;
+
+/**
+ * bank_daily_stats: one (bank, day, type) row with count and sum, maintained by an
+ * atomic upsert in the same transaction as the ledger insert it describes.
+ *
+ * Upserts run after the account rows are locked and, within one call, in
+ * (bank, day, type) order, so two writers never wait on each other's stats rows
+ * in opposite orders.
+ */
+@Repository
+public class BankDailyStatsRepository {
+
+    private record Key(long bankId, LocalDate date, String type) {
+    }
+
+    private static final class Total {
+        long count;
+        BigDecimal amount = BigDecimal.ZERO;
+    }
+
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparingLong(Key::bankId)
+            .thenComparing(Key::date)
+            .thenComparing(Key::type);
+
+    // (bank_id, stat_date, type, txn_count, total_amount) for the single-row source
+    private static final String BY_BANK =
+            "select cast(? as bigint), cast(? as date), cast(? as varchar(20)), "
+            + "cast(? as bigint), cast(? as numeric(38,2))";
+
+    // Same columns, bank looked up from the account (deposit / withdraw only know the account id)
+    private static final String BY_ACCOUNT =
+            "select a.bank_id, cast(? as date), cast(? as varchar(20)), "
+            + "cast(? as bigint), cast(? as numeric(38,2)) from bank_accounts a where a.id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String upsertByBank;
+    private final String upsertByAccount;
+
+    public BankDailyStatsRepository(JdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        boolean postgres = DatabaseVendor.isPostgres(dataSource);
+        this.upsertByBank = postgres ? postgresUpsert(BY_BANK) : mergeUpsert(BY_BANK);
+        this.upsertByAccount = postgres ? postgresUpsert(BY_ACCOUNT) : mergeUpsert(BY_ACCOUNT);
+    }
+
+    // ================= INCREMENTAL =================
+
+    public void add(Long accountId, LocalDateTime at, String type, BigDecimal amount) {
+        upsert(() -> jdbcTemplate.update(upsertByAccount, Date.valueOf(at.toLocalDate()), type, 1L, amount, accountId));
+    }
+
+    // Ledger rows must have their account (and its bank) loaded
+    public void addAll(List<Transaction> ledger) {
+        if (ledger.isEmpty()) {
+            return;
+        }
+
+        Map<Key, Total> totals = new TreeMap<>(KEY_ORDER);
+        for (Transaction tx : ledger) {
+            Key key = new Key(tx.getBankAccount().getBank().getId(),
+                    tx.getTransactionDate().toLocalDate(), tx.getType());
+            Total total = totals.computeIfAbsent(key, k -> new Total());
+            total.count++;
+            total.amount = total.amount.add(tx.getAmount());
+        }
+
+        List<Object[]> rows = new ArrayList<>(totals.size());
+        totals.forEach((key, total) -> rows.add(new Object[] {
+                key.bankId(), Date.valueOf(key.date()), key.type(), total.count, total.amount}));
+        upsert(() -> jdbcTemplate.batchUpdate(upsertByBank, rows));
+    }
+
+    // MERGE is not atomic: two transactions adding a day's first row both insert, and the
+    // loser fails on the key. Report it as a conflict so @RetryOnConflict re-runs the
+    // whole transaction, which then finds the row. (ON CONFLICT on Postgres waits instead.)
+    private static void upsert(Runnable statement) {
+        try {
+            statement.run();
+        } catch (DuplicateKeyException ex) {
+            throw new ConcurrencyFailureException("Concurrent insert of a bank_daily_stats row", ex);
+        }
+    }
+
+    // ================= READ =================
+
+    // from / to inclusive, oldest day first
+    public List<BankDailyStat> findByBank(Long bankId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(
+                "select stat_date, type, txn_count, total_amount from bank_daily_stats "
+                + "where bank_id = ? and stat_date between ? and ? order by stat_date, type",
+                (rs, i) -> new BankDailyStat(
+                        rs.getDate("stat_date").toLocalDate(),
+                        rs.getString("type"),
+                        rs.getLong("txn_count"),
+                        rs.getBigDecimal("total_amount")),
+                bankId, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    // ================= REBUILD =================
+
+    // Replaces one day's rows (all banks) with totals recomputed from the ledger
+    public int rebuildDay(LocalDate day) {
+        jdbcTemplate.update("delete from bank_daily_stats where stat_date = ?", Date.valueOf(day));
+        return jdbcTemplate.update(
+                "insert into bank_daily_stats (bank_id, stat_date, type, txn_count, total_amount) "
+                + "select a.bank_id, cast(? as date), t.type, count(*), sum(t.amount) "
+                + "from transactions t join bank_accounts a on a.id = t.bank_account_id "
+                + "where t.transaction_date >= ? and t.transaction_date < ? "
+                + "group by a.bank_id, t.type",
+                Date.valueOf(day),
+                Timestamp.valueOf(day.atStartOfDay()),
+                Timestamp.valueOf(day.plusDays(1).atStartOfDay()));
+    }
+
+    // Oldest ledger day, or null when there are no transactions
+    public LocalDate findFirstTransactionDay() {
+        Timestamp first = jdbcTemplate.queryForObject(
+                "select min(transaction_date) from transactions", Timestamp.class);
+        return first != null ? first.toLocalDateTime().toLocalDate() : null;
+    }
+
+    // ================= SQL =================
+
+    private static String postgresUpsert(String source) {
+        return "insert into bank_daily_stats (bank_id, stat_date, type, txn_count, total_amount) "
+                + source
+                + " on conflict (bank_id, stat_date, type) do update set "
+                + "txn_count = bank_daily_stats.txn_count + excluded.txn_count, "
+                + "total_amount = bank_daily_stats.total_amount + excluded.total_amount";
+    }
+
+    // Standard MERGE for everything else (H2 in tests)
+    private static String mergeUpsert(String source) {
+        return "merge into bank_daily_stats s using (" + source + ") "
+                + "v (bank_id, stat_date, type, txn_count, total_amount) "
+                + "on s.bank_id = v.bank_id and s.stat_date = v.stat_date and s.type = v.type "
+                + "when matched then update set txn_count = s.txn_count + v.txn_count, "
+                + "total_amount = s.total_amount + v.total_amount "
+                + "when not matched then insert (bank_id, stat_date, type, txn_count, total_amount) "
+                + "values (v.bank_id, v.stat_date, v.type, v.txn_count, v.total_amount)";
+    }
+}
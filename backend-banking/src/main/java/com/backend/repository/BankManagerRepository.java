@@ -2,9 +2,21 @@ package com.backend.repository;
 
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.backend.dto.ManagerBank;
 import com.backend.entity.BankManager;
 
 public interface BankManagerRepository extends JpaRepository<BankManager, Long> {
     Optional<BankManager> findByEmail(String email);
     Optional<BankManager> findByName(String name);
+
+    // Manager and bank in one statement, without loading either entity
+    @Query("""
+            select new com.backend.dto.ManagerBank(m.id, b.id, b.bankName, b.bankCode)
+            from BankManager m left join m.bank b
+            where m.email = :email
+            """)
+    Optional<ManagerBank> findManagerBankByEmail(@Param("email") String email);
 }
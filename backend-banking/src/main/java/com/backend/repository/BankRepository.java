@@ -1,8 +1,20 @@
 package com.backend.repository;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import com.backend.dto.BankProfile;
 import com.backend.entity.Bank;
 
 public interface BankRepository extends JpaRepository<Bank, Long> {
+
+    // Every bank in one statement, without the (eager) manager of each
+    @Query("""
+            select new com.backend.dto.BankProfile(b.id, b.bankName, b.bankCode, b.bankAddress,
+                b.phoneNumber, b.bankEmail, b.website, b.country, b.currency)
+            from Bank b order by b.id
+            """)
+    List<BankProfile> findAllProfiles();
 }
@@ -0,0 +1,10 @@
+package com.backend.repository;
+
+// One cache_invalidations row: origin is the publishing node, key depends on kind
+public record CacheInvalidation(
+        long id,
+        String kind,
+        String key,
+        String origin
+) {
+}
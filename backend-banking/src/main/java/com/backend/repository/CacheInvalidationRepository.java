@@ -0,0 +1,146 @@
+package com.backend.repository;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+/**
+ * cache_invalidations plus, on Postgres, the banking_cache notification channel.
+ * record() inserts the row and queues a pg_notify in the caller's transaction, so other
+ * nodes hear about a change exactly when it commits (and never if it rolls back).
+ * Listening uses a dedicated connection outside the pool: it is held for as long as the
+ * node runs, and LISTEN state must not leak into pooled connections.
+ */
+@Repository
+public class CacheInvalidationRepository {
+
+    private static final String CHANNEL = "banking_cache";
+
+    private static final String INSERT =
+            "insert into cache_invalidations (kind, entity_key, origin, created_at) values (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final boolean postgres;
+
+    public CacheInvalidationRepository(
+            JdbcTemplate jdbcTemplate,
+            DataSource dataSource,
+            DataSourceProperties dataSourceProperties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.postgres = DatabaseVendor.isPostgres(dataSource);
+    }
+
+    /** Whether changes are also pushed with LISTEN / NOTIFY (Postgres only). */
+    public boolean notifies() {
+        return postgres;
+    }
+
+    // ================= PUBLISH =================
+
+    public long record(String kind, String key, String origin) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(INSERT, new String[] {"id"});
+            ps.setString(1, kind);
+            ps.setString(2, key);
+            ps.setString(3, origin);
+            ps.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now()));
+            return ps;
+        }, keys);
+        long id = keys.getKey().longValue();
+
+        if (postgres) {
+            // delivered by the server on commit, dropped on rollback
+            jdbcTemplate.query("select pg_notify(?, ?)", rs -> null,
+                    CHANNEL, payload(new CacheInvalidation(id, kind, key, origin)));
+        }
+        return id;
+    }
+
+    // ================= POLL =================
+
+    public List<CacheInvalidation> findSince(LocalDateTime since) {
+        return jdbcTemplate.query(
+                "select id, kind, entity_key, origin from cache_invalidations where created_at >= ? order by id",
+                (rs, row) -> new CacheInvalidation(
+                        rs.getLong("id"), rs.getString("kind"), rs.getString("entity_key"), rs.getString("origin")),
+                Timestamp.valueOf(since));
+    }
+
+    public int deleteOlderThan(LocalDateTime cutoff) {
+        return jdbcTemplate.update("delete from cache_invalidations where created_at < ?", Timestamp.valueOf(cutoff));
+    }
+
+    // ================= LISTEN (Postgres) =================
+
+    public Connection listen() throws SQLException {
+        Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("listen " + CHANNEL);
+        } catch (SQLException ex) {
+            connection.close();
+            throw ex;
+        }
+        return connection;
+    }
+
+    /**
+     * Waits up to timeoutMs for notifications on a connection from {@link #listen}.
+     * A quiet wait ends with a round trip, so a dead connection fails here rather than
+     * waiting forever.
+     */
+    public List<CacheInvalidation> awaitNotifications(Connection connection, int timeoutMs) throws SQLException {
+        PGNotification[] notifications = connection.unwrap(PGConnection.class).getNotifications(timeoutMs);
+        if (notifications == null || notifications.length == 0) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("select 1");
+            }
+            return List.of();
+        }
+        List<CacheInvalidation> events = new ArrayList<>(notifications.length);
+        for (PGNotification notification : notifications) {
+            CacheInvalidation event = parse(notification.getParameter());
+            if (event != null) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    // "id origin kind key"; the key goes last since it is the only part that may contain spaces
+    private static String payload(CacheInvalidation event) {
+        return event.id() + " " + event.origin() + " " + event.kind() + " " + event.key();
+    }
+
+    private static CacheInvalidation parse(String payload) {
+        String[] parts = payload.split(" ", 4);
+        if (parts.length < 4) {
+            return null;
+        }
+        try {
+            return new CacheInvalidation(Long.parseLong(parts[0]), parts[2], parts[3], parts[1]);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+}
@@ -2,14 +2,85 @@ package com.backend.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.backend.dto.CustomerListRow;
+import com.backend.dto.CustomerSearchHit;
 import com.backend.entity.Bank;
 import com.backend.entity.Customer;
+
+import jakarta.persistence.QueryHint;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
     Optional<Customer> findByEmail(String email);
     boolean existsByEmail(String email);
     List<Customer> findByBank(Bank bank);
 
+    // ✅ Customer + bank + account in ONE query (null filter = not applied).
+    // Status is the ACCOUNT status; customers without an account count as INACTIVE.
+    @Query(value = """
+            select new com.backend.dto.CustomerListRow(
+                c.name, b.bankName, c.email, c.gender, c.contact, c.street, c.city, c.pincode,
+                a.accountNumber, a.ifscCode, a.balance, a.status)
+            from Customer c join c.bank b left join BankAccount a on a.customer = c
+            where (:bankId is null or b.id = :bankId)
+              and (:status is null or coalesce(a.status, 'INACTIVE') = :status)
+              and (:city is null or lower(c.city) = lower(:city))
+            """,
+            countQuery = """
+            select count(c) from Customer c join c.bank b left join BankAccount a on a.customer = c
+            where (:bankId is null or b.id = :bankId)
+              and (:status is null or coalesce(a.status, 'INACTIVE') = :status)
+              and (:city is null or lower(c.city) = lower(:city))
+            """)
+    Page<CustomerListRow> findListing(
+            @Param("bankId") Long bankId,
+            @Param("status") String status,
+            @Param("city") String city,
+            Pageable pageable
+    );
+
+    // ================= TYPE-AHEAD =================
+
+    // Everything CustomerSearchIndex needs, for every bank, streamed
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new com.backend.dto.CustomerSearchHit(c.id, c.bank.id, c.name, c.email, c.contact)
+            from Customer c
+            """)
+    Stream<CustomerSearchHit> streamSearchHits();
+
+    @Query("""
+            select new com.backend.dto.CustomerSearchHit(c.id, c.bank.id, c.name, c.email, c.contact)
+            from Customer c
+            where c.id = :id
+            """)
+    Optional<CustomerSearchHit> findSearchHit(@Param("id") Long id);
+
+    // Fallback while the index is warming up: prefix = escaped lower-case value + '%'
+    @Query("""
+            select new com.backend.dto.CustomerSearchHit(c.id, c.bank.id, c.name, c.email, c.contact)
+            from Customer c
+            where c.bank.id = :bankId
+              and (lower(c.email) like :prefix escape '\\'
+                   or lower(c.name) like :prefix escape '\\'
+                   or c.contact like :prefix escape '\\')
+            order by c.name, c.id
+            """)
+    List<CustomerSearchHit> searchByPrefix(@Param("bankId") Long bankId, @Param("prefix") String prefix, Limit limit);
+
 }
@@ -0,0 +1,24 @@
+package com.backend.repository;
+
+import java.sql.DatabaseMetaData;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+// Which database we're on, for the few statements that differ (upserts, partition DDL)
+final class DatabaseVendor {
+
+    private DatabaseVendor() {
+    }
+
+    static boolean isPostgres(DataSource dataSource) {
+        try {
+            return "PostgreSQL".equals(JdbcUtils.commonDatabaseName(
+                    JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName)));
+        } catch (MetaDataAccessException ex) {
+            throw new RuntimeException("Unable to detect database type", ex);
+        }
+    }
+}
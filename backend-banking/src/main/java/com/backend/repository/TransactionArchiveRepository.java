@@ -0,0 +1,91 @@
+package com.backend.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * The live side of archiving: reads a whole month of transactions rows in (date, id)
+ * order for TransactionSegmentStore, and deletes the month once its segment is on disk.
+ * Months are [first day, first day of next month) on transaction_date (one partition
+ * on Postgres, idx_txn_date_id elsewhere).
+ */
+@Repository
+public class TransactionArchiveRepository {
+
+    private static final String MONTH_ROWS =
+            "select t.id, t.transaction_id, t.type, t.amount, t.balance_after, t.recipient_bank, "
+            + "t.recipient_account, t.purpose, t.transaction_date, t.bank_account_id, "
+            + "t.sender_account_id, t.receiver_account_id, a.bank_id "
+            + "from transactions t left join bank_accounts a on a.id = t.bank_account_id "
+            + "where t.transaction_date >= ? and t.transaction_date < ? "
+            + "order by t.transaction_date, t.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingTemplate;
+
+    public TransactionArchiveRepository(JdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        // months can be millions of rows: pull them through a cursor (needs a transaction on Postgres)
+        this.streamingTemplate = new JdbcTemplate(dataSource);
+        this.streamingTemplate.setFetchSize(1000);
+    }
+
+    // Month of the oldest live row, null when the table is empty
+    public YearMonth findOldestMonth() {
+        Timestamp oldest = jdbcTemplate.queryForObject(
+                "select min(transaction_date) from transactions", Timestamp.class);
+        return oldest == null ? null : YearMonth.from(oldest.toLocalDateTime());
+    }
+
+    public long countMonth(YearMonth month) {
+        Long count = jdbcTemplate.queryForObject(
+                "select count(*) from transactions where transaction_date >= ? and transaction_date < ?",
+                Long.class, start(month), end(month));
+        return count == null ? 0 : count;
+    }
+
+    public void streamMonth(YearMonth month, Consumer<ArchivedTransaction> action) {
+        streamingTemplate.query(MONTH_ROWS, rs -> {
+            action.accept(map(rs));
+        }, start(month), end(month));
+    }
+
+    public int deleteMonth(YearMonth month) {
+        return jdbcTemplate.update(
+                "delete from transactions where transaction_date >= ? and transaction_date < ?",
+                start(month), end(month));
+    }
+
+    private static ArchivedTransaction map(ResultSet rs) throws SQLException {
+        return new ArchivedTransaction(
+                rs.getLong("id"),
+                rs.getString("transaction_id"),
+                rs.getString("type"),
+                rs.getBigDecimal("amount"),
+                rs.getBigDecimal("balance_after"),
+                rs.getString("recipient_bank"),
+                rs.getString("recipient_account"),
+                rs.getString("purpose"),
+                rs.getTimestamp("transaction_date").toLocalDateTime(),
+                rs.getObject("bank_account_id", Long.class),
+                rs.getObject("sender_account_id", Long.class),
+                rs.getObject("receiver_account_id", Long.class),
+                rs.getObject("bank_id", Long.class));
+    }
+
+    private static Timestamp start(YearMonth month) {
+        return Timestamp.valueOf(month.atDay(1).atStartOfDay());
+    }
+
+    private static Timestamp end(YearMonth month) {
+        return Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay());
+    }
+}
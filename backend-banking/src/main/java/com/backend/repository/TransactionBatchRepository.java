@@ -0,0 +1,53 @@
+package com.backend.repository;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.backend.entity.Transaction;
+
+/**
+ * Bulk ledger writes through plain JDBC batching.
+ * Transaction uses an IDENTITY key, which stops Hibernate from batching inserts,
+ * so large runs (batch transfers) go through here instead of TransactionRepository.
+ * Joins the surrounding JPA transaction (same connection).
+ */
+@Repository
+public class TransactionBatchRepository {
+
+    private static final String INSERT_SQL =
+            "insert into transactions (transaction_id, type, amount, balance_after, recipient_bank, "
+            + "recipient_account, purpose, transaction_date, bank_account_id) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public TransactionBatchRepository(
+            JdbcTemplate jdbcTemplate,
+            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    public void insertAll(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, transactions, batchSize, (ps, tx) -> {
+            ps.setString(1, tx.getTransactionId());
+            ps.setString(2, tx.getType());
+            ps.setBigDecimal(3, tx.getAmount());
+            ps.setBigDecimal(4, tx.getBalanceAfter());
+            ps.setString(5, tx.getRecipientBank());
+            ps.setString(6, tx.getRecipientAccount());
+            ps.setString(7, tx.getPurpose());
+            ps.setObject(8, tx.getTransactionDate());
+            ps.setLong(9, tx.getBankAccount().getId());
+        });
+    }
+}
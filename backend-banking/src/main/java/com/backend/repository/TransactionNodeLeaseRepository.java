@@ -0,0 +1,58 @@
+package com.backend.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * txid_node_leases. Every statement is a single-row insert or conditional update, so two
+ * instances racing for the same node id cannot both win it.
+ */
+@Repository
+public class TransactionNodeLeaseRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionNodeLeaseRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Node ids whose lease was renewed at or after expiredBefore. */
+    public List<Integer> findLive(LocalDateTime expiredBefore) {
+        return jdbcTemplate.queryForList(
+                "select node_id from txid_node_leases where renewed_at >= ? order by node_id",
+                Integer.class, Timestamp.valueOf(expiredBefore));
+    }
+
+    /** Takes nodeId if it was never leased or its lease expired; false if someone holds it. */
+    public boolean claim(int nodeId, String owner, LocalDateTime now, LocalDateTime expiredBefore) {
+        int taken = jdbcTemplate.update(
+                "update txid_node_leases set owner = ?, renewed_at = ? where node_id = ? and renewed_at < ?",
+                owner, Timestamp.valueOf(now), nodeId, Timestamp.valueOf(expiredBefore));
+        if (taken == 1) {
+            return true;
+        }
+        try {
+            jdbcTemplate.update("insert into txid_node_leases (node_id, owner, renewed_at) values (?, ?, ?)",
+                    nodeId, owner, Timestamp.valueOf(now));
+            return true;
+        } catch (DuplicateKeyException ex) {
+            return false;
+        }
+    }
+
+    /** False if the lease is no longer ours (expired and taken over). */
+    public boolean renew(int nodeId, String owner, LocalDateTime now) {
+        return jdbcTemplate.update(
+                "update txid_node_leases set renewed_at = ? where node_id = ? and owner = ?",
+                Timestamp.valueOf(now), nodeId, owner) == 1;
+    }
+
+    public void release(int nodeId, String owner) {
+        jdbcTemplate.update("delete from txid_node_leases where node_id = ? and owner = ?", nodeId, owner);
+    }
+}
@@ -0,0 +1,77 @@
+package com.backend.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Partition DDL for the monthly-partitioned transactions table (Postgres, see
+ * db/vendor/postgresql/V6). Everything here is a no-op answer on other databases:
+ * {@link #isPartitioned()} is false there.
+ *
+ * Partition names are generated by TransactionPartitionService, never taken from input.
+ */
+@Repository
+public class TransactionPartitionRepository {
+
+    // Any constant: only one node runs maintenance at a time
+    private static final long MAINTENANCE_LOCK_KEY = 0x7478_7061_7274L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+
+    public TransactionPartitionRepository(JdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.postgres = DatabaseVendor.isPostgres(dataSource);
+    }
+
+    public boolean isPartitioned() {
+        return postgres && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select exists (select 1 from pg_partitioned_table p "
+                + "join pg_class c on c.oid = p.partrelid "
+                + "where c.relname = 'transactions' and c.relnamespace = current_schema()::regnamespace)",
+                Boolean.class));
+    }
+
+    // Attached partitions only
+    public List<String> findPartitionNames() {
+        return jdbcTemplate.queryForList(
+                "select c.relname from pg_inherits i "
+                + "join pg_class c on c.oid = i.inhrelid "
+                + "join pg_class p on p.oid = i.inhparent "
+                + "where p.relname = 'transactions' and p.relnamespace = current_schema()::regnamespace "
+                + "order by c.relname",
+                String.class);
+    }
+
+    // Transaction-scoped: released at commit; false = another node is at it
+    public boolean tryMaintenanceLock() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select pg_try_advisory_xact_lock(?)", Boolean.class, MAINTENANCE_LOCK_KEY));
+    }
+
+    // Don't queue behind long-running queries (and make everyone else queue behind us)
+    public void setLockTimeout(long millis) {
+        jdbcTemplate.execute("set local lock_timeout = " + millis);
+    }
+
+    // [from, to)
+    public void createPartition(String name, LocalDate from, LocalDate to) {
+        jdbcTemplate.execute("create table if not exists " + name
+                + " partition of transactions for values from ('" + from + "') to ('" + to + "')");
+    }
+
+    public boolean isEmpty(String name) {
+        return !Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select exists (select 1 from " + name + ")", Boolean.class));
+    }
+
+    // Only for archived (emptied) months; the table stays as a standalone table until it is dropped
+    public void detachPartition(String name) {
+        jdbcTemplate.execute("alter table transactions detach partition " + name);
+    }
+}
@@ -1,14 +1,27 @@
 package com.backend.repository;
 
+import com.backend.dto.BankTransactionRow;
 import com.backend.entity.BankAccount;
 import com.backend.entity.Transaction;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+import jakarta.persistence.QueryHint;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+// Filtered search: JpaSpecificationExecutor + TransactionSpecifications
+public interface TransactionRepository extends JpaRepository<Transaction, Long>,
+        JpaSpecificationExecutor<Transaction> {
 
 
     
@@ -30,5 +43,110 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
             BankAccount senderAccount,
             BankAccount receiverAccount
     );
-    
+
+    // ================= KEYSET PAGES (transaction_date DESC, id DESC) =================
+    // Account + bank + customer are fetched in the same query for DTO mapping
+
+    @Query("""
+            select t from Transaction t
+            join fetch t.bankAccount a join fetch a.bank left join fetch a.customer
+            where a.id = :accountId
+            order by t.transactionDate desc, t.id desc
+            """)
+    List<Transaction> findPageByAccountId(@Param("accountId") Long accountId, Limit limit);
+
+    @Query("""
+            select t from Transaction t
+            join fetch t.bankAccount a join fetch a.bank left join fetch a.customer
+            where a.id = :accountId
+              and (t.transactionDate, t.id) < (:date, :id)
+            order by t.transactionDate desc, t.id desc
+            """)
+    List<Transaction> findPageByAccountIdBefore(
+            @Param("accountId") Long accountId,
+            @Param("date") LocalDateTime date,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    @Query("""
+            select t from Transaction t
+            left join fetch t.bankAccount a left join fetch a.bank left join fetch a.customer
+            order by t.transactionDate desc, t.id desc
+            """)
+    List<Transaction> findPage(Limit limit);
+
+    @Query("""
+            select t from Transaction t
+            left join fetch t.bankAccount a left join fetch a.bank left join fetch a.customer
+            where (t.transactionDate, t.id) < (:date, :id)
+            order by t.transactionDate desc, t.id desc
+            """)
+    List<Transaction> findPageBefore(
+            @Param("date") LocalDateTime date,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    // Whole bank in ONE query (no per-account round trips, no entity loading)
+    @Query("""
+            select new com.backend.dto.BankTransactionRow(
+                t.id, t.transactionId, b.bankName, c.name, a.accountNumber, t.type,
+                t.amount, t.balanceAfter, t.recipientBank, t.recipientAccount, t.purpose,
+                t.transactionDate)
+            from Transaction t join t.bankAccount a join a.bank b left join a.customer c
+            where b.id = :bankId
+            order by t.transactionDate desc, t.id desc
+            """)
+    List<BankTransactionRow> findPageByBankId(@Param("bankId") Long bankId, Limit limit);
+
+    @Query("""
+            select new com.backend.dto.BankTransactionRow(
+                t.id, t.transactionId, b.bankName, c.name, a.accountNumber, t.type,
+                t.amount, t.balanceAfter, t.recipientBank, t.recipientAccount, t.purpose,
+                t.transactionDate)
+            from Transaction t join t.bankAccount a join a.bank b left join a.customer c
+            where b.id = :bankId
+              and (t.transactionDate, t.id) < (:date, :id)
+            order by t.transactionDate desc, t.id desc
+            """)
+    List<BankTransactionRow> findPageByBankIdBefore(
+            @Param("bankId") Long bankId,
+            @Param("date") LocalDateTime date,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    // ================= STREAMING EXPORT =================
+    // Rows are pulled from a server-side cursor FETCH_SIZE at a time; needs a
+    // (read-only) transaction so the driver doesn't buffer the whole result
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select t from Transaction t
+            join fetch t.bankAccount a join fetch a.bank left join fetch a.customer
+            where t.transactionDate >= :from and t.transactionDate < :to
+            order by t.transactionDate, t.id
+            """)
+    Stream<Transaction> streamForExport(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select t from Transaction t
+            join fetch t.bankAccount a join fetch a.bank b left join fetch a.customer
+            where b.id = :bankId
+              and t.transactionDate >= :from and t.transactionDate < :to
+            order by t.transactionDate, t.id
+            """)
+    Stream<Transaction> streamForExportByBank(
+            @Param("bankId") Long bankId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
 }
@@ -0,0 +1,540 @@
+package com.backend.repository;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * On-disk format of an archive segment: immutable, column-oriented, Deflate-compressed.
+ *
+ * <pre>
+ * file    := MAGIC VERSION group* footer footerOffset:long MAGIC
+ * group   := header payload
+ * header  := rows:int minDate:long maxDate:long banks:int bankId:long* bloomWords:int bloom:long* payloadLength:int
+ * payload := deflate(column*)
+ * footer  := groups:int groupOffset:long* rows:long minDate:long maxDate:long
+ * </pre>
+ *
+ * Rows are in (transaction_date, id) order. Dates are epoch microseconds; ids and dates
+ * are delta-encoded varints, repeated strings are dictionary-encoded. Each group header
+ * carries its date range, the banks it contains and a Bloom filter of its account ids,
+ * so lookups only inflate the groups that can match.
+ */
+final class TransactionSegmentFile {
+
+    private static final int MAGIC = 0x54585347; // "TXSG"
+    private static final byte VERSION = 1;
+
+    // Bloom filter sizing: ~10 bits per distinct account, 64 bits .. 8 KB per group
+    private static final int BLOOM_BITS_PER_KEY = 10;
+    private static final int BLOOM_MAX_WORDS = 1024;
+
+    private TransactionSegmentFile() {
+    }
+
+    /** What the in-memory index keeps per segment: enough to prune without reading the file. */
+    record Summary(Path path, long rows, LocalDateTime minDate, LocalDateTime maxDate, List<Group> groups) {
+    }
+
+    record Group(long payloadOffset, int payloadLength, int rows,
+                 LocalDateTime minDate, LocalDateTime maxDate, long[] bankIds, long[] accountBloom) {
+
+        boolean hasBank(long bankId) {
+            return Arrays.binarySearch(bankIds, bankId) >= 0;
+        }
+
+        boolean mightHaveAccount(long accountId) {
+            return bloomContains(accountBloom, accountId);
+        }
+    }
+
+    // ================= WRITING =================
+
+    static final class Writer implements AutoCloseable {
+
+        private final FileOutputStream file;
+        private final OutputStream out;
+        private final int rowsPerGroup;
+        private final List<ArchivedTransaction> pending = new ArrayList<>();
+        private final List<Long> groupOffsets = new ArrayList<>();
+
+        private long position;
+        private long rows;
+        private LocalDateTime minDate;
+        private LocalDateTime maxDate;
+        private ArchivedTransaction last;
+
+        Writer(Path path, int rowsPerGroup) throws IOException {
+            this.file = new FileOutputStream(path.toFile());
+            this.out = new BufferedOutputStream(file, 64 * 1024);
+            this.rowsPerGroup = Math.max(1, rowsPerGroup);
+
+            ByteArrayOutputStream head = new ByteArrayOutputStream();
+            DataOutputStream data = new DataOutputStream(head);
+            data.writeInt(MAGIC);
+            data.writeByte(VERSION);
+            write(head.toByteArray());
+        }
+
+        void add(ArchivedTransaction row) throws IOException {
+            if (last != null && compare(row, last) <= 0) {
+                throw new RuntimeException("Archive rows must be added in (date, id) order");
+            }
+            last = row;
+            pending.add(row);
+            rows++;
+            if (minDate == null) {
+                minDate = row.transactionDate();
+            }
+            maxDate = row.transactionDate();
+
+            if (pending.size() >= rowsPerGroup) {
+                flushGroup();
+            }
+        }
+
+        // Writes the footer and syncs the file to disk; returns the row count
+        long finish() throws IOException {
+            if (!pending.isEmpty()) {
+                flushGroup();
+            }
+
+            ByteArrayOutputStream footer = new ByteArrayOutputStream();
+            DataOutputStream data = new DataOutputStream(footer);
+            data.writeInt(groupOffsets.size());
+            for (long offset : groupOffsets) {
+                data.writeLong(offset);
+            }
+            data.writeLong(rows);
+            data.writeLong(minDate == null ? 0 : micros(minDate));
+            data.writeLong(maxDate == null ? 0 : micros(maxDate));
+
+            long footerOffset = position;
+            write(footer.toByteArray());
+
+            ByteArrayOutputStream trailer = new ByteArrayOutputStream();
+            DataOutputStream tail = new DataOutputStream(trailer);
+            tail.writeLong(footerOffset);
+            tail.writeInt(MAGIC);
+            write(trailer.toByteArray());
+
+            out.flush();
+            file.getFD().sync();
+            return rows;
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+
+        private void flushGroup() throws IOException {
+            List<ArchivedTransaction> group = pending;
+
+            TreeSet<Long> banks = new TreeSet<>();
+            TreeSet<Long> accounts = new TreeSet<>();
+            for (ArchivedTransaction row : group) {
+                if (row.bankId() != null) {
+                    banks.add(row.bankId());
+                }
+                if (row.bankAccountId() != null) {
+                    accounts.add(row.bankAccountId());
+                }
+            }
+            long[] bloom = new long[bloomWords(accounts.size())];
+            accounts.forEach(id -> bloomAdd(bloom, id));
+
+            byte[] payload = encodeColumns(group);
+
+            ByteArrayOutputStream head = new ByteArrayOutputStream();
+            DataOutputStream data = new DataOutputStream(head);
+            data.writeInt(group.size());
+            data.writeLong(micros(group.get(0).transactionDate()));
+            data.writeLong(micros(group.get(group.size() - 1).transactionDate()));
+            data.writeInt(banks.size());
+            for (long bankId : banks) {
+                data.writeLong(bankId);
+            }
+            data.writeInt(bloom.length);
+            for (long word : bloom) {
+                data.writeLong(word);
+            }
+            data.writeInt(payload.length);
+
+            groupOffsets.add(position);
+            write(head.toByteArray());
+            write(payload);
+            pending.clear();
+        }
+
+        private void write(byte[] bytes) throws IOException {
+            out.write(bytes);
+            position += bytes.length;
+        }
+    }
+
+    private static byte[] encodeColumns(List<ArchivedTransaction> rows) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes, deflater, 64 * 1024))) {
+            long previous = 0;
+            for (ArchivedTransaction row : rows) {
+                writeVarLong(out, zigzag(row.id() - previous));
+                previous = row.id();
+            }
+            previous = 0;
+            for (ArchivedTransaction row : rows) {
+                long micros = micros(row.transactionDate());
+                writeVarLong(out, zigzag(micros - previous));
+                previous = micros;
+            }
+            for (ArchivedTransaction row : rows) {
+                writeString(out, row.transactionId());
+            }
+            writeDictionary(out, rows.stream().map(ArchivedTransaction::type).toList());
+            for (ArchivedTransaction row : rows) {
+                writeDecimal(out, row.amount());
+            }
+            for (ArchivedTransaction row : rows) {
+                writeDecimal(out, row.balanceAfter());
+            }
+            writeDictionary(out, rows.stream().map(ArchivedTransaction::recipientBank).toList());
+            writeDictionary(out, rows.stream().map(ArchivedTransaction::recipientAccount).toList());
+            writeDictionary(out, rows.stream().map(ArchivedTransaction::purpose).toList());
+            for (ArchivedTransaction row : rows) {
+                writeNullableId(out, row.bankAccountId());
+            }
+            for (ArchivedTransaction row : rows) {
+                writeNullableId(out, row.senderAccountId());
+            }
+            for (ArchivedTransaction row : rows) {
+                writeNullableId(out, row.receiverAccountId());
+            }
+            for (ArchivedTransaction row : rows) {
+                writeNullableId(out, row.bankId());
+            }
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    // ================= READING =================
+
+    static Summary readSummary(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 5 + 12) {
+                throw new IOException("Not an archive segment: " + path);
+            }
+            DataInput trailer = read(channel, size - 12, 12);
+            long footerOffset = trailer.readLong();
+            if (trailer.readInt() != MAGIC || read(channel, 0, 4).readInt() != MAGIC) {
+                throw new IOException("Not an archive segment: " + path);
+            }
+
+            DataInput footer = read(channel, footerOffset, (int) (size - 12 - footerOffset));
+            int groupCount = footer.readInt();
+            long[] offsets = new long[groupCount];
+            for (int i = 0; i < groupCount; i++) {
+                offsets[i] = footer.readLong();
+            }
+            long rows = footer.readLong();
+            LocalDateTime minDate = dateOf(footer.readLong());
+            LocalDateTime maxDate = dateOf(footer.readLong());
+
+            List<Group> groups = new ArrayList<>(groupCount);
+            for (long offset : offsets) {
+                groups.add(readGroupHeader(channel, offset));
+            }
+            return new Summary(path, rows, minDate, maxDate, List.copyOf(groups));
+        }
+    }
+
+    static List<ArchivedTransaction> readGroup(Path path, Group group) throws IOException {
+        byte[] payload;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(group.payloadLength());
+            readFully(channel, group.payloadOffset(), buffer);
+            payload = buffer.array();
+        }
+
+        int n = group.rows();
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(payload)))) {
+            long[] ids = new long[n];
+            long previous = 0;
+            for (int i = 0; i < n; i++) {
+                previous += unzigzag(readVarLong(in));
+                ids[i] = previous;
+            }
+            LocalDateTime[] dates = new LocalDateTime[n];
+            previous = 0;
+            for (int i = 0; i < n; i++) {
+                previous += unzigzag(readVarLong(in));
+                dates[i] = dateOf(previous);
+            }
+            String[] transactionIds = new String[n];
+            for (int i = 0; i < n; i++) {
+                transactionIds[i] = readString(in);
+            }
+            String[] types = readDictionary(in, n);
+            BigDecimal[] amounts = new BigDecimal[n];
+            for (int i = 0; i < n; i++) {
+                amounts[i] = readDecimal(in);
+            }
+            BigDecimal[] balances = new BigDecimal[n];
+            for (int i = 0; i < n; i++) {
+                balances[i] = readDecimal(in);
+            }
+            String[] recipientBanks = readDictionary(in, n);
+            String[] recipientAccounts = readDictionary(in, n);
+            String[] purposes = readDictionary(in, n);
+            Long[] accounts = readNullableIds(in, n);
+            Long[] senders = readNullableIds(in, n);
+            Long[] receivers = readNullableIds(in, n);
+            Long[] banks = readNullableIds(in, n);
+
+            List<ArchivedTransaction> rows = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                rows.add(new ArchivedTransaction(ids[i], transactionIds[i], types[i], amounts[i], balances[i],
+                        recipientBanks[i], recipientAccounts[i], purposes[i], dates[i],
+                        accounts[i], senders[i], receivers[i], banks[i]));
+            }
+            return rows;
+        }
+    }
+
+    private static Group readGroupHeader(FileChannel channel, long offset) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Channels.newInputStream(channel.position(offset)), 8 * 1024));
+        int rows = in.readInt();
+        LocalDateTime minDate = dateOf(in.readLong());
+        LocalDateTime maxDate = dateOf(in.readLong());
+        long[] banks = new long[in.readInt()];
+        for (int i = 0; i < banks.length; i++) {
+            banks[i] = in.readLong();
+        }
+        long[] bloom = new long[in.readInt()];
+        for (int i = 0; i < bloom.length; i++) {
+            bloom[i] = in.readLong();
+        }
+        int payloadLength = in.readInt();
+        long headerLength = 4 + 8 + 8 + 4 + 8L * banks.length + 4 + 8L * bloom.length + 4;
+        return new Group(offset + headerLength, payloadLength, rows, minDate, maxDate, banks, bloom);
+    }
+
+    private static DataInputStream read(FileChannel channel, long offset, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        readFully(channel, offset, buffer);
+        return new DataInputStream(new ByteArrayInputStream(buffer.array()));
+    }
+
+    private static void readFully(FileChannel channel, long offset, ByteBuffer buffer) throws IOException {
+        long position = offset;
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position);
+            if (n < 0) {
+                throw new EOFException("Truncated archive segment");
+            }
+            position += n;
+        }
+    }
+
+    // ================= ENCODING HELPERS =================
+
+    static int compare(ArchivedTransaction a, ArchivedTransaction b) {
+        int byDate = a.transactionDate().compareTo(b.transactionDate());
+        return byDate != 0 ? byDate : Long.compare(a.id(), b.id());
+    }
+
+    static long micros(LocalDateTime date) {
+        return date.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + date.getNano() / 1_000;
+    }
+
+    private static LocalDateTime dateOf(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Truncated archive segment");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in archive segment");
+    }
+
+    // length + 1, 0 = null
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            writeVarLong(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length + 1L);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = (int) readVarLong(in);
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length - 1];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // dictionary of distinct values, then one code per row (index + 1, 0 = null)
+    private static void writeDictionary(DataOutput out, List<String> values) throws IOException {
+        Map<String, Integer> codes = new LinkedHashMap<>();
+        for (String value : values) {
+            if (value != null) {
+                codes.putIfAbsent(value, codes.size() + 1);
+            }
+        }
+        writeVarLong(out, codes.size());
+        for (String value : codes.keySet()) {
+            writeString(out, value);
+        }
+        for (String value : values) {
+            writeVarLong(out, value == null ? 0 : codes.get(value));
+        }
+    }
+
+    private static String[] readDictionary(DataInputStream in, int rows) throws IOException {
+        String[] dictionary = new String[(int) readVarLong(in) + 1];
+        for (int i = 1; i < dictionary.length; i++) {
+            dictionary[i] = readString(in);
+        }
+        String[] values = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            values[i] = dictionary[(int) readVarLong(in)];
+        }
+        return values;
+    }
+
+    // scale + 1 (0 = null), then the unscaled two's-complement bytes
+    private static void writeDecimal(DataOutput out, BigDecimal value) throws IOException {
+        if (value == null) {
+            writeVarLong(out, 0);
+            return;
+        }
+        writeVarLong(out, zigzag(value.scale()) + 1);
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        writeVarLong(out, unscaled.length);
+        out.write(unscaled);
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        long scale = readVarLong(in);
+        if (scale == 0) {
+            return null;
+        }
+        byte[] unscaled = new byte[(int) readVarLong(in)];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), (int) unzigzag(scale - 1));
+    }
+
+    // id + 1, 0 = null (ids are positive)
+    private static void writeNullableId(DataOutput out, Long value) throws IOException {
+        writeVarLong(out, value == null ? 0 : value + 1);
+    }
+
+    private static Long[] readNullableIds(DataInputStream in, int rows) throws IOException {
+        Long[] values = new Long[rows];
+        for (int i = 0; i < rows; i++) {
+            long raw = readVarLong(in);
+            values[i] = raw == 0 ? null : raw - 1;
+        }
+        return values;
+    }
+
+    // ================= BLOOM FILTER =================
+
+    private static int bloomWords(int keys) {
+        int words = Integer.highestOneBit(Math.max(1, keys * BLOOM_BITS_PER_KEY / 64) * 2 - 1);
+        return Math.min(BLOOM_MAX_WORDS, Math.max(1, words));
+    }
+
+    private static void bloomAdd(long[] bloom, long key) {
+        long hash = mix(key);
+        int bits = bloom.length * 64;
+        for (int i = 0; i < 3; i++) {
+            int bit = (int) Math.floorMod(hash + i * (hash >>> 32), (long) bits);
+            bloom[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    private static boolean bloomContains(long[] bloom, long key) {
+        long hash = mix(key);
+        int bits = bloom.length * 64;
+        for (int i = 0; i < 3; i++) {
+            int bit = (int) Math.floorMod(hash + i * (hash >>> 32), (long) bits);
+            if ((bloom[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // splitmix64 finalizer
+    private static long mix(long key) {
+        long z = key + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
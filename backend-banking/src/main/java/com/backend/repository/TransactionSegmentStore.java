@@ -0,0 +1,292 @@
+package com.backend.repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import com.backend.repository.TransactionSegmentFile.Group;
+import com.backend.repository.TransactionSegmentFile.Summary;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Archived transactions: one immutable segment file per month in banking.archive.dir
+ * (format: TransactionSegmentFile), written by TransactionArchiveService.
+ *
+ * The summaries (date range, row groups, per-group bank ids and account Bloom filter)
+ * of every segment are kept in memory, so a lookup only reads and inflates the row
+ * groups that can contain matching rows. Recently inflated groups are cached, which
+ * keeps paging through old history from re-reading the same group for every page.
+ *
+ * Segments are written by the one node that archives, but every node serves reads, and
+ * the archiving node deletes the rows from the live table. So a node picks up segments
+ * written elsewhere before it reads past the live rows: liveFrom() and refresh() (called
+ * by the read-through paths) list the directory and load the summaries of new files.
+ */
+@Repository
+public class TransactionSegmentStore {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionSegmentStore.class);
+
+    // transactions-2024-06.seg = June 2024
+    private static final DateTimeFormatter FILE_NAME = DateTimeFormatter.ofPattern("'transactions-'yyyy-MM'.seg'");
+
+    private record GroupKey(Path path, int index) {
+    }
+
+    private final Path dir;
+    private final int rowsPerGroup;
+    private final NavigableMap<YearMonth, Summary> segments = new ConcurrentSkipListMap<>();
+    private final Cache<GroupKey, List<ArchivedTransaction>> groups;
+
+    public TransactionSegmentStore(
+            @Value("${banking.archive.dir:archive/transactions}") String dir,
+            @Value("${banking.archive.rows-per-group:50000}") int rowsPerGroup,
+            @Value("${banking.archive.cache-rows:200000}") long cacheRows
+    ) {
+        this.dir = Paths.get(dir).toAbsolutePath();
+        this.rowsPerGroup = rowsPerGroup;
+        this.groups = Caffeine.newBuilder()
+                .maximumWeight(cacheRows)
+                .<GroupKey, List<ArchivedTransaction>>weigher((key, rows) -> rows.size())
+                .build();
+        reload();
+    }
+
+    /** Rescans the directory (startup, or after segments were restored by hand). */
+    public synchronized void reload() {
+        segments.clear();
+        groups.invalidateAll();
+        scan();
+        if (!segments.isEmpty()) {
+            log.info("Transaction archive: {} segments ({}..{}) in {}",
+                    segments.size(), segments.firstKey(), segments.lastKey(), dir);
+        }
+    }
+
+    /**
+     * Loads segments that appeared since the last scan (archived by another node).
+     * Known segments are immutable and stay as they are; costs one directory listing.
+     */
+    public synchronized void refresh() {
+        int known = segments.size();
+        scan();
+        if (segments.size() > known) {
+            log.info("Transaction archive: picked up {} new segments, archived up to {}",
+                    segments.size() - known, segments.lastKey());
+        }
+    }
+
+    private void scan() {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "transactions-*.seg")) {
+            for (Path file : files) {
+                YearMonth month = monthOf(file);
+                if (month != null && !segments.containsKey(month)) {
+                    segments.put(month, TransactionSegmentFile.readSummary(file));
+                }
+            }
+        } catch (IOException ex) {
+            // a segment we can't read means history we can't serve: fail rather than answer half-blind
+            throw new UncheckedIOException("Unreadable transaction archive in " + dir, ex);
+        }
+    }
+
+    public boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    public NavigableSet<YearMonth> months() {
+        return segments.navigableKeySet();
+    }
+
+    // null if the month isn't archived
+    public Long rowCount(YearMonth month) {
+        Summary summary = segments.get(month);
+        return summary == null ? null : summary.rows();
+    }
+
+    // First day that is not covered by a segment (null = nothing archived); picks up new segments first
+    public LocalDate liveFrom() {
+        refresh();
+        return segments.isEmpty() ? null : segments.lastKey().plusMonths(1).atDay(1);
+    }
+
+    // ================= WRITING =================
+
+    /**
+     * Writes the month's segment from rows supplied in (date, id) order: to a temp file,
+     * synced and read back, then renamed into place. Existing segments are never
+     * overwritten. Returns the number of rows written.
+     */
+    public long write(YearMonth month, Consumer<Consumer<ArchivedTransaction>> rows) {
+        Path target = dir.resolve(FILE_NAME.format(month.atDay(1)));
+        Path temp = dir.resolve(target.getFileName() + ".tmp");
+
+        try {
+            Files.createDirectories(dir);
+            long written;
+            try (TransactionSegmentFile.Writer writer = new TransactionSegmentFile.Writer(temp, rowsPerGroup)) {
+                rows.accept(row -> {
+                    try {
+                        writer.add(row);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+                written = writer.finish();
+            }
+            if (TransactionSegmentFile.readSummary(temp).rows() != written) {
+                throw new IOException("Segment read-back does not match the rows written");
+            }
+
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            syncDirectory();
+            segments.put(month, TransactionSegmentFile.readSummary(target));
+            return written;
+
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to write archive segment " + target, ex);
+        } finally {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ex) {
+                log.warn("Unable to remove {}: {}", temp, ex.getMessage());
+            }
+        }
+    }
+
+    // Makes the rename durable (not supported everywhere; the data itself is already synced)
+    private void syncDirectory() {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ex) {
+            log.debug("Directory sync not supported for {}: {}", dir, ex.getMessage());
+        }
+    }
+
+    // ================= READING =================
+
+    /**
+     * Newest-first rows strictly before (date, id) (no bound when date is null),
+     * of one account (bank_account_id) and/or one bank, or of everything when both are null.
+     */
+    public List<ArchivedTransaction> findBefore(Long accountId, Long bankId, LocalDateTime date, Long id, int limit) {
+        List<ArchivedTransaction> result = new ArrayList<>();
+        if (limit <= 0) {
+            return result;
+        }
+
+        for (Summary segment : segments.descendingMap().values()) {
+            if (date != null && segment.minDate().isAfter(date)) {
+                continue;
+            }
+            List<Group> segmentGroups = segment.groups();
+            for (int g = segmentGroups.size() - 1; g >= 0; g--) {
+                Group group = segmentGroups.get(g);
+                if ((date != null && group.minDate().isAfter(date)) || !mightMatch(group, accountId, bankId)) {
+                    continue;
+                }
+
+                List<ArchivedTransaction> rows = cachedGroup(segment, g);
+                for (int i = rows.size() - 1; i >= 0; i--) {
+                    ArchivedTransaction row = rows.get(i);
+                    if (matches(row, accountId, bankId) && (date == null || isBefore(row, date, id))) {
+                        result.add(row);
+                        if (result.size() >= limit) {
+                            return result;
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Rows in [from, to), optionally of one bank, oldest first; handed over one row
+     * group at a time. Bypasses the group cache (exports would only flush it).
+     */
+    public void forEachGroupInRange(LocalDateTime from, LocalDateTime to, Long bankId,
+                                    Consumer<List<ArchivedTransaction>> action) {
+        for (Summary segment : segments.values()) {
+            if (segment.maxDate().isBefore(from) || !segment.minDate().isBefore(to)) {
+                continue;
+            }
+            for (Group group : segment.groups()) {
+                if (group.maxDate().isBefore(from) || !group.minDate().isBefore(to)
+                        || !mightMatch(group, null, bankId)) {
+                    continue;
+                }
+                List<ArchivedTransaction> rows = read(segment.path(), group).stream()
+                        .filter(row -> matches(row, null, bankId)
+                                && !row.transactionDate().isBefore(from)
+                                && row.transactionDate().isBefore(to))
+                        .toList();
+                if (!rows.isEmpty()) {
+                    action.accept(rows);
+                }
+            }
+        }
+    }
+
+    private List<ArchivedTransaction> cachedGroup(Summary segment, int index) {
+        return groups.get(new GroupKey(segment.path(), index), key -> read(segment.path(), segment.groups().get(index)));
+    }
+
+    private static List<ArchivedTransaction> read(Path path, Group group) {
+        try {
+            return TransactionSegmentFile.readGroup(path, group);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to read archive segment " + path, ex);
+        }
+    }
+
+    private static boolean mightMatch(Group group, Long accountId, Long bankId) {
+        return (accountId == null || group.mightHaveAccount(accountId))
+                && (bankId == null || group.hasBank(bankId));
+    }
+
+    private static boolean matches(ArchivedTransaction row, Long accountId, Long bankId) {
+        return (accountId == null || accountId.equals(row.bankAccountId()))
+                && (bankId == null || bankId.equals(row.bankId()));
+    }
+
+    // (row.date, row.id) < (date, id)
+    private static boolean isBefore(ArchivedTransaction row, LocalDateTime date, Long id) {
+        int byDate = row.transactionDate().compareTo(date);
+        return byDate < 0 || (byDate == 0 && id != null && row.id() < id);
+    }
+
+    private static YearMonth monthOf(Path file) {
+        try {
+            return YearMonth.parse(file.getFileName().toString(), FILE_NAME);
+        } catch (DateTimeParseException ex) {
+            return null;
+        }
+    }
+}
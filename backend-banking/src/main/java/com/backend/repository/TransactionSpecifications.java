@@ -0,0 +1,90 @@
+package com.backend.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.backend.entity.BankAccount;
+import com.backend.entity.Transaction;
+
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+
+/**
+ * Building blocks for the bank transaction search. A null argument means "no filter"
+ * (the spec is skipped), so callers can chain every filter unconditionally.
+ *
+ * Index support: db/migration/V3__transaction_search_indexes.sql, plus the trigram
+ * index on lower(purpose) in db/vendor/postgresql.
+ */
+public final class TransactionSpecifications {
+
+    private TransactionSpecifications() {
+    }
+
+    /**
+     * Transactions of one bank. Account, bank and customer are fetch-joined for the
+     * row query (the DTO needs them) and plain-joined for the count query. The bank's
+     * manager is fetched too, as Bank loads it eagerly otherwise.
+     */
+    @SuppressWarnings("unchecked")
+    public static Specification<Transaction> inBank(Long bankId) {
+        return (root, query, cb) -> {
+            Join<Transaction, BankAccount> account;
+            if (Long.class == query.getResultType() || long.class == query.getResultType()) {
+                account = root.join("bankAccount");
+            } else {
+                Fetch<Transaction, BankAccount> fetch = root.fetch("bankAccount");
+                fetch.fetch("bank").fetch("bankManager", JoinType.LEFT);
+                fetch.fetch("customer", JoinType.LEFT);
+                account = (Join<Transaction, BankAccount>) fetch;
+            }
+            return cb.equal(account.get("bank").get("id"), bankId);
+        };
+    }
+
+    public static Specification<Transaction> hasType(String type) {
+        return type == null ? null : (root, query, cb) -> cb.equal(root.get("type"), type);
+    }
+
+    // [from, to)
+    public static Specification<Transaction> dateFrom(LocalDateTime from) {
+        return from == null ? null
+                : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("transactionDate"), from);
+    }
+
+    public static Specification<Transaction> dateBefore(LocalDateTime to) {
+        return to == null ? null
+                : (root, query, cb) -> cb.lessThan(root.get("transactionDate"), to);
+    }
+
+    public static Specification<Transaction> amountAtLeast(BigDecimal min) {
+        return min == null ? null
+                : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("amount"), min);
+    }
+
+    public static Specification<Transaction> amountAtMost(BigDecimal max) {
+        return max == null ? null
+                : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("amount"), max);
+    }
+
+    // Other side of a transfer (recipient on the debit row, sender on the credit row)
+    public static Specification<Transaction> counterparty(String accountNumber) {
+        return accountNumber == null ? null
+                : (root, query, cb) -> cb.equal(root.get("recipientAccount"), accountNumber);
+    }
+
+    public static Specification<Transaction> purposeContains(String text) {
+        if (text == null) {
+            return null;
+        }
+        String pattern = "%" + text.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("purpose")), pattern, '\\');
+    }
+}
@@ -0,0 +1,165 @@
+package com.backend.service;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.backend.dto.AccountRef;
+import com.backend.entity.BankAccount;
+import com.backend.repository.BankAccountRepository;
+
+/**
+ * Resolves account number (+ IFSC) and customer email to the account id, so transfers and
+ * bank-desk operations go straight to locking / updating the row by primary key.
+ * Backed by AccountDirectoryIndex, loaded at startup. An account it does not know yet
+ * (added on another node, or before the load finished) is looked up in the database and
+ * remembered. BankAccountService and CustomerService report new, locked / unlocked and
+ * deleted accounts, which are applied once their transaction commits; other nodes drop
+ * the account when CacheInvalidationBus tells them, and look it up again on next use.
+ *
+ * Ids and account numbers never change, so a routed id is always right; the status is
+ * informational (money rules are checked on the locked row, never against the directory).
+ */
+@Service
+public class AccountDirectory {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountDirectory.class);
+
+    private final BankAccountRepository bankAccountRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final TransactionTemplate transactionTemplate;
+    private final AccountDirectoryIndex index = new AccountDirectoryIndex();
+    private final boolean enabled;
+
+    public AccountDirectory(
+            BankAccountRepository bankAccountRepository,
+            CacheInvalidationBus cacheInvalidationBus,
+            PlatformTransactionManager transactionManager,
+            @Value("${banking.accounts.directory.enabled:true}") boolean enabled
+    ) {
+        this.bankAccountRepository = bankAccountRepository;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        if (enabled) {
+            cacheInvalidationBus.subscribe(CacheInvalidationBus.Kind.ACCOUNT, index::evict);
+        }
+    }
+
+    // ================= LOOKUP =================
+
+    public Optional<AccountRef> byAccountNumber(String accountNumber) {
+        if (accountNumber == null) {
+            return Optional.empty();
+        }
+        return resolve(index.byAccountNumber(accountNumber),
+                () -> bankAccountRepository.findRefByAccountNumber(accountNumber));
+    }
+
+    public Optional<AccountRef> byAccountNumberAndIfsc(String accountNumber, String ifscCode) {
+        return byAccountNumber(accountNumber).filter(account -> account.ifscCode() != null
+                && account.ifscCode().equals(ifscCode));
+    }
+
+    public Optional<AccountRef> byCustomerEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        return resolve(index.byCustomerEmail(email),
+                () -> bankAccountRepository.findRefByCustomerEmail(email));
+    }
+
+    private Optional<AccountRef> resolve(AccountRef known, Supplier<Optional<AccountRef>> query) {
+        if (!enabled) {
+            return query.get();
+        }
+        if (known != null) {
+            return Optional.of(known);
+        }
+        Optional<AccountRef> found = query.get();
+        found.ifPresent(index::putIfAbsent);
+        return found;
+    }
+
+    // ================= KEEPING UP =================
+
+    // Called inside the transaction that creates / changes / deletes the account
+    public void added(BankAccount account) {
+        AccountRef ref = refOf(account);
+        publish(account);
+        afterCommit(() -> index.put(ref));
+    }
+
+    public void statusChanged(BankAccount account) {
+        String accountNumber = account.getAccountNumber();
+        String status = account.getStatus();
+        publish(account);
+        afterCommit(() -> index.updateStatus(accountNumber, status));
+    }
+
+    public void deleted(BankAccount account) {
+        AccountRef ref = refOf(account);
+        publish(account);
+        afterCommit(() -> index.remove(ref));
+    }
+
+    // Other nodes may cache the account even when this one does not
+    private void publish(BankAccount account) {
+        cacheInvalidationBus.publish(CacheInvalidationBus.Kind.ACCOUNT, account.getAccountNumber());
+    }
+
+    private static AccountRef refOf(BankAccount account) {
+        return new AccountRef(account.getId(), account.getAccountNumber(), account.getIfscCode(),
+                account.getCustomer() != null ? account.getCustomer().getEmail() : null,
+                account.getStatus());
+    }
+
+    private void afterCommit(Runnable change) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        index.startRebuild();
+        try {
+            // read-write on purpose: a lagging replica could miss accounts opened just before
+            int accounts = transactionTemplate.execute(status -> {
+                try (Stream<AccountRef> rows = bankAccountRepository.streamAccountRefs()) {
+                    return index.finishRebuild(rows::iterator);
+                }
+            });
+            log.info("Account directory: {} accounts in {} ms",
+                    accounts, (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException ex) {
+            index.abortRebuild();
+            throw ex;
+        }
+    }
+}
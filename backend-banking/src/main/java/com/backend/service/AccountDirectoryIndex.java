@@ -0,0 +1,308 @@
+package com.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+import com.backend.dto.AccountRef;
+
+/**
+ * Account number → account and customer email → account, for routing transfers and
+ * bank-desk operations to a primary key without a query.
+ *
+ * Each map is an open-addressing table (linear probing) over parallel arrays: probing
+ * compares precomputed 64-bit key hashes (long[]), and only a matching hash is confirmed
+ * with String.equals, so a hash collision can never route to the wrong account. Entries
+ * are immutable AccountRefs; a status change replaces the entry.
+ *
+ * Thread-safe: lookups are lock-free optimistic reads (StampedLock) that fall back to a
+ * read lock if a change raced them; changes and rebuild swaps take the write lock.
+ */
+public class AccountDirectoryIndex {
+
+    private static final long EMPTY = 0;
+    private static final long DELETED = 1;
+    private static final int MIN_CAPACITY = 16;
+
+    private static final class Table {
+        final long[] hashes;
+        final String[] keys;
+        final AccountRef[] values;
+        final int mask;
+        int size;
+        int used;   // size + deleted slots; the table grows before this passes half
+
+        // At most a quarter full when built, so a table grows by doubling
+        Table(int expected) {
+            int capacity = MIN_CAPACITY;
+            while (capacity < expected * 4) {
+                capacity <<= 1;
+            }
+            hashes = new long[capacity];
+            keys = new String[capacity];
+            values = new AccountRef[capacity];
+            mask = capacity - 1;
+        }
+
+        // Caller validates the stamp; a racing change may make this return garbage or null
+        AccountRef get(String key, long hash) {
+            for (int i = (int) hash & mask, probes = 0; probes <= mask; i = (i + 1) & mask, probes++) {
+                long h = hashes[i];
+                if (h == EMPTY) {
+                    return null;
+                }
+                if (h == hash && key.equals(keys[i])) {
+                    return values[i];
+                }
+            }
+            return null;
+        }
+
+        void put(String key, long hash, AccountRef value) {
+            int free = -1;
+            int i = (int) hash & mask;
+            while (true) {
+                long h = hashes[i];
+                if (h == EMPTY) {
+                    break;
+                }
+                if (h == DELETED) {
+                    if (free < 0) {
+                        free = i;
+                    }
+                } else if (h == hash && key.equals(keys[i])) {
+                    values[i] = value;
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            if (free < 0) {
+                free = i;
+                used++;
+            }
+            hashes[free] = hash;
+            keys[free] = key;
+            values[free] = value;
+            size++;
+        }
+
+        void remove(String key, long hash) {
+            for (int i = (int) hash & mask; hashes[i] != EMPTY; i = (i + 1) & mask) {
+                if (hashes[i] == hash && key.equals(keys[i])) {
+                    hashes[i] = DELETED;
+                    keys[i] = null;
+                    values[i] = null;
+                    size--;
+                    return;
+                }
+            }
+        }
+
+        boolean needsGrowth() {
+            return (used + 1) * 2 > hashes.length;
+        }
+
+        Table rehashed() {
+            Table bigger = new Table(size + 1);
+            for (int i = 0; i < hashes.length; i++) {
+                if (hashes[i] != EMPTY && hashes[i] != DELETED) {
+                    bigger.put(keys[i], hashes[i], values[i]);
+                }
+            }
+            return bigger;
+        }
+    }
+
+    private final StampedLock lock = new StampedLock();
+
+    private Table byNumber = new Table(0);
+    private Table byEmail = new Table(0);
+    private volatile boolean ready;
+    // changes made while a rebuild is loading, replayed onto the new tables before the swap
+    private List<Consumer<AccountDirectoryIndex>> pendingChanges;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return byNumber.size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // ================= LOOKUP =================
+
+    public AccountRef byAccountNumber(String accountNumber) {
+        return accountNumber == null ? null : lookup(true, accountNumber);
+    }
+
+    public AccountRef byCustomerEmail(String email) {
+        return email == null ? null : lookup(false, email);
+    }
+
+    private AccountRef lookup(boolean number, String key) {
+        long hash = hash(key);
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            AccountRef found = (number ? byNumber : byEmail).get(key, hash);
+            if (lock.validate(stamp)) {
+                return found;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return (number ? byNumber : byEmail).get(key, hash);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // ================= CHANGES =================
+
+    public void put(AccountRef account) {
+        change(index -> index.putNow(account));
+    }
+
+    /** For lookups that went to the database: never overwrites what a commit reported. */
+    public void putIfAbsent(AccountRef account) {
+        change(index -> {
+            if (index.byNumber.get(account.accountNumber(), hash(account.accountNumber())) == null) {
+                index.putNow(account);
+            }
+        });
+    }
+
+    public void remove(AccountRef account) {
+        change(index -> index.removeNow(account));
+    }
+
+    /** Drops whatever is indexed under the number (changed elsewhere: the next lookup reloads it). */
+    public void evict(String accountNumber) {
+        change(index -> {
+            AccountRef current = index.byNumber.get(accountNumber, hash(accountNumber));
+            if (current != null) {
+                index.removeNow(current);
+            }
+        });
+    }
+
+    /** Replaces the status of an indexed account; unknown accounts are left alone. */
+    public void updateStatus(String accountNumber, String status) {
+        change(index -> {
+            AccountRef current = index.byNumber.get(accountNumber, hash(accountNumber));
+            if (current != null) {
+                index.putNow(current.withStatus(status));
+            }
+        });
+    }
+
+    private void change(Consumer<AccountDirectoryIndex> change) {
+        long stamp = lock.writeLock();
+        try {
+            change.accept(this);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Under the write lock
+    private void putNow(AccountRef account) {
+        AccountRef previous = byNumber.get(account.accountNumber(), hash(account.accountNumber()));
+        if (previous != null && previous.customerEmail() != null
+                && !previous.customerEmail().equals(account.customerEmail())) {
+            byEmail.remove(previous.customerEmail(), hash(previous.customerEmail()));
+        }
+        byNumber = insert(byNumber, account.accountNumber(), account);
+        if (account.customerEmail() != null) {
+            byEmail = insert(byEmail, account.customerEmail(), account);
+        }
+    }
+
+    private void removeNow(AccountRef account) {
+        AccountRef current = byNumber.get(account.accountNumber(), hash(account.accountNumber()));
+        if (current == null || current.id() != account.id()) {
+            return;   // already replaced by a newer account with that number
+        }
+        byNumber.remove(current.accountNumber(), hash(current.accountNumber()));
+        if (current.customerEmail() != null) {
+            byEmail.remove(current.customerEmail(), hash(current.customerEmail()));
+        }
+    }
+
+    private static Table insert(Table table, String key, AccountRef value) {
+        Table target = table.needsGrowth() ? table.rehashed() : table;
+        target.put(key, hash(key), value);
+        return target;
+    }
+
+    // ================= REBUILD =================
+
+    /** Call before reading the accounts for {@link #finishRebuild}. */
+    public void startRebuild() {
+        long stamp = lock.writeLock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Swaps in tables built from every account (read after startRebuild); changes made
+     * meanwhile are replayed on top. Returns the number of accounts indexed.
+     */
+    public int finishRebuild(Iterable<AccountRef> accounts) {
+        AccountDirectoryIndex fresh = new AccountDirectoryIndex();
+        int count = 0;
+        for (AccountRef account : accounts) {
+            fresh.putNow(account);
+            count++;
+        }
+
+        long stamp = lock.writeLock();
+        try {
+            if (pendingChanges != null) {
+                pendingChanges.forEach(change -> change.accept(fresh));
+            }
+            pendingChanges = null;
+            byNumber = fresh.byNumber;
+            byEmail = fresh.byEmail;
+            ready = true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return count;
+    }
+
+    public void abortRebuild() {
+        long stamp = lock.writeLock();
+        try {
+            pendingChanges = null;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // ================= HASHING =================
+
+    // 64-bit FNV-1a over the chars, finished with a murmur3 mix; 0 and 1 mark free slots
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (h == EMPTY || h == DELETED) ? h + 2 : h;
+    }
+}
@@ -0,0 +1,202 @@
+package com.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.backend.dto.AccountRef;
+import com.backend.dto.AmountRequestDTO;
+import com.backend.dto.TransferRequest;
+import com.backend.dto.TransferResultDTO;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Optional single-writer execution mode for hot accounts (banking.sharding.enabled).
+ *
+ * Every mutation is hashed by account number onto one of N single-threaded shards,
+ * and each shard drains whatever is waiting (up to max-batch) and commits it as one
+ * micro-batch transaction. Entry points return the task's future, which completes once
+ * its batch has committed (or rejected it); controllers wait on it through
+ * IdempotencyService.executeDetached, so the REST API stays synchronous.
+ *
+ * Transfers are routed by the sender (the side that can overdraw), so only debits and
+ * cash operations are single-writer. The receiver is credited from whichever shard the
+ * sender lives on: a popular receiver is still written by several shards (and by other
+ * nodes, whose shards are their own), and those writers queue on its row lock as before.
+ * That stays correct because every batch locks all of its accounts with SELECT ... FOR
+ * UPDATE in id order before changing them: no lost updates, no lock-order deadlock.
+ * Splitting a transfer into a debit and a credit leg would make receivers single-writer
+ * too, but leave money in flight between two commits, which an in-memory queue can lose.
+ */
+@Service
+public class AccountShardEngine {
+
+    private final TransferService transferService;
+    private final BankAccountService bankAccountService;
+    private final AccountDirectory accountDirectory;
+
+    private final boolean enabled;
+    private final int shardCount;
+    private final int maxBatch;
+    private final long timeoutMs;
+
+    private final List<Shard> shards = new ArrayList<>();
+
+    public AccountShardEngine(
+            TransferService transferService,
+            BankAccountService bankAccountService,
+            AccountDirectory accountDirectory,
+            @Value("${banking.sharding.enabled:false}") boolean enabled,
+            @Value("${banking.sharding.shards:8}") int shardCount,
+            @Value("${banking.sharding.max-batch:100}") int maxBatch,
+            @Value("${banking.sharding.timeout-ms:30000}") long timeoutMs
+    ) {
+        this.transferService = transferService;
+        this.bankAccountService = bankAccountService;
+        this.accountDirectory = accountDirectory;
+        this.enabled = enabled;
+        this.shardCount = Math.max(1, shardCount);
+        this.maxBatch = Math.max(1, maxBatch);
+        this.timeoutMs = timeoutMs;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        for (int i = 0; i < shardCount; i++) {
+            Shard shard = new Shard();
+            Thread thread = new Thread(shard, "account-shard-" + i);
+            thread.setDaemon(true);
+            shard.thread = thread;
+            shards.add(shard);
+            thread.start();
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        shards.forEach(shard -> shard.thread.interrupt());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // How long callers wait for a task before answering "still in progress"
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    // ================= ENTRY POINTS (complete when committed) =================
+
+    public CompletableFuture<Void> transfer(TransferRequest req) {
+        String routingKey = req.getSenderAccountNumber() != null ? req.getSenderAccountNumber() : "";
+        return submit(routingKey, new Task(req, null));
+    }
+
+    // type = DEPOSIT / WITHDRAW
+    public CompletableFuture<Void> applyCash(String type, AmountRequestDTO req) {
+        String accountNumber = accountDirectory.byCustomerEmail(req.getEmail())
+                .map(AccountRef::accountNumber)
+                .orElseThrow(() -> new RuntimeException("Account not found"));
+
+        return submit(accountNumber, new Task(null, new CashOperation(type, req.getEmail(), req.getAmount())));
+    }
+
+    private CompletableFuture<Void> submit(String routingKey, Task task) {
+        if (!enabled) {
+            throw new IllegalStateException("Sharded execution is disabled");
+        }
+        shards.get(Math.floorMod(routingKey.hashCode(), shards.size())).queue.add(task);
+        return task.result();
+    }
+
+    // ================= SHARD =================
+
+    // Exactly one of transfer / cash is set
+    private record Task(TransferRequest transfer, CashOperation cash, CompletableFuture<Void> result) {
+        Task(TransferRequest transfer, CashOperation cash) {
+            this(transfer, cash, new CompletableFuture<>());
+        }
+    }
+
+    private class Shard implements Runnable {
+
+        private final BlockingQueue<Task> queue = new LinkedBlockingQueue<>();
+        private Thread thread;
+
+        @Override
+        public void run() {
+            List<Task> batch = new ArrayList<>(maxBatch);
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    batch.add(queue.take());
+                } catch (InterruptedException ex) {
+                    return;
+                }
+                queue.drainTo(batch, maxBatch - 1);
+
+                // Consecutive tasks of the same kind form one transaction; order is kept
+                int from = 0;
+                while (from < batch.size()) {
+                    boolean transfers = batch.get(from).transfer() != null;
+                    int to = from;
+                    while (to < batch.size() && (batch.get(to).transfer() != null) == transfers) {
+                        to++;
+                    }
+                    List<Task> run = batch.subList(from, to);
+                    if (transfers) {
+                        runTransfers(run);
+                    } else {
+                        runCash(run);
+                    }
+                    from = to;
+                }
+                batch.clear();
+            }
+        }
+
+        private void runTransfers(List<Task> run) {
+            try {
+                List<TransferResultDTO> results =
+                        transferService.transferBatch(run.stream().map(Task::transfer).toList());
+                for (int i = 0; i < run.size(); i++) {
+                    complete(run.get(i), "SUCCESS".equals(results.get(i).getStatus())
+                            ? null
+                            : results.get(i).getMessage());
+                }
+            } catch (RuntimeException ex) {
+                run.forEach(task -> task.result().completeExceptionally(ex));
+            }
+        }
+
+        private void runCash(List<Task> run) {
+            try {
+                List<String> results =
+                        bankAccountService.applyCashBatch(run.stream().map(Task::cash).toList());
+                for (int i = 0; i < run.size(); i++) {
+                    complete(run.get(i), results.get(i));
+                }
+            } catch (RuntimeException ex) {
+                run.forEach(task -> task.result().completeExceptionally(ex));
+            }
+        }
+
+        private void complete(Task task, String rejection) {
+            if (rejection == null) {
+                task.result().complete(null);
+            } else {
+                task.result().completeExceptionally(new RuntimeException(rejection));
+            }
+        }
+    }
+}
@@ -1,45 +1,93 @@
 package com.backend.service;
 
+import com.backend.config.RetryOnConflict;
+import com.backend.config.TransactionIdGenerator;
 import com.backend.dto.*;
 import com.backend.entity.*;
 import com.backend.repository.*;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class BankAccountService {
 
-    private final BankManagerRepository bankManagerRepository;
+    private final ManagerDirectory managerDirectory;
+    private final BankRepository bankRepository;
+    private final BankDirectory bankDirectory;
+    private final AccountDirectory accountDirectory;
     private final CustomerRepository customerRepository;
     private final BankAccountRepository bankAccountRepository;
     private final TransactionRepository txnRepo;
+    private final TransactionBatchRepository txnBatchRepo;
+    private final BankDailyStatsRepository dailyStatsRepo;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final TransactionArchiveService archiveService;
+    private final int maxPageSize;
+    private final int maxAccountPageSize;
+
+    // API sort keys → JPQL paths of BankAccountRepository#findSummaries
+    private static final Map<String, String> ACCOUNT_SORT_PATHS = Map.of(
+            "accountNumber", "a.accountNumber",
+            "balance", "a.balance",
+            "status", "a.status",
+            "createdOn", "a.createdOn",
+            "bank", "b.bankName",
+            "customer", "c.name"
+    );
     
 
     public BankAccountService(
-            BankManagerRepository bankManagerRepository,
+            ManagerDirectory managerDirectory,
+            BankRepository bankRepository,
+            BankDirectory bankDirectory,
+            AccountDirectory accountDirectory,
             CustomerRepository customerRepository,
             BankAccountRepository bankAccountRepository,
-            TransactionRepository txnRepo
+            TransactionRepository txnRepo,
+            TransactionBatchRepository txnBatchRepo,
+            BankDailyStatsRepository dailyStatsRepo,
+            TransactionIdGenerator transactionIdGenerator,
+            TransactionArchiveService archiveService,
+            @Value("${banking.transactions.max-page-size:500}") int maxPageSize,
+            @Value("${banking.accounts.max-page-size:500}") int maxAccountPageSize
     ) {
-        this.bankManagerRepository = bankManagerRepository;
+        this.managerDirectory = managerDirectory;
+        this.bankRepository = bankRepository;
+        this.bankDirectory = bankDirectory;
+        this.accountDirectory = accountDirectory;
         this.customerRepository = customerRepository;
         this.bankAccountRepository = bankAccountRepository;
         this.txnRepo = txnRepo;
+        this.txnBatchRepo = txnBatchRepo;
+        this.dailyStatsRepo = dailyStatsRepo;
+        this.transactionIdGenerator = transactionIdGenerator;
+        this.archiveService = archiveService;
+        this.maxPageSize = maxPageSize;
+        this.maxAccountPageSize = maxAccountPageSize;
     }
 
     /* ================= FETCH CUSTOMER + BANK INFO ================= */
+    @Transactional(readOnly = true)
     public CustomerAccountInfoDTO getCustomerInfo(String managerEmail, String customerEmail) {
 
-        BankManager manager = bankManagerRepository.findByEmail(managerEmail)
+        ManagerBank manager = managerDirectory.find(managerEmail)
                 .orElseThrow(() -> new RuntimeException("Manager not found"));
 
-        Bank bank = manager.getBank();
-        if (bank == null) {
+        if (manager.bankId() == null) {
             throw new RuntimeException("Manager not linked to bank");
         }
 
@@ -47,8 +95,8 @@ public class BankAccountService {
                 .orElseThrow(() -> new RuntimeException("Customer not found"));
 
         CustomerAccountInfoDTO dto = new CustomerAccountInfoDTO();
-        dto.setBankName(bank.getBankName());
-        dto.setBankCode(bank.getBankCode());
+        dto.setBankName(manager.bankName());
+        dto.setBankCode(manager.bankCode());
         dto.setCustomerName(customer.getName());
         dto.setCustomerEmail(customer.getEmail());
         dto.setCustomerContact(customer.getContact());
@@ -57,13 +105,13 @@ public class BankAccountService {
     }
 
     /* ================= ADD BANK ACCOUNT ================= */
+    @Transactional
     public void addAccount(String managerEmail, AddAccountRequest request) {
 
-        BankManager manager = bankManagerRepository.findByEmail(managerEmail)
+        ManagerBank manager = managerDirectory.find(managerEmail)
                 .orElseThrow(() -> new RuntimeException("Manager not found"));
 
-        Bank bank = manager.getBank();
-        if (bank == null) {
+        if (manager.bankId() == null) {
             throw new RuntimeException("Manager not linked to bank");
         }
 
@@ -79,15 +127,18 @@ public class BankAccountService {
         account.setIfscCode(request.getIfscCode());
         account.setAccountType(request.getAccountType());
         account.setCustomer(customer);
-        account.setBank(bank);
+        account.setBank(bankRepository.getReferenceById(manager.bankId()));
         account.setBalance(BigDecimal.ZERO);
         account.setStatus("ACTIVE");
         account.setCreatedOn(LocalDateTime.now());
 
         bankAccountRepository.save(account);
+        accountDirectory.added(account);
     }
 
     /* ================= DEACTIVATE ACCOUNT ================= */
+    @Transactional
+    @RetryOnConflict
     public String deactivateAccount(String email) {
 
         BankAccount account = bankAccountRepository.findByCustomer_Email(email)
@@ -95,18 +146,20 @@ public class BankAccountService {
 
         account.setStatus("INACTIVE");
         bankAccountRepository.save(account);
+        accountDirectory.statusChanged(account);
 
         return "Account deactivated successfully";
     }
 
     /* ================= ACCOUNT DETAILS ================= */
+    @Transactional(readOnly = true)
     public AccountDetailResponseDTO getAccountDetail(String email) {
 
         BankAccount acc = bankAccountRepository.findByCustomer_Email(email)
                 .orElseThrow(() -> new RuntimeException("Account not found"));
 
         AccountDetailResponseDTO dto = new AccountDetailResponseDTO();
-        dto.bankName = acc.getBank().getBankName();
+        dto.bankName = bankDirectory.bankName(acc.getBank().getId());
         dto.accountNo = acc.getAccountNumber();
         dto.ifsc = acc.getIfscCode();
         dto.customerName = acc.getCustomer().getName();
@@ -119,6 +172,7 @@ public class BankAccountService {
     }
 
     /* ================= FETCH TRANSACTIONS ================= */
+    @Transactional(readOnly = true)
     public List<TransactionResponseDTO> getTransactions(String email) {
 
         BankAccount acc = bankAccountRepository.findByCustomer_Email(email)
@@ -127,69 +181,189 @@ public class BankAccountService {
         return txnRepo
                 .findByBankAccount_IdOrderByTransactionDateDesc(acc.getId())
                 .stream()
-                .map(t -> {
-                    TransactionResponseDTO dto = new TransactionResponseDTO();
-                    dto.setType(t.getType());
-                    dto.setAmount(t.getAmount());
-                    dto.setBalance(t.getBalanceAfter());
-                    dto.setDate(t.getTransactionDate());
-                    return dto;
-                })
+                .map(BankAccountService::toHistoryDto)
                 .toList();
     }
 
+    // Keyset page: cost depends on the page size, not on how long the history is
+    @Transactional(readOnly = true)
+    public CursorPage<TransactionResponseDTO> getTransactions(String email, Integer limit, String cursor) {
+
+        Long accountId = accountDirectory.byCustomerEmail(email)
+                .map(AccountRef::id)
+                .orElseThrow(() -> new RuntimeException("Account not found"));
+
+        int size = pageSize(limit);
+        Limit fetch = Limit.of(size + 1);
+
+        TransactionCursor after = (cursor == null || cursor.isBlank()) ? null : TransactionCursor.decode(cursor);
+        List<Transaction> rows = after == null
+                ? txnRepo.findPageByAccountId(accountId, fetch)
+                : txnRepo.findPageByAccountIdBefore(accountId, after.date(), after.id(), fetch);
+
+        // older pages continue into the archived months
+        rows = archiveService.continueHistory(rows, fetch.max(), after, accountId);
+
+        return TransactionCursor.page(rows, size, BankAccountService::toHistoryDto);
+    }
+
+    private int pageSize(Integer limit) {
+        if (limit == null || limit < 1) {
+            return maxPageSize;
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    private static TransactionResponseDTO toHistoryDto(Transaction t) {
+        TransactionResponseDTO dto = new TransactionResponseDTO();
+        dto.setType(t.getType());
+        dto.setAmount(t.getAmount());
+        dto.setBalance(t.getBalanceAfter());
+        dto.setDate(t.getTransactionDate());
+        return dto;
+    }
+
     /* ================= DEPOSIT ================= */
+    @Transactional
+    @RetryOnConflict
     public void deposit(AmountRequestDTO req) {
 
-        BankAccount acc = bankAccountRepository.findByCustomer_Email(req.getEmail())
+        validateAmount(req.getAmount());
+
+        Long accountId = accountDirectory.byCustomerEmail(req.getEmail())
+                .map(AccountRef::id)
                 .orElseThrow(() -> new RuntimeException("Account not found"));
 
-        if ("INACTIVE".equalsIgnoreCase(acc.getStatus())) {
+        // Single conditional UPDATE (no read-modify-write → no lost updates)
+        if (bankAccountRepository.creditIfActive(accountId, req.getAmount()) == 0) {
+            if (bankAccountRepository.findStatusById(accountId) == null) {
+                throw new RuntimeException("Account not found"); // deleted since it was routed
+            }
             throw new RuntimeException("Account is inactive. Deposit not allowed");
         }
 
-        acc.setBalance(acc.getBalance().add(req.getAmount()));
-
-        Transaction tx = new Transaction();
-        tx.setTransactionId(UUID.randomUUID().toString());
-        tx.setType("DEPOSIT");
-        tx.setAmount(req.getAmount());
-        tx.setBalanceAfter(acc.getBalance());
-        tx.setBankAccount(acc);
-        tx.setTransactionDate(LocalDateTime.now());
-
-        txnRepo.save(tx);
-        bankAccountRepository.save(acc);
+        recordTransaction(accountId, "DEPOSIT", req.getAmount());
     }
 
     /* ================= WITHDRAW ================= */
+    @Transactional
+    @RetryOnConflict
     public void withdraw(AmountRequestDTO req) {
 
-        BankAccount acc = bankAccountRepository.findByCustomer_Email(req.getEmail())
-                .orElseThrow(() -> new RuntimeException("Account not found"));
+        validateAmount(req.getAmount());
 
-        if ("INACTIVE".equalsIgnoreCase(acc.getStatus())) {
-            throw new RuntimeException("Account is inactive. Withdraw not allowed");
-        }
+        Long accountId = accountDirectory.byCustomerEmail(req.getEmail())
+                .map(AccountRef::id)
+                .orElseThrow(() -> new RuntimeException("Account not found"));
 
-        if (acc.getBalance().compareTo(req.getAmount()) < 0) {
+        if (bankAccountRepository.debitIfSufficient(accountId, req.getAmount()) == 0) {
+            // Nothing updated → work out which condition failed
+            String status = bankAccountRepository.findStatusById(accountId);
+            if (status == null) {
+                throw new RuntimeException("Account not found"); // deleted since it was routed
+            }
+            if (!"ACTIVE".equals(status)) {
+                throw new RuntimeException("Account is inactive. Withdraw not allowed");
+            }
             throw new RuntimeException("Insufficient balance");
         }
 
-        acc.setBalance(acc.getBalance().subtract(req.getAmount()));
+        recordTransaction(accountId, "WITHDRAW", req.getAmount());
+    }
+
+    // A negative amount would turn the conditional credit into an unchecked debit (and vice versa)
+    private static void validateAmount(BigDecimal amount) {
+        if (amount == null || amount.signum() <= 0) {
+            throw new RuntimeException("Amount must be greater than zero");
+        }
+    }
 
+    // Row is still locked by our UPDATE, so the balance read here is exactly ours
+    private void recordTransaction(Long accountId, String type, BigDecimal amount) {
         Transaction tx = new Transaction();
-        tx.setTransactionId(UUID.randomUUID().toString());
-        tx.setType("WITHDRAW");
-        tx.setAmount(req.getAmount());
-        tx.setBalanceAfter(acc.getBalance());
-        tx.setBankAccount(acc);
+        tx.setTransactionId(transactionIdGenerator.nextId());
+        tx.setType(type);
+        tx.setAmount(amount);
+        tx.setBalanceAfter(bankAccountRepository.findBalanceById(accountId));
+        tx.setBankAccount(bankAccountRepository.getReferenceById(accountId));
         tx.setTransactionDate(LocalDateTime.now());
 
         txnRepo.save(tx);
-        bankAccountRepository.save(acc);
+        dailyStatsRepo.add(accountId, tx.getTransactionDate(), type, amount);
+    }
+
+    /* ================= CASH BATCH ================= */
+    // Many deposits/withdrawals in ONE transaction; a rejected op doesn't abort the rest.
+    // Returns one entry per op: null = applied, otherwise the rejection reason.
+    @Transactional
+    @RetryOnConflict
+    public List<String> applyCashBatch(List<CashOperation> ops) {
+
+        // ================= LOCK EVERY INVOLVED ACCOUNT (ONE QUERY, ID ORDER) =================
+        Set<String> emails = new HashSet<>();
+        for (CashOperation op : ops) {
+            emails.add(op.email());
+        }
+
+        Map<String, BankAccount> accounts = new HashMap<>();
+        for (BankAccount acc : bankAccountRepository.findAllByCustomerEmailInForUpdate(emails)) {
+            accounts.put(acc.getCustomer().getEmail(), acc);
+        }
+
+        // ================= APPLY IN ARRIVAL ORDER =================
+        List<String> results = new ArrayList<>(ops.size());
+        List<Transaction> ledger = new ArrayList<>(ops.size());
+
+        for (CashOperation op : ops) {
+            BankAccount acc = accounts.get(op.email());
+            String rejection = checkCashOperation(acc, op);
+            results.add(rejection);
+            if (rejection != null) {
+                continue;
+            }
+
+            acc.setBalance("DEPOSIT".equals(op.type())
+                    ? acc.getBalance().add(op.amount())
+                    : acc.getBalance().subtract(op.amount()));
+
+            Transaction tx = new Transaction();
+            tx.setTransactionId(transactionIdGenerator.nextId());
+            tx.setType(op.type());
+            tx.setAmount(op.amount());
+            tx.setBalanceAfter(acc.getBalance());
+            tx.setBankAccount(acc);
+            tx.setTransactionDate(LocalDateTime.now());
+            ledger.add(tx);
+        }
+
+        txnBatchRepo.insertAll(ledger);
+        dailyStatsRepo.addAll(ledger);
+        return results;
     }
+
+    // Same rules (and messages) as deposit / withdraw
+    private String checkCashOperation(BankAccount acc, CashOperation op) {
+        if (op.amount() == null || op.amount().signum() <= 0) {
+            return "Amount must be greater than zero";
+        }
+        if (acc == null) {
+            return "Account not found";
+        }
+        boolean deposit = "DEPOSIT".equals(op.type());
+        if (!"ACTIVE".equals(acc.getStatus())) {
+            return deposit
+                    ? "Account is inactive. Deposit not allowed"
+                    : "Account is inactive. Withdraw not allowed";
+        }
+        if (!deposit && acc.getBalance().compareTo(op.amount()) < 0) {
+            return "Insufficient balance";
+        }
+        return null;
+    }
+
  // ================= LOCK ACCOUNT =================
+    @Transactional
+    @RetryOnConflict
     public void lockAccount(String accountNumber) {
 
         BankAccount account = bankAccountRepository.findByAccountNumber(accountNumber)
@@ -197,21 +371,32 @@ public class BankAccountService {
 
         account.setStatus("INACTIVE"); // ❌ enum removed
         bankAccountRepository.save(account);
+        accountDirectory.statusChanged(account);
     }
+    @Transactional
+    @RetryOnConflict
     public void unlockAccount(String accountNumber) {
         BankAccount account = bankAccountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new RuntimeException("Account not found"));
 
         account.setStatus("ACTIVE");
         bankAccountRepository.save(account);
+        accountDirectory.statusChanged(account);
+    }
+
+ // ================= ACCOUNT LISTING (ADMIN: bankId null, BANK: own bank) =================
+    @Transactional(readOnly = true)
+    public Slice<AccountSummaryDTO> getAccountSummaries(Long bankId, String status, Pageable pageable) {
+        return bankAccountRepository.findSummaries(bankId, status, pageable);
     }
 
- // ================= FETCH ALL BANK ACCOUNTS =================
-    public List<BankAccount> getAllAccounts() {
-        return bankAccountRepository.findAll();
+    // ?page=&size=&sort=field[,desc]; both page and size null → every account
+    public Pageable accountListingPage(Integer page, Integer size, String sort) {
+        return ListingPage.of(page, size, sort, maxAccountPageSize, ACCOUNT_SORT_PATHS, "a.id");
     }
     
     // Fetch account by account number
+    @Transactional(readOnly = true)
     public BankAccount getAccountByNumber(String accountNumber) {
         return bankAccountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new RuntimeException("Account not found"));
@@ -221,9 +406,4 @@ public class BankAccountService {
 //    public List<Transaction> getTransactionsByAccount(String accountNumber) {
 //        return txnRepo.findByAccount_AccountNumber(accountNumber);
 //    }
- // NEW: For Bank Managers - only their bank's accounts
-    public List<BankAccount> getAccountsByBank(Long bankId) {
-        return bankAccountRepository.findByBankId(bankId);
-    }
-
 }
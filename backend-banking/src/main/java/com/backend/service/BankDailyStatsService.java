@@ -0,0 +1,90 @@
+package com.backend.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.backend.dto.BankDailyStat;
+import com.backend.repository.BankDailyStatsRepository;
+import com.backend.repository.TransactionSegmentStore;
+
+/**
+ * Dashboard figures per bank and day, read from bank_daily_stats (kept current by
+ * BankAccountService / TransferService) instead of the ledger.
+ */
+@Service
+public class BankDailyStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(BankDailyStatsService.class);
+
+    private final BankDailyStatsRepository statsRepo;
+    private final TransactionSegmentStore archive;
+    private final TransactionTemplate transactionTemplate;
+    private final int defaultDays;
+    private final int maxDays;
+
+    public BankDailyStatsService(
+            BankDailyStatsRepository statsRepo,
+            TransactionSegmentStore archive,
+            PlatformTransactionManager transactionManager,
+            @Value("${banking.stats.default-days:30}") int defaultDays,
+            @Value("${banking.stats.max-days:366}") int maxDays
+    ) {
+        this.statsRepo = statsRepo;
+        this.archive = archive;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.defaultDays = defaultDays;
+        this.maxDays = maxDays;
+    }
+
+    // [from, to] inclusive; defaults to the last default-days days up to today
+    @Transactional(readOnly = true)
+    public List<BankDailyStat> getStats(Long bankId, LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(defaultDays - 1L);
+
+        if (start.isAfter(end)) {
+            throw new RuntimeException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= maxDays) {
+            throw new RuntimeException("Date range too large (max " + maxDays + " days)");
+        }
+        return statsRepo.findByBank(bankId, start, end);
+    }
+
+    /**
+     * Recomputes every day in [from, to] from the ledger (backfill, or repair after
+     * manual data fixes). One short transaction per day, so live writes are only held
+     * up on the day being rebuilt. from == null starts at the oldest transaction.
+     * Archived days are skipped: their rows are no longer in the ledger table.
+     */
+    public int rebuild(LocalDate from, LocalDate to) {
+        LocalDate start = from != null ? from : statsRepo.findFirstTransactionDay();
+        LocalDate end = to != null ? to : LocalDate.now();
+        if (start == null) {
+            return 0;
+        }
+        LocalDate liveFrom = archive.liveFrom();
+        if (liveFrom != null && start.isBefore(liveFrom)) {
+            log.info("Not rebuilding bank daily stats before {} (archived)", liveFrom);
+            start = liveFrom;
+        }
+
+        int rows = 0;
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            LocalDate current = day;
+            rows += transactionTemplate.execute(status -> statsRepo.rebuildDay(current));
+        }
+
+        log.info("Rebuilt bank daily stats {}..{} ({} rows)", start, end, rows);
+        return rows;
+    }
+}
@@ -0,0 +1,119 @@
+package com.backend.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.backend.dto.BankProfile;
+import com.backend.repository.BankRepository;
+
+/**
+ * Every bank in memory, by id and by bank code, for the bank listing and for transfers
+ * (recipient bank names). Banks are few and almost never change, so readers get an
+ * immutable snapshot that is rebuilt whole and swapped in one write:
+ * after BankService.addBank commits (here, and on other nodes through CacheInvalidationBus),
+ * on refresh-cron as a safety net, and when an id is not in it (an account of a bank this
+ * node has not heard of yet).
+ * Code lookups never reload, since codes come from user input.
+ */
+@Service
+public class BankDirectory {
+
+    private record Snapshot(List<BankProfile> all, Map<Long, BankProfile> byId, Map<String, BankProfile> byCode) {
+    }
+
+    private final BankRepository bankRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Snapshot snapshot;
+
+    public BankDirectory(
+            BankRepository bankRepository,
+            CacheInvalidationBus cacheInvalidationBus,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.bankRepository = bankRepository;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        cacheInvalidationBus.subscribe(CacheInvalidationBus.Kind.BANK, bankId -> reload());
+    }
+
+    // ================= LOOKUP =================
+
+    /** All banks in id order. */
+    public List<BankProfile> all() {
+        return current().all();
+    }
+
+    public Optional<BankProfile> find(Long bankId) {
+        if (bankId == null) {
+            return Optional.empty();
+        }
+        BankProfile bank = current().byId().get(bankId);
+        if (bank == null) {
+            bank = reload().byId().get(bankId);
+        }
+        return Optional.ofNullable(bank);
+    }
+
+    public Optional<BankProfile> findByCode(String bankCode) {
+        return bankCode == null ? Optional.empty() : Optional.ofNullable(current().byCode().get(bankCode));
+    }
+
+    public String bankName(Long bankId) {
+        return find(bankId).map(BankProfile::bankName).orElse(null);
+    }
+
+    // ================= KEEPING UP =================
+
+    // Called inside the transaction that adds the bank; reloaded once it commits
+    public void changed(Long bankId) {
+        cacheInvalidationBus.publish(CacheInvalidationBus.Kind.BANK, String.valueOf(bankId));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reload();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reload();
+            }
+        });
+    }
+
+    @Scheduled(cron = "${banking.banks.refresh-cron:0 */10 * * * *}")
+    public void refresh() {
+        reload();
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        return current != null ? current : reload();
+    }
+
+    private synchronized Snapshot reload() {
+        // read-write on purpose: a lagging replica could miss the bank that was just added
+        List<BankProfile> banks = List.copyOf(transactionTemplate.execute(status -> bankRepository.findAllProfiles()));
+
+        Map<Long, BankProfile> byId = new HashMap<>();
+        Map<String, BankProfile> byCode = new HashMap<>();
+        for (BankProfile bank : banks) {
+            byId.put(bank.id(), bank);
+            if (bank.bankCode() != null) {
+                byCode.putIfAbsent(bank.bankCode(), bank);
+            }
+        }
+        Snapshot loaded = new Snapshot(banks, Map.copyOf(byId), Map.copyOf(byCode));
+        snapshot = loaded;
+        return loaded;
+    }
+}
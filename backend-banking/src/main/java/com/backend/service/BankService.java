@@ -12,6 +12,7 @@ import com.backend.repository.BankRepository;
 import com.backend.repository.BankAccountRepository;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -25,31 +26,41 @@ public class BankService {
     private final BankManagerRepository bankManagerRepository;
     private final AdminRepository adminRepository;
     private final BankAccountRepository bankAccountRepository; // 🔹 Inject repository
+    private final ManagerDirectory managerDirectory;
+    private final BankDirectory bankDirectory;
+    private final AccountDirectory accountDirectory;
 
     public BankService(
             BankRepository bankRepository,
             BankManagerRepository bankManagerRepository,
             AdminRepository adminRepository,
-            BankAccountRepository bankAccountRepository
+            BankAccountRepository bankAccountRepository,
+            ManagerDirectory managerDirectory,
+            BankDirectory bankDirectory,
+            AccountDirectory accountDirectory
     ) {
         this.bankRepository = bankRepository;
         this.bankManagerRepository = bankManagerRepository;
         this.adminRepository = adminRepository;
         this.bankAccountRepository = bankAccountRepository;
+        this.managerDirectory = managerDirectory;
+        this.bankDirectory = bankDirectory;
+        this.accountDirectory = accountDirectory;
     }
 
-    // ✅ GET ALL BANKS
+    // ✅ GET ALL BANKS (from BankDirectory, no transaction needed)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<BankResponseDTO> getAllBanks() {
-        return bankRepository.findAll().stream().map(bank -> {
+        return bankDirectory.all().stream().map(bank -> {
             BankResponseDTO dto = new BankResponseDTO();
-            dto.setName(bank.getBankName());
-            dto.setCode(bank.getBankCode());
-            dto.setAddress(bank.getBankAddress());
-            dto.setPhone(bank.getPhoneNumber());
-            dto.setEmail(bank.getBankEmail());
-            dto.setWebsite(bank.getWebsite());
-            dto.setCountry(bank.getCountry());
-            dto.setCurrency(bank.getCurrency());
+            dto.setName(bank.bankName());
+            dto.setCode(bank.bankCode());
+            dto.setAddress(bank.bankAddress());
+            dto.setPhone(bank.phoneNumber());
+            dto.setEmail(bank.bankEmail());
+            dto.setWebsite(bank.website());
+            dto.setCountry(bank.country());
+            dto.setCurrency(bank.currency());
             return dto;
         }).toList();
     }
@@ -94,6 +105,8 @@ public class BankService {
         // ✅ Save entities
         bankRepository.save(bank);
         bankManagerRepository.save(manager);
+        managerDirectory.changed(manager.getEmail());
+        bankDirectory.changed(bank.getId());
     }
 
     // 🔹 DEACTIVATE CUSTOMER BANK ACCOUNT
@@ -104,6 +117,7 @@ public class BankService {
             BankAccount account = accountOpt.get();
             account.setStatus("INACTIVE");
             bankAccountRepository.save(account);
+            accountDirectory.statusChanged(account);
             return true;
         }
 
@@ -0,0 +1,207 @@
+package com.backend.service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.backend.repository.CacheInvalidation;
+import com.backend.repository.CacheInvalidationRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Tells the in-process caches of the other nodes (AccountDirectory, BankDirectory,
+ * ManagerDirectory, CustomerSearchService) what changed here, and applies what changed
+ * there. Each cache publishes from the hook its service calls inside the changing
+ * transaction and subscribes to its own kind; events from this node are skipped (the
+ * cache already applied them after commit).
+ *
+ * Delivery: an event is a cache_invalidations row. On Postgres it is also pushed with
+ * pg_notify to a listener thread, so other nodes evict within milliseconds of the commit.
+ * Every node also polls the rows of the last lookback-seconds each poll-interval: that
+ * covers notifications missed while the listener was down or reconnecting, and is the
+ * only channel on other databases. A transaction open longer than lookback-seconds could
+ * commit a row the poll has already passed, so keep it well above the longest transaction.
+ * Evictions are idempotent; ids already applied are skipped anyway.
+ */
+@Service
+public class CacheInvalidationBus {
+
+    public enum Kind {
+        ACCOUNT,    // account number
+        BANK,       // bank id
+        MANAGER,    // manager email
+        CUSTOMER    // bankId:customerId
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private final CacheInvalidationRepository repository;
+    private final boolean enabled;
+    private final Duration lookback;
+    private final Duration retention;
+    private final int listenTimeoutMs;
+    private final long maxReconnectBackoffMs;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<Kind, List<Consumer<String>>> subscribers = new EnumMap<>(Kind.class);
+    // event id → when it was applied; pruned once the poll can no longer return it
+    private final Map<Long, Long> applied = new ConcurrentHashMap<>();
+    private final Counter received;
+    private final Counter listenerFailures;
+    private volatile boolean listening;
+    private Thread listener;
+
+    public CacheInvalidationBus(
+            CacheInvalidationRepository repository,
+            MeterRegistry meterRegistry,
+            @Value("${banking.cache-bus.enabled:true}") boolean enabled,
+            @Value("${banking.cache-bus.lookback-seconds:60}") long lookbackSeconds,
+            @Value("${banking.cache-bus.retention-minutes:60}") long retentionMinutes,
+            @Value("${banking.cache-bus.listen-timeout-ms:10000}") int listenTimeoutMs,
+            @Value("${banking.cache-bus.max-reconnect-backoff-ms:30000}") long maxReconnectBackoffMs
+    ) {
+        this.repository = repository;
+        this.enabled = enabled;
+        this.lookback = Duration.ofSeconds(lookbackSeconds);
+        this.retention = Duration.ofMinutes(Math.max(retentionMinutes, lookbackSeconds / 60 + 1));
+        this.listenTimeoutMs = listenTimeoutMs;
+        this.maxReconnectBackoffMs = maxReconnectBackoffMs;
+        for (Kind kind : Kind.values()) {
+            subscribers.put(kind, new CopyOnWriteArrayList<>());
+        }
+        this.received = Counter.builder("banking.cache-bus.received").register(meterRegistry);
+        this.listenerFailures = Counter.builder("banking.cache-bus.listener-failures").register(meterRegistry);
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    public boolean isListening() {
+        return listening;
+    }
+
+    // ================= PUBLISH / SUBSCRIBE =================
+
+    // Called inside the transaction that makes the change
+    public void publish(Kind kind, String key) {
+        if (!enabled || key == null) {
+            return;
+        }
+        repository.record(kind.name(), key, nodeId);
+    }
+
+    /** Runs handler with the key of every change of this kind made on another node. */
+    public void subscribe(Kind kind, Consumer<String> handler) {
+        subscribers.get(kind).add(handler);
+    }
+
+    void receive(CacheInvalidation event) {
+        if (nodeId.equals(event.origin()) || applied.putIfAbsent(event.id(), System.currentTimeMillis()) != null) {
+            return;
+        }
+        Kind kind;
+        try {
+            kind = Kind.valueOf(event.kind());
+        } catch (IllegalArgumentException ex) {
+            return;   // published by a newer version of this service
+        }
+        received.increment();
+        for (Consumer<String> handler : subscribers.get(kind)) {
+            try {
+                handler.accept(event.key());
+            } catch (RuntimeException ex) {
+                // the next poll won't redo it (already applied); the cache's own refresh will
+                log.warn("Cache invalidation {} {} failed", kind, event.key(), ex);
+            }
+        }
+    }
+
+    // ================= POLL =================
+
+    @Scheduled(fixedDelayString = "${banking.cache-bus.poll-interval-ms:5000}",
+            initialDelayString = "${banking.cache-bus.poll-interval-ms:5000}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        repository.findSince(LocalDateTime.now().minus(lookback)).forEach(this::receive);
+
+        // rows older than the lookback are never returned again
+        long forgetBefore = System.currentTimeMillis() - 2 * lookback.toMillis();
+        applied.values().removeIf(appliedAt -> appliedAt < forgetBefore);
+    }
+
+    @Scheduled(fixedDelayString = "${banking.cache-bus.purge-interval-ms:600000}")
+    public void purge() {
+        if (enabled) {
+            repository.deleteOlderThan(LocalDateTime.now().minus(retention));
+        }
+    }
+
+    // ================= LISTEN (Postgres) =================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || !repository.notifies() || listener != null) {
+            return;
+        }
+        listener = new Thread(this::listen, "cache-bus-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    private void listen() {
+        long backoffMs = 500;
+        while (!Thread.currentThread().isInterrupted()) {
+            try (Connection connection = repository.listen()) {
+                listening = true;
+                backoffMs = 500;
+                // whatever was sent while we were not listening
+                poll();
+                while (!Thread.currentThread().isInterrupted()) {
+                    repository.awaitNotifications(connection, listenTimeoutMs).forEach(this::receive);
+                }
+            } catch (SQLException | RuntimeException ex) {
+                listenerFailures.increment();
+                log.warn("Cache invalidation listener lost its connection, polling until it is back: {}",
+                        ex.getMessage());
+            } finally {
+                listening = false;
+            }
+
+            try {
+                Thread.sleep(backoffMs);
+            } catch (InterruptedException ex) {
+                return;
+            }
+            backoffMs = Math.min(backoffMs * 2, maxReconnectBackoffMs);
+        }
+    }
+}
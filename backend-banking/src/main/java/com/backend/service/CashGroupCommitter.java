@@ -0,0 +1,157 @@
+package com.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.backend.dto.AmountRequestDTO;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Group commit for cash-desk traffic (banking.group-commit.enabled).
+ *
+ * Deposits/withdrawals arriving within a short window (window-ms, or until
+ * max-batch ops are waiting) are applied by ONE transaction through
+ * {@link BankAccountService#applyCashBatch}, so a burst of N requests pays for one
+ * commit/fsync instead of N. Each caller gets a future that completes once its batch
+ * has committed (controllers wait on it through IdempotencyService.executeDetached).
+ */
+@Service
+public class CashGroupCommitter {
+
+    private final BankAccountService bankAccountService;
+
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxBatch;
+    private final long timeoutMs;
+
+    private final BlockingQueue<PendingOp> queue = new LinkedBlockingQueue<>();
+    private final Counter commits;
+    private final DistributionSummary batchSize;
+    private Thread flusher;
+
+    public CashGroupCommitter(
+            BankAccountService bankAccountService,
+            MeterRegistry meterRegistry,
+            @Value("${banking.group-commit.enabled:false}") boolean enabled,
+            @Value("${banking.group-commit.window-ms:2}") long windowMs,
+            @Value("${banking.group-commit.max-batch:200}") int maxBatch,
+            @Value("${banking.group-commit.timeout-ms:30000}") long timeoutMs
+    ) {
+        this.bankAccountService = bankAccountService;
+        this.enabled = enabled;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, windowMs));
+        this.maxBatch = Math.max(1, maxBatch);
+        this.timeoutMs = timeoutMs;
+        this.commits = Counter.builder("banking.group-commit.commits").register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("banking.group-commit.batch-size").register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        flusher = new Thread(this::run, "cash-group-commit");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (flusher != null) {
+            flusher.interrupt();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // How long callers wait for their batch before answering "still in progress"
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    // ================= ENTRY POINT (completes when committed) =================
+
+    // type = DEPOSIT / WITHDRAW
+    public CompletableFuture<Void> applyCash(String type, AmountRequestDTO req) {
+        if (!enabled) {
+            throw new IllegalStateException("Group commit is disabled");
+        }
+
+        CashOperation op = new CashOperation(type, req.getEmail(), req.getAmount());
+        PendingOp pending = new PendingOp(op, new CompletableFuture<>());
+        queue.add(pending);
+        return pending.result();
+    }
+
+    // ================= FLUSHER =================
+
+    private record PendingOp(CashOperation op, CompletableFuture<Void> result) {
+    }
+
+    private void run() {
+        List<PendingOp> batch = new ArrayList<>(maxBatch);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+
+                // Keep collecting until the window closes or the batch is full
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        queue.drainTo(batch, maxBatch - batch.size());
+                        break;
+                    }
+                    PendingOp next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException ex) {
+                batch.forEach(p -> p.result().completeExceptionally(
+                        new RuntimeException("Group commit stopped")));
+                return;
+            }
+
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    private void flush(List<PendingOp> batch) {
+        try {
+            List<String> results =
+                    bankAccountService.applyCashBatch(batch.stream().map(PendingOp::op).toList());
+            commits.increment();
+            batchSize.record(batch.size());
+
+            for (int i = 0; i < batch.size(); i++) {
+                String rejection = results.get(i);
+                if (rejection == null) {
+                    batch.get(i).result().complete(null);
+                } else {
+                    batch.get(i).result().completeExceptionally(new RuntimeException(rejection));
+                }
+            }
+        } catch (RuntimeException ex) {
+            batch.forEach(p -> p.result().completeExceptionally(ex));
+        }
+    }
+}
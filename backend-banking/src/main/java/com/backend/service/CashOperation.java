@@ -0,0 +1,10 @@
+package com.backend.service;
+
+import java.math.BigDecimal;
+
+/**
+ * A queued deposit or withdrawal (type DEPOSIT / WITHDRAW), applied in bulk
+ * by {@link BankAccountService#applyCashBatch}.
+ */
+public record CashOperation(String type, String email, BigDecimal amount) {
+}
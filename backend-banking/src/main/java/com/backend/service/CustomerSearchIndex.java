@@ -0,0 +1,281 @@
+package com.backend.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+import com.backend.dto.CustomerSearchHit;
+
+/**
+ * Per-bank prefix index over customer name (whole and per word), email and contact
+ * digits, for the managers' type-ahead.
+ *
+ * Each bank has an immutable base of sorted (key, customer) arrays, searched by binary
+ * search, plus a concurrent overlay of customers registered or deleted since the base
+ * was built. A full rebuild folds the overlay back in. When nothing starts with the
+ * query, keys within one typo (edit distance 1) of it are tried instead, again as
+ * prefix lookups, so a query costs O(variants · log n) and never a scan.
+ *
+ * Thread-safe: lookups take no locks; changes and rebuild swaps are serialized.
+ */
+public class CustomerSearchIndex {
+
+    // Characters tried for substituted / missing letters in typo variants
+    private static final char[] ALPHABET = "abcdefghijklmnopqrstuvwxyz0123456789@._-' ".toCharArray();
+
+    // Separates key and id in the overlay (sorts before every printable character)
+    private static final char SEP = '\u0000';
+
+    private static final Comparator<Token> TOKEN_ORDER =
+            Comparator.comparing(Token::key).thenComparingLong(t -> t.hit().id());
+
+    private record Token(String key, CustomerSearchHit hit) {
+    }
+
+    private static final class Base {
+        final String[] keys;
+        final CustomerSearchHit[] hits;
+
+        Base(List<Token> tokens) {
+            tokens.sort(TOKEN_ORDER);
+            keys = new String[tokens.size()];
+            hits = new CustomerSearchHit[tokens.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = tokens.get(i).key();
+                hits[i] = tokens.get(i).hit();
+            }
+        }
+
+        int lowerBound(String prefix) {
+            int index = Arrays.binarySearch(keys, prefix);
+            if (index < 0) {
+                return -index - 1;
+            }
+            while (index > 0 && keys[index - 1].equals(prefix)) {
+                index--;
+            }
+            return index;
+        }
+    }
+
+    private static final class BankState {
+        final Base base;
+        final ConcurrentSkipListMap<String, CustomerSearchHit> added = new ConcurrentSkipListMap<>();
+        final Set<Long> removed = ConcurrentHashMap.newKeySet();
+
+        BankState(Base base) {
+            this.base = base;
+        }
+    }
+
+    private final int fuzzyMinLength;
+
+    // mutable from the start: changes can arrive before the first load or after an aborted rebuild
+    private volatile Map<Long, BankState> banks = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+    // changes made while a rebuild is loading, replayed onto the new state before the swap
+    private List<Consumer<Map<Long, BankState>>> pendingChanges;
+
+    public CustomerSearchIndex(int fuzzyMinLength) {
+        this.fuzzyMinLength = fuzzyMinLength;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // ================= CHANGES =================
+
+    public synchronized void add(CustomerSearchHit hit) {
+        apply(state -> addTo(state, hit));
+    }
+
+    public synchronized void remove(Long bankId, Long customerId) {
+        apply(state -> {
+            BankState bank = state.get(bankId);
+            if (bank != null) {
+                bank.removed.add(customerId);
+            }
+        });
+    }
+
+    private void apply(Consumer<Map<Long, BankState>> change) {
+        change.accept(banks);
+        if (pendingChanges != null) {
+            pendingChanges.add(change);
+        }
+    }
+
+    private static void addTo(Map<Long, BankState> state, CustomerSearchHit hit) {
+        BankState bank = state.computeIfAbsent(hit.bankId(), id -> new BankState(new Base(new ArrayList<>())));
+        for (String key : keysOf(hit)) {
+            bank.added.put(key + SEP + hit.id(), hit);
+        }
+    }
+
+    // ================= REBUILD =================
+
+    /** Call before reading the customers for {@link #finishRebuild}. */
+    public synchronized void startRebuild() {
+        pendingChanges = new ArrayList<>();
+    }
+
+    /**
+     * Swaps in a fresh index built from every customer (read after startRebuild);
+     * registrations and deletions that happened meanwhile are replayed on top.
+     * Returns the number of customers indexed.
+     */
+    public int finishRebuild(Iterable<CustomerSearchHit> customers) {
+        Map<Long, List<Token>> tokens = new HashMap<>();
+        int count = 0;
+        for (CustomerSearchHit hit : customers) {
+            count++;
+            List<Token> bank = tokens.computeIfAbsent(hit.bankId(), id -> new ArrayList<>());
+            for (String key : keysOf(hit)) {
+                bank.add(new Token(key, hit));
+            }
+        }
+        Map<Long, BankState> rebuilt = new ConcurrentHashMap<>();
+        tokens.forEach((bankId, bankTokens) -> rebuilt.put(bankId, new BankState(new Base(bankTokens))));
+
+        synchronized (this) {
+            if (pendingChanges != null) {
+                pendingChanges.forEach(change -> change.accept(rebuilt));
+            }
+            pendingChanges = null;
+            banks = rebuilt;
+            ready = true;
+        }
+        return count;
+    }
+
+    public synchronized void abortRebuild() {
+        pendingChanges = null;
+    }
+
+    // ================= LOOKUP =================
+
+    /**
+     * Customers of the bank whose name, a word of the name, email or contact starts
+     * with the query, in key order; near misses (one typo) only if there are none.
+     */
+    public List<CustomerSearchHit> search(Long bankId, String query, int limit) {
+        String key = queryKey(query);
+        BankState bank = banks.get(bankId);
+        if (bank == null || key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Map<Long, CustomerSearchHit> found = new LinkedHashMap<>();
+        collect(bank, key, limit, found);
+
+        if (found.isEmpty() && key.length() >= fuzzyMinLength) {
+            for (String variant : typoVariants(key)) {
+                collect(bank, variant, limit, found);
+                if (found.size() >= limit) {
+                    break;
+                }
+            }
+        }
+        return List.copyOf(found.values());
+    }
+
+    // Prefix matches from base and overlay, merged in key order
+    private static void collect(BankState bank, String prefix, int limit, Map<Long, CustomerSearchHit> found) {
+        String[] keys = bank.base.keys;
+        int i = bank.base.lowerBound(prefix);
+        var overlay = bank.added.tailMap(prefix).entrySet().iterator();
+        var next = overlay.hasNext() ? overlay.next() : null;
+
+        while (found.size() < limit) {
+            boolean baseHas = i < keys.length && keys[i].startsWith(prefix);
+            boolean overlayHas = next != null && next.getKey().startsWith(prefix);
+            if (!baseHas && !overlayHas) {
+                return;
+            }
+
+            CustomerSearchHit hit;
+            if (baseHas && (!overlayHas || keys[i].compareTo(next.getKey()) <= 0)) {
+                hit = bank.base.hits[i++];
+            } else {
+                hit = next.getValue();
+                next = overlay.hasNext() ? overlay.next() : null;
+            }
+            if (!bank.removed.contains(hit.id())) {
+                found.putIfAbsent(hit.id(), hit);
+            }
+        }
+    }
+
+    // Deletions, transpositions, substitutions and insertions of one character
+    static Set<String> typoVariants(String key) {
+        Set<String> variants = new LinkedHashSet<>();
+        for (int i = 0; i < key.length(); i++) {
+            variants.add(key.substring(0, i) + key.substring(i + 1));
+        }
+        for (int i = 0; i + 1 < key.length(); i++) {
+            variants.add(key.substring(0, i) + key.charAt(i + 1) + key.charAt(i) + key.substring(i + 2));
+        }
+        for (int i = 0; i <= key.length(); i++) {
+            for (char c : ALPHABET) {
+                if (i < key.length() && c != key.charAt(i)) {
+                    variants.add(key.substring(0, i) + c + key.substring(i + 1));
+                }
+                variants.add(key.substring(0, i) + c + key.substring(i));
+            }
+        }
+        variants.remove(key);
+        variants.removeIf(String::isBlank);
+        return variants;
+    }
+
+    // ================= KEYS =================
+
+    static List<String> keysOf(CustomerSearchHit hit) {
+        List<String> keys = new ArrayList<>();
+        String name = normalize(hit.name());
+        if (!name.isEmpty()) {
+            keys.add(name);
+            String[] words = name.split(" ");
+            for (int i = 1; i < words.length; i++) {
+                keys.add(words[i]);
+            }
+        }
+        String email = normalize(hit.email());
+        if (!email.isEmpty()) {
+            keys.add(email);
+        }
+        String contact = digits(hit.contact());
+        if (!contact.isEmpty()) {
+            keys.add(contact);
+        }
+        return keys;
+    }
+
+    // Phone-looking queries ("+91 98-765") are matched on their digits
+    static String queryKey(String query) {
+        String text = normalize(query);
+        if (text.matches("[0-9+()\\- ]+") && text.chars().anyMatch(Character::isDigit)) {
+            return digits(text);
+        }
+        return text;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    private static String digits(String text) {
+        return text == null ? "" : text.replaceAll("[^0-9]", "");
+    }
+}
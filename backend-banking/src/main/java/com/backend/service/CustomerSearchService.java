@@ -0,0 +1,157 @@
+package com.backend.service;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.backend.dto.CustomerSearchHit;
+import com.backend.dto.ManagerBank;
+import com.backend.repository.CustomerRepository;
+
+/**
+ * Type-ahead customer lookup for bank managers (/api/customer/search), answered from
+ * CustomerSearchIndex. The index is loaded at startup and rebuilt on rebuild-cron;
+ * CustomerService reports registrations and deletions, which are applied once their
+ * transaction commits, and other nodes re-read the customer when CacheInvalidationBus
+ * tells them. Until the first load finishes,
+ * queries go to the database (prefix LIKE).
+ */
+@Service
+public class CustomerSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerSearchService.class);
+
+    private final CustomerRepository customerRepository;
+    private final ManagerDirectory managerDirectory;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final TransactionTemplate transactionTemplate;
+    private final CustomerSearchIndex index;
+    private final int defaultResults;
+    private final int maxResults;
+
+    public CustomerSearchService(
+            CustomerRepository customerRepository,
+            ManagerDirectory managerDirectory,
+            CacheInvalidationBus cacheInvalidationBus,
+            PlatformTransactionManager transactionManager,
+            @Value("${banking.customers.search.default-results:10}") int defaultResults,
+            @Value("${banking.customers.search.max-results:50}") int maxResults,
+            @Value("${banking.customers.search.fuzzy-min-length:3}") int fuzzyMinLength
+    ) {
+        this.customerRepository = customerRepository;
+        this.managerDirectory = managerDirectory;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.index = new CustomerSearchIndex(fuzzyMinLength);
+        this.defaultResults = defaultResults;
+        this.maxResults = maxResults;
+        cacheInvalidationBus.subscribe(CacheInvalidationBus.Kind.CUSTOMER, this::changedElsewhere);
+    }
+
+    // ================= LOOKUP =================
+
+    @Transactional(readOnly = true)
+    public List<CustomerSearchHit> search(String managerEmail, String query, Integer limit) {
+        ManagerBank manager = managerDirectory.find(managerEmail)
+                .orElseThrow(() -> new RuntimeException("Bank Manager not found"));
+        if (manager.bankId() == null) {
+            throw new RuntimeException("Manager not linked with any bank");
+        }
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+
+        int size = (limit == null || limit < 1) ? defaultResults : Math.min(limit, maxResults);
+        if (index.isReady()) {
+            return index.search(manager.bankId(), query, size);
+        }
+
+        String prefix = CustomerSearchIndex.queryKey(query)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        return customerRepository.searchByPrefix(manager.bankId(), prefix, Limit.of(size));
+    }
+
+    // ================= KEEPING UP =================
+
+    // Called inside the registering transaction; indexed once it commits
+    public void registered(CustomerSearchHit customer) {
+        publish(customer.bankId(), customer.id());
+        afterCommit(() -> index.add(customer));
+    }
+
+    public void deleted(Long bankId, Long customerId) {
+        publish(bankId, customerId);
+        afterCommit(() -> index.remove(bankId, customerId));
+    }
+
+    private void publish(Long bankId, Long customerId) {
+        cacheInvalidationBus.publish(CacheInvalidationBus.Kind.CUSTOMER, bankId + ":" + customerId);
+    }
+
+    // key = bankId:customerId; the customer as it is now, or gone
+    private void changedElsewhere(String key) {
+        int sep = key.indexOf(':');
+        Long bankId = Long.valueOf(key.substring(0, sep));
+        Long customerId = Long.valueOf(key.substring(sep + 1));
+        // read-write on purpose: the change has just committed on the primary
+        CustomerSearchHit customer = transactionTemplate.execute(status ->
+                customerRepository.findSearchHit(customerId).orElse(null));
+        if (customer != null) {
+            index.add(customer);
+        } else {
+            index.remove(bankId, customerId);
+        }
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    @Scheduled(cron = "${banking.customers.search.rebuild-cron:0 30 3 * * *}")
+    public void rebuild() {
+        long started = System.nanoTime();
+        index.startRebuild();
+        try {
+            // read-write on purpose: a lagging replica could miss customers registered just before
+            int customers = transactionTemplate.execute(status -> {
+                try (Stream<CustomerSearchHit> rows = customerRepository.streamSearchHits()) {
+                    return index.finishRebuild(rows::iterator);
+                }
+            });
+            log.info("Customer search index: {} customers in {} ms",
+                    customers, (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException ex) {
+            index.abortRebuild();
+            throw ex;
+        }
+    }
+}
@@ -1,18 +1,20 @@
 package com.backend.service;
 
 import com.backend.dto.CustomerListResponseDTO;
+import com.backend.dto.CustomerListRow;
 import com.backend.dto.CustomerRegisterRequest;
-import com.backend.entity.Bank;
-import com.backend.entity.BankAccount;
-import com.backend.entity.BankManager;
+import com.backend.dto.CustomerSearchHit;
+import com.backend.dto.ManagerBank;
 import com.backend.entity.Customer;
-import com.backend.repository.BankManagerRepository;
+import com.backend.repository.BankRepository;
 import com.backend.repository.CustomerRepository;
 import com.backend.repository.BankAccountRepository;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,28 +23,50 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class CustomerService {
 
-    private final BankManagerRepository bankManagerRepository;
+    private final ManagerDirectory managerDirectory;
+    private final BankRepository bankRepository;
     private final CustomerRepository customerRepository;
     private final BankAccountRepository bankAccountRepository;
     private final PasswordEncoder passwordEncoder;
-
-    public CustomerService(BankManagerRepository bankManagerRepository,
+    private final CustomerSearchService customerSearchService;
+    private final AccountDirectory accountDirectory;
+    private final int maxPageSize;
+
+    // API sort keys → JPQL paths of CustomerRepository#findListing
+    private static final Map<String, String> LISTING_SORT_PATHS = Map.of(
+            "name", "c.name",
+            "email", "c.email",
+            "city", "c.city",
+            "bank", "b.bankName",
+            "accountNo", "a.accountNumber",
+            "balance", "a.balance",
+            "status", "a.status"
+    );
+
+    public CustomerService(ManagerDirectory managerDirectory,
+                           BankRepository bankRepository,
                            CustomerRepository customerRepository,
                            BankAccountRepository bankAccountRepository,
-                           PasswordEncoder passwordEncoder) {
-        this.bankManagerRepository = bankManagerRepository;
+                           PasswordEncoder passwordEncoder,
+                           CustomerSearchService customerSearchService,
+                           AccountDirectory accountDirectory,
+                           @Value("${banking.customers.max-page-size:500}") int maxPageSize) {
+        this.managerDirectory = managerDirectory;
+        this.bankRepository = bankRepository;
         this.customerRepository = customerRepository;
         this.bankAccountRepository = bankAccountRepository;
         this.passwordEncoder = passwordEncoder;
+        this.customerSearchService = customerSearchService;
+        this.accountDirectory = accountDirectory;
+        this.maxPageSize = maxPageSize;
     }
 
     // 🔹 REGISTER CUSTOMER
     public void registerCustomer(CustomerRegisterRequest request, String managerEmail) {
-        BankManager manager = bankManagerRepository.findByEmail(managerEmail)
+        ManagerBank manager = managerDirectory.find(managerEmail)
                 .orElseThrow(() -> new RuntimeException("Bank Manager not found"));
 
-        Bank bank = manager.getBank();
-        if (bank == null) throw new RuntimeException("Manager is not linked with any bank");
+        if (manager.bankId() == null) throw new RuntimeException("Manager is not linked with any bank");
 
         if (customerRepository.existsByEmail(request.getEmail()))
             throw new RuntimeException("Customer already exists");
@@ -57,40 +81,26 @@ public class CustomerService {
         customer.setStreet(request.getStreet());
         customer.setCity(request.getCity());
         customer.setPincode(request.getPincode());
-        customer.setBank(bank);
+        customer.setBank(bankRepository.getReferenceById(manager.bankId()));
         customer.setStatus("INACTIVE");
 
-        customerRepository.save(customer);
+        customer = customerRepository.save(customer);
+        customerSearchService.registered(new CustomerSearchHit(
+                customer.getId(), manager.bankId(), customer.getName(), customer.getEmail(), customer.getContact()));
     }
 
- // Service
-    public List<CustomerListResponseDTO> getAllCustomers(String managerEmail) {
-        BankManager manager = bankManagerRepository.findByEmail(managerEmail)
+ // Service: one projection query for the manager's bank
+    @Transactional(readOnly = true)
+    public Page<CustomerListResponseDTO> getAllCustomers(
+            String managerEmail, String status, String city, Pageable pageable) {
+        ManagerBank manager = managerDirectory.find(managerEmail)
                 .orElseThrow(() -> new RuntimeException("Bank Manager not found"));
 
-        Bank bank = manager.getBank();
-        if (bank == null)
+        if (manager.bankId() == null)
             throw new RuntimeException("Manager not linked with any bank");
 
-        List<Customer> customers = customerRepository.findByBank(bank);
-
-        return customers.stream().map(c -> {
-            CustomerListResponseDTO dto = new CustomerListResponseDTO();
-            dto.setName(c.getName());
-            dto.setBank(bank.getBankName());
-            dto.setEmail(c.getEmail());
-            dto.setGender(c.getGender());
-            dto.setContact(c.getContact());
-            dto.setStreet(c.getStreet());
-            dto.setCity(c.getCity());
-            dto.setPincode(c.getPincode());
-
-            // ✅ Get real account status
-            Optional<BankAccount> account = bankAccountRepository.findByCustomer_Email(c.getEmail());
-            dto.setStatus(account.map(BankAccount::getStatus).orElse("INACTIVE"));
-
-            return dto;
-        }).toList();
+        return customerRepository.findListing(manager.bankId(), status, city, pageable)
+                .map(CustomerService::toListDto);
     }
 
 
@@ -101,48 +111,51 @@ public class CustomerService {
                 .orElseThrow(() -> new RuntimeException("Customer not found"));
 
         // 🔹 Optional: delete customer's bank account first
-        bankAccountRepository.findByCustomer_Email(email).ifPresent(bankAccountRepository::delete);
+        bankAccountRepository.findByCustomer_Email(email).ifPresent(account -> {
+            bankAccountRepository.delete(account);
+            accountDirectory.deleted(account);
+        });
 
         customerRepository.delete(customer);
+        customerSearchService.deleted(customer.getBank().getId(), customer.getId());
     }
     
-    public List<CustomerListResponseDTO> getAllCustomers() {
-
-        List<Customer> customers = customerRepository.findAll();
-
-        return customers.stream().map(c -> {
-            CustomerListResponseDTO dto = new CustomerListResponseDTO();
-            dto.setName(c.getName());
-            dto.setBank(c.getBank().getBankName());
-            dto.setEmail(c.getEmail());
-            dto.setGender(c.getGender());
-            dto.setContact(c.getContact());
-            dto.setStreet(c.getStreet());
-            dto.setCity(c.getCity());
-            dto.setPincode(c.getPincode());
-            
-
-            // ✅ REAL account status (LOCK / UNLOCK reflected)
-            Optional<BankAccount> account =
-                    bankAccountRepository.findByCustomer_Email(c.getEmail());
-
-            if (account.isPresent()) {
-                BankAccount acc = account.get();
-
-                dto.setAccountNo(acc.getAccountNumber());
-                dto.setIfsc(acc.getIfscCode());
-                dto.setBalance(acc.getBalance().toString());
-                dto.setStatus(acc.getStatus()); // ACTIVE / INACTIVE / LOCKED
-            } else {
-                dto.setAccountNo("-");
-                dto.setIfsc("-");
-                dto.setBalance("-");
-                dto.setStatus("INACTIVE");
-            }
-
-
-            return dto;
-        }).toList();
+    // Admin: every bank, same single query
+    @Transactional(readOnly = true)
+    public Page<CustomerListResponseDTO> getAllCustomers(String status, String city, Pageable pageable) {
+        return customerRepository.findListing(null, status, city, pageable)
+                .map(CustomerService::toListDto);
+    }
+
+    // page / size both null → everything (still one query); sort = "field" or "field,desc"
+    public Pageable listingPage(Integer page, Integer size, String sort) {
+        return ListingPage.of(page, size, sort, maxPageSize, LISTING_SORT_PATHS, "c.id");
+    }
+
+    private static CustomerListResponseDTO toListDto(CustomerListRow row) {
+        CustomerListResponseDTO dto = new CustomerListResponseDTO();
+        dto.setName(row.name());
+        dto.setBank(row.bankName());
+        dto.setEmail(row.email());
+        dto.setGender(row.gender());
+        dto.setContact(row.contact());
+        dto.setStreet(row.street());
+        dto.setCity(row.city());
+        dto.setPincode(row.pincode());
+
+        // ✅ REAL account status (LOCK / UNLOCK reflected)
+        if (row.accountNumber() != null) {
+            dto.setAccountNo(row.accountNumber());
+            dto.setIfsc(row.ifscCode());
+            dto.setBalance(row.balance().toString());
+            dto.setStatus(row.accountStatus()); // ACTIVE / INACTIVE / LOCKED
+        } else {
+            dto.setAccountNo("-");
+            dto.setIfsc("-");
+            dto.setBalance("-");
+            dto.setStatus("INACTIVE");
+        }
+        return dto;
     }
 
 }
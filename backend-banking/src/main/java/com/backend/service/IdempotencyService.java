@@ -0,0 +1,270 @@
+package com.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.backend.config.RetryOnConflict;
+import com.backend.entity.IdempotencyRecord;
+import com.backend.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+@Service
+public class IdempotencyService {
+
+    public static final String REPLAY_HEADER = "Idempotent-Replayed";
+
+    private final IdempotencyRecordRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration retention;
+
+    // Front cache of finished responses: repeated keys never reach the DB
+    private final Cache<String, StoredResponse> cache;
+
+    public IdempotencyService(
+            IdempotencyRecordRepository repository,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${banking.idempotency.cache-ttl-minutes:60}") long cacheTtlMinutes,
+            @Value("${banking.idempotency.cache-max-size:100000}") long cacheMaxSize,
+            @Value("${banking.idempotency.retention-hours:24}") long retentionHours
+    ) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.retention = Duration.ofHours(retentionHours);
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(cacheTtlMinutes))
+                .maximumSize(cacheMaxSize)
+                .build();
+    }
+
+    /**
+     * Runs {@code operation} at most once per key. The key row is inserted in the
+     * same transaction as the ledger change, so a crash or rollback releases the key
+     * and a committed operation always has its response stored.
+     * Without a key the operation simply runs. Conflicts re-run the whole call here
+     * (claim included); a @RetryOnConflict service method inside runs once per attempt.
+     */
+    @RetryOnConflict
+    public ResponseEntity<String> execute(
+            String key,
+            String endpoint,
+            Object request,
+            Supplier<ResponseEntity<String>> operation
+    ) {
+        if (key == null || key.isBlank()) {
+            return operation.get();
+        }
+        return claimAndRun(key, endpoint, request, record -> transactionTemplate.execute(status -> {
+            claim(record);
+            return complete(record, operation.get());
+        }));
+    }
+
+    /**
+     * For operations handed to another thread that commits them (shards, group commit):
+     * {@code operation} submits the work and returns its completion, which is awaited
+     * for up to timeoutMs. The key is claimed in a short transaction of its own, and the
+     * thread that finishes the work stores the response (or releases the key if the work
+     * was rejected). A caller that gives up waiting therefore leaves the key "in progress"
+     * instead of releasing it: the work may still commit, and a retry must get either
+     * "still in progress" or the replay, never a second run.
+     */
+    public ResponseEntity<String> executeDetached(
+            String key,
+            String endpoint,
+            Object request,
+            long timeoutMs,
+            Supplier<CompletableFuture<ResponseEntity<String>>> operation
+    ) {
+        if (key == null || key.isBlank()) {
+            return await(operation.get(), timeoutMs, "Timed out waiting for the operation to commit");
+        }
+        return claimAndRun(key, endpoint, request, record -> {
+            transactionTemplate.executeWithoutResult(status -> claim(record));
+
+            CompletableFuture<ResponseEntity<String>> outcome;
+            try {
+                outcome = operation.get();
+            } catch (RuntimeException ex) {
+                release(record);   // never submitted
+                throw ex;
+            }
+
+            // Runs on whichever thread finishes the work, whether or not we still wait
+            CompletableFuture<StoredResponse> settled = outcome.handle((response, failure) -> {
+                if (failure != null) {
+                    release(record);   // rejected or rolled back: nothing was applied
+                    throw failure instanceof CompletionException completion
+                            ? completion
+                            : new CompletionException(failure);
+                }
+                return store(record, response);
+            });
+            return await(settled, timeoutMs, "Request with this Idempotency-Key is still in progress");
+        });
+    }
+
+    private ResponseEntity<String> claimAndRun(
+            String key,
+            String endpoint,
+            Object request,
+            Function<IdempotencyRecord, StoredResponse> run
+    ) {
+        String requestHash = hash(request);
+
+        // ================= ALREADY SEEN? =================
+        StoredResponse stored = lookup(key);
+        if (stored != null) {
+            return replay(stored, endpoint, requestHash);
+        }
+
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setIdempotencyKey(key);
+        record.setEndpoint(endpoint);
+        record.setRequestHash(requestHash);
+
+        // ================= CLAIM KEY + RUN =================
+        try {
+            StoredResponse result = run.apply(record);
+            cache.put(key, result);
+            return result.toResponse();
+
+        } catch (KeyTakenException ex) {
+            // A concurrent request with the same key committed first
+            StoredResponse winner = lookup(key);
+            if (winner == null) {
+                throw new RuntimeException("Request with this Idempotency-Key is still in progress");
+            }
+            return replay(winner, endpoint, requestHash);
+        }
+    }
+
+    private StoredResponse store(IdempotencyRecord record, ResponseEntity<String> response) {
+        StoredResponse stored = transactionTemplate.execute(status ->
+                complete(repository.findById(record.getId()).orElseThrow(), response));
+        cache.put(record.getIdempotencyKey(), stored);
+        return stored;
+    }
+
+    private void release(IdempotencyRecord record) {
+        transactionTemplate.executeWithoutResult(status -> repository.deleteById(record.getId()));
+    }
+
+    private static <T> T await(CompletableFuture<T> future, long timeoutMs, String timeoutMessage) {
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException(ex.getCause());
+        } catch (TimeoutException ex) {
+            // NOTE: the work may still commit; the key (if any) stays claimed until it does
+            throw new RuntimeException(timeoutMessage);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the operation to commit");
+        }
+    }
+
+    private void claim(IdempotencyRecord record) {
+        try {
+            repository.saveAndFlush(record); // blocks while a concurrent twin is in flight
+        } catch (DataIntegrityViolationException ex) {
+            throw new KeyTakenException();
+        }
+    }
+
+    private StoredResponse complete(IdempotencyRecord record, ResponseEntity<String> response) {
+        record.setResponseStatus(response.getStatusCode().value());
+        record.setResponseBody(response.getBody());
+        return StoredResponse.of(record);
+    }
+
+    // ================= PURGE OLD KEYS =================
+    @Scheduled(fixedDelayString = "${banking.idempotency.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        repository.deleteOlderThan(LocalDateTime.now().minus(retention));
+    }
+
+    private StoredResponse lookup(String key) {
+        StoredResponse stored = cache.getIfPresent(key);
+        if (stored != null) {
+            return stored;
+        }
+
+        stored = repository.findByIdempotencyKey(key)
+                .filter(r -> r.getResponseStatus() != null)
+                .map(StoredResponse::of)
+                .orElse(null);
+
+        if (stored != null) {
+            cache.put(key, stored);
+        }
+        return stored;
+    }
+
+    private ResponseEntity<String> replay(StoredResponse stored, String endpoint, String requestHash) {
+        if (!stored.endpoint().equals(endpoint) || !stored.requestHash().equals(requestHash)) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                    .body("Idempotency-Key was already used for a different request");
+        }
+        return ResponseEntity.status(stored.status())
+                .header(REPLAY_HEADER, "true")
+                .body(stored.body());
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] json = objectMapper.writeValueAsString(request).getBytes(StandardCharsets.UTF_8);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+            throw new RuntimeException("Unable to fingerprint request", ex);
+        }
+    }
+
+    private record StoredResponse(String endpoint, String requestHash, int status, String body) {
+
+        static StoredResponse of(IdempotencyRecord record) {
+            return new StoredResponse(
+                    record.getEndpoint(),
+                    record.getRequestHash(),
+                    record.getResponseStatus(),
+                    record.getResponseBody());
+        }
+
+        ResponseEntity<String> toResponse() {
+            return ResponseEntity.status(status).body(body);
+        }
+    }
+
+    private static class KeyTakenException extends RuntimeException {
+    }
+}
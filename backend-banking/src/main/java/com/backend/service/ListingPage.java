@@ -0,0 +1,45 @@
+package com.backend.service;
+
+import java.util.Map;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.JpaSort;
+
+/**
+ * Parses the listing query params (?page=&size=&sort=field[,desc]) into a Pageable
+ * for a projection query. Sort keys are whitelisted and mapped to JPQL paths;
+ * page and size both absent means "everything" (unpaged, still sorted).
+ */
+final class ListingPage {
+
+    private ListingPage() {
+    }
+
+    static Pageable of(Integer page, Integer size, String sort,
+                       int maxPageSize, Map<String, String> sortPaths, String idPath) {
+        Sort order = sort(sort, sortPaths, idPath);
+        if (page == null && size == null) {
+            return Pageable.unpaged(order);
+        }
+        int pageSize = (size == null || size < 1) ? maxPageSize : Math.min(size, maxPageSize);
+        return PageRequest.of(page == null ? 0 : Math.max(0, page), pageSize, order);
+    }
+
+    private static Sort sort(String sort, Map<String, String> sortPaths, String idPath) {
+        if (sort == null || sort.isBlank()) {
+            return JpaSort.unsafe(idPath);
+        }
+        String[] parts = sort.split(",");
+        String path = sortPaths.get(parts[0].trim());
+        if (path == null) {
+            throw new RuntimeException("Unsupported sort field: " + parts[0].trim());
+        }
+        Sort.Direction direction = parts.length > 1 && "desc".equalsIgnoreCase(parts[1].trim())
+                ? Sort.Direction.DESC
+                : Sort.Direction.ASC;
+        // id as tie-breaker keeps pages stable
+        return JpaSort.unsafe(direction, path).and(JpaSort.unsafe(idPath));
+    }
+}
@@ -0,0 +1,74 @@
+package com.backend.service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.backend.dto.ManagerBank;
+import com.backend.repository.BankManagerRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Manager email → (manager, bank) for the manager-scoped endpoints, which otherwise
+ * load the manager and then its bank on every request. Entries live for cache-ttl;
+ * BankService evicts a manager when it assigns them a bank (the only way the mapping
+ * changes), here after commit and on other nodes through CacheInvalidationBus.
+ * Unknown emails are not cached. Hits and misses are published as
+ * cache.gets{cache="managerBanks"}.
+ */
+@Service
+public class ManagerDirectory {
+
+    private final BankManagerRepository bankManagerRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final Cache<String, ManagerBank> cache;
+
+    public ManagerDirectory(
+            BankManagerRepository bankManagerRepository,
+            CacheInvalidationBus cacheInvalidationBus,
+            MeterRegistry meterRegistry,
+            @Value("${banking.managers.cache-ttl-seconds:300}") long cacheTtlSeconds,
+            @Value("${banking.managers.cache-max-size:10000}") long cacheMaxSize
+    ) {
+        this.bankManagerRepository = bankManagerRepository;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .maximumSize(cacheMaxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "managerBanks");
+        cacheInvalidationBus.subscribe(CacheInvalidationBus.Kind.MANAGER, cache::invalidate);
+    }
+
+    public Optional<ManagerBank> find(String managerEmail) {
+        if (managerEmail == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.get(managerEmail,
+                email -> bankManagerRepository.findManagerBankByEmail(email).orElse(null)));
+    }
+
+    // Called inside the transaction that changes the manager's bank; evicted once it commits
+    public void changed(String managerEmail) {
+        cacheInvalidationBus.publish(CacheInvalidationBus.Kind.MANAGER, managerEmail);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.invalidate(managerEmail);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.invalidate(managerEmail);
+            }
+        });
+    }
+}
@@ -0,0 +1,223 @@
+package com.backend.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.backend.dto.BankTransactionRow;
+import com.backend.entity.BankAccount;
+import com.backend.entity.Transaction;
+import com.backend.repository.ArchivedTransaction;
+import com.backend.repository.BankAccountRepository;
+import com.backend.repository.TransactionArchiveRepository;
+import com.backend.repository.TransactionSegmentStore;
+
+/**
+ * Cold storage for old ledger rows. Whole months that ended more than after-days ago
+ * are written to an immutable segment file (TransactionSegmentStore) and then deleted
+ * from transactions, so the live table and its indexes only hold recent history.
+ *
+ * Reads stay transparent: the keyset history listings and the export continue into
+ * the archive once the live rows run out. Archived months are always older than every
+ * live row, so "live first, then archive below the last live row" keeps the order.
+ *
+ * Enable it on one node only, with banking.archive.dir on storage every node can read.
+ */
+@Service
+public class TransactionArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionArchiveService.class);
+
+    private final TransactionSegmentStore store;
+    private final TransactionArchiveRepository archiveRepo;
+    private final BankAccountRepository accountRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int afterDays;
+
+    public TransactionArchiveService(
+            TransactionSegmentStore store,
+            TransactionArchiveRepository archiveRepo,
+            BankAccountRepository accountRepo,
+            PlatformTransactionManager transactionManager,
+            @Value("${banking.archive.enabled:false}") boolean enabled,
+            @Value("${banking.archive.after-days:365}") int afterDays
+    ) {
+        this.store = store;
+        this.archiveRepo = archiveRepo;
+        this.accountRepo = accountRepo;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.afterDays = Math.max(1, afterDays);
+    }
+
+    // ================= ARCHIVING =================
+
+    @Scheduled(cron = "${banking.archive.cron:0 45 2 * * *}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archive();
+        }
+    }
+
+    /**
+     * Archives every month, oldest first, that ended more than after-days ago.
+     * Stops at the first month that fails, so the archive stays one contiguous range.
+     * Returns the number of rows moved.
+     */
+    public long archive() {
+        YearMonth cutoff = YearMonth.from(LocalDate.now().minusDays(afterDays));
+        long moved = 0;
+        for (YearMonth month = archiveRepo.findOldestMonth();
+             month != null && month.isBefore(cutoff);
+             month = month.plusMonths(1)) {
+            moved += archiveMonth(month);
+        }
+        return moved;
+    }
+
+    /*
+     * One transaction per month: the segment is written from the month's rows, then the
+     * same rows are deleted. If the delete doesn't match the segment, everything rolls
+     * back and the live rows stay. A segment left behind by a crash between the two
+     * steps is reused when it holds exactly the live rows.
+     */
+    private long archiveMonth(YearMonth month) {
+        return transactionTemplate.execute(status -> {
+            long live = archiveRepo.countMonth(month);
+            if (live == 0) {
+                return 0L;
+            }
+
+            Long archived = store.rowCount(month);
+            if (archived == null) {
+                archived = store.write(month, sink -> archiveRepo.streamMonth(month, sink));
+            } else if (archived != live) {
+                throw new RuntimeException("Archive segment for " + month + " has " + archived
+                        + " rows but " + live + " live rows remain; fix by hand before archiving further");
+            }
+
+            int deleted = archiveRepo.deleteMonth(month);
+            if (deleted != archived) {
+                throw new RuntimeException("Archived " + archived + " rows for " + month
+                        + " but would delete " + deleted + "; rolled back");
+            }
+
+            log.info("Archived {} transactions of {}", deleted, month);
+            return (long) deleted;
+        });
+    }
+
+    // First instant that is still in the live table (null = nothing archived)
+    public LocalDateTime liveFrom() {
+        LocalDate day = store.liveFrom();
+        return day == null ? null : day.atStartOfDay();
+    }
+
+    // ================= READ-THROUGH =================
+
+    /**
+     * Tops up a newest-first page of one account's history (accountId) or of all
+     * transactions (null) that was fetched with {@code fetch} rows and came back short.
+     */
+    public List<Transaction> continueHistory(List<Transaction> live, int fetch, TransactionCursor after,
+                                             Long accountId) {
+        return continuePage(live, fetch, after, TransactionCursor::after, accountId, null,
+                ArchivedTransaction::toTransaction);
+    }
+
+    // Same for the bank-wide listing
+    public List<BankTransactionRow> continueBankListing(List<BankTransactionRow> live, int fetch,
+                                                        TransactionCursor after, Long bankId) {
+        return continuePage(live, fetch, after,
+                row -> new TransactionCursor(row.transactionDate(), row.id()),
+                null, bankId, TransactionArchiveService::toBankRow);
+    }
+
+    /** Archived rows in [from, to), optionally of one bank, oldest first (export). */
+    public void forEachArchived(LocalDateTime from, LocalDateTime to, Long bankId, Consumer<Transaction> action) {
+        store.forEachGroupInRange(from, to, bankId, rows -> {
+            Map<Long, BankAccount> accounts = accountsOf(rows);
+            rows.forEach(row -> action.accept(row.toTransaction(accounts.get(row.bankAccountId()))));
+        });
+    }
+
+    private <R> List<R> continuePage(
+            List<R> live,
+            int fetch,
+            TransactionCursor after,
+            Function<R, TransactionCursor> position,
+            Long accountId,
+            Long bankId,
+            BiFunction<ArchivedTransaction, BankAccount, R> mapper) {
+        int missing = fetch - live.size();
+        if (missing <= 0) {
+            return live;
+        }
+        // the live rows ran out: months archived by another node may now hold the rest
+        store.refresh();
+        if (store.isEmpty()) {
+            return live;
+        }
+
+        // below the oldest live row on this page, else below the client's cursor
+        TransactionCursor below = live.isEmpty() ? after : position.apply(live.get(live.size() - 1));
+        List<ArchivedTransaction> older = store.findBefore(accountId, bankId,
+                below == null ? null : below.date(), below == null ? null : below.id(), missing);
+        if (older.isEmpty()) {
+            return live;
+        }
+
+        Map<Long, BankAccount> accounts = accountsOf(older);
+        List<R> rows = new ArrayList<>(live.size() + older.size());
+        rows.addAll(live);
+        older.forEach(row -> rows.add(mapper.apply(row, accounts.get(row.bankAccountId()))));
+        return rows;
+    }
+
+    // Accounts (with bank and customer) of the rows; closed-and-deleted accounts are simply missing
+    private Map<Long, BankAccount> accountsOf(List<ArchivedTransaction> rows) {
+        Set<Long> ids = rows.stream()
+                .map(ArchivedTransaction::bankAccountId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return accountRepo.findAllWithBankAndCustomerByIdIn(ids).stream()
+                .collect(Collectors.toMap(BankAccount::getId, Function.identity()));
+    }
+
+    private static BankTransactionRow toBankRow(ArchivedTransaction row, BankAccount account) {
+        return new BankTransactionRow(
+                row.id(),
+                row.transactionId(),
+                account != null ? account.getBank().getBankName() : null,
+                account != null && account.getCustomer() != null ? account.getCustomer().getName() : null,
+                account != null ? account.getAccountNumber() : null,
+                row.type(),
+                row.amount(),
+                row.balanceAfter(),
+                row.recipientBank(),
+                row.recipientAccount(),
+                row.purpose(),
+                row.transactionDate());
+    }
+}
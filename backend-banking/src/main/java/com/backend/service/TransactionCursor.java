@@ -0,0 +1,58 @@
+package com.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import com.backend.dto.CursorPage;
+import com.backend.entity.Transaction;
+
+/**
+ * Keyset position in a (transaction_date DESC, id DESC) listing.
+ * Clients only ever see the opaque base64url form.
+ */
+public record TransactionCursor(LocalDateTime date, Long id) {
+
+    public static TransactionCursor after(Transaction tx) {
+        return new TransactionCursor(tx.getTransactionDate(), tx.getId());
+    }
+
+    /**
+     * Turns a query result fetched with {@code limit + 1} rows into a page:
+     * the extra row only tells us whether a next page exists.
+     */
+    public static <T> CursorPage<T> page(List<Transaction> rows, int limit, Function<Transaction, T> mapper) {
+        return page(rows, limit, TransactionCursor::after, mapper);
+    }
+
+    public static <R, T> CursorPage<T> page(
+            List<R> rows,
+            int limit,
+            Function<R, TransactionCursor> position,
+            Function<R, T> mapper) {
+        boolean more = rows.size() > limit;
+        List<R> items = more ? rows.subList(0, limit) : rows;
+
+        String next = more ? position.apply(items.get(items.size() - 1)).encode() : null;
+        return new CursorPage<>(items.stream().map(mapper).toList(), next);
+    }
+
+    public String encode() {
+        String raw = date + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TransactionCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            return new TransactionCursor(
+                    LocalDateTime.parse(raw.substring(0, sep)),
+                    Long.valueOf(raw.substring(sep + 1)));
+        } catch (RuntimeException ex) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+}
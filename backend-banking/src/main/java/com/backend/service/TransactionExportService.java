@@ -0,0 +1,167 @@
+package com.backend.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.backend.dto.TransactionResponseDTO;
+import com.backend.entity.Transaction;
+import com.backend.repository.TransactionRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Audit export of the ledger as NDJSON or CSV.
+ *
+ * Rows are streamed from a read-only transaction (JDBC fetch size, see
+ * TransactionRepository#streamForExport) straight into the response, and the
+ * persistence context is cleared every clear-every rows, so heap use does not
+ * grow with the size of the export.
+ */
+@Service
+public class TransactionExportService {
+
+    public enum Format { NDJSON, CSV }
+
+    private static final String CSV_HEADER =
+            "id,transactionId,date,type,amount,balance,bankName,customerName,accountNumber,"
+            + "recipientBank,recipientAccount,purpose";
+
+    // Open-ended filters are replaced by these bounds (keeps the query parameters typed)
+    private static final LocalDateTime MIN_DATE = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_DATE = LocalDateTime.of(9999, 1, 1, 0, 0);
+
+    private final TransactionRepository transactionRepo;
+    private final TransactionArchiveService archiveService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final int clearEvery;
+
+    public TransactionExportService(
+            TransactionRepository transactionRepo,
+            TransactionArchiveService archiveService,
+            EntityManager entityManager,
+            ObjectMapper objectMapper,
+            @Value("${banking.export.clear-every:500}") int clearEvery
+    ) {
+        this.transactionRepo = transactionRepo;
+        this.archiveService = archiveService;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.clearEvery = Math.max(1, clearEvery);
+    }
+
+    /**
+     * Writes every transaction in [from, to) (optionally of one bank), oldest first.
+     * Archived months come from the segment files, the rest from the live table.
+     * Returns the number of rows written.
+     */
+    @Transactional(readOnly = true)
+    public long export(Format format, LocalDateTime from, LocalDateTime to, Long bankId, OutputStream out) {
+        LocalDateTime lower = from != null ? from : MIN_DATE;
+        LocalDateTime upper = to != null ? to : MAX_DATE;
+
+        // archived months are older than anything live, and the archive is authoritative for them
+        LocalDateTime liveFrom = archiveService.liveFrom();
+        LocalDateTime liveLower = liveFrom != null && liveFrom.isAfter(lower) ? liveFrom : lower;
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long[] count = {0};
+
+        try {
+            if (format == Format.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+
+            if (liveFrom != null && lower.isBefore(liveFrom)) {
+                LocalDateTime archiveUpper = upper.isBefore(liveFrom) ? upper : liveFrom;
+                archiveService.forEachArchived(lower, archiveUpper, bankId, tx -> {
+                    try {
+                        write(writer, format, tx, ++count[0]);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+
+            if (liveLower.isBefore(upper)) {
+                try (Stream<Transaction> rows = bankId != null
+                        ? transactionRepo.streamForExportByBank(bankId, liveLower, upper)
+                        : transactionRepo.streamForExport(liveLower, upper)) {
+                    Iterator<Transaction> it = rows.iterator();
+                    while (it.hasNext()) {
+                        write(writer, format, it.next(), ++count[0]);
+                    }
+                }
+            }
+            writer.flush();
+
+        } catch (IOException ex) {
+            // client went away mid-export
+            throw new UncheckedIOException(ex);
+        }
+        return count[0];
+    }
+
+    private void write(Writer writer, Format format, Transaction tx, long count) throws IOException {
+        TransactionResponseDTO dto = TransactionService.toResponseDto(tx);
+        writer.write(format == Format.CSV ? toCsv(dto) : toJson(dto));
+        writer.write('\n');
+
+        // Detach what we've written and push it to the client
+        if (count % clearEvery == 0) {
+            entityManager.clear();
+            writer.flush();
+        }
+    }
+
+    private String toJson(TransactionResponseDTO dto) {
+        try {
+            return objectMapper.writeValueAsString(dto);
+        } catch (JsonProcessingException ex) {
+            throw new RuntimeException("Unable to serialize transaction " + dto.getTransactionId(), ex);
+        }
+    }
+
+    private static String toCsv(TransactionResponseDTO dto) {
+        return String.join(",",
+                csv(dto.getId()),
+                csv(dto.getTransactionId()),
+                csv(dto.getDate()),
+                csv(dto.getType()),
+                csv(dto.getAmount()),
+                csv(dto.getBalance()),
+                csv(dto.getBankName()),
+                csv(dto.getCustomerName()),
+                csv(dto.getAccountNumber()),
+                csv(dto.getRecipientBank()),
+                csv(dto.getRecipientAccount()),
+                csv(dto.getPurpose()));
+    }
+
+    // RFC 4180 quoting, only when needed
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,156 @@
+package com.backend.service;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.backend.repository.TransactionPartitionRepository;
+import com.backend.repository.TransactionSegmentStore;
+
+/**
+ * Keeps the monthly transactions partitions (Postgres) in shape:
+ * creates the current month and premake-months ahead, so inserts never hit a missing
+ * range, and detaches months older than retention-months (0 = keep everything).
+ *
+ * Only months that TransactionArchiveService has already written to a segment are
+ * detached: the archiver reads the live transactions table, so a month detached before
+ * it was archived would vanish from history, export and search. Archiving also deletes
+ * the month's rows, so what gets detached is an empty partition; one that still holds
+ * rows is kept. Months past retention wait until they are archived.
+ *
+ * Runs at startup and daily; does nothing when the table isn't partitioned (H2, or
+ * before the V6 migration).
+ */
+@Service
+public class TransactionPartitionService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionPartitionService.class);
+
+    // transactions_y2024m06 = June 2024, same pattern as the V6 migration
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'transactions_y'yyyy'm'MM");
+
+    private final TransactionPartitionRepository partitionRepo;
+    private final TransactionSegmentStore segmentStore;
+    private final TransactionTemplate transactionTemplate;
+    private final int premakeMonths;
+    private final int retentionMonths;
+    private final long lockTimeoutMs;
+
+    public TransactionPartitionService(
+            TransactionPartitionRepository partitionRepo,
+            TransactionSegmentStore segmentStore,
+            PlatformTransactionManager transactionManager,
+            @Value("${banking.partitions.premake-months:3}") int premakeMonths,
+            @Value("${banking.partitions.retention-months:0}") int retentionMonths,
+            @Value("${banking.partitions.lock-timeout-ms:5000}") long lockTimeoutMs
+    ) {
+        this.partitionRepo = partitionRepo;
+        this.segmentStore = segmentStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.premakeMonths = Math.max(1, premakeMonths);
+        this.retentionMonths = Math.max(0, retentionMonths);
+        this.lockTimeoutMs = lockTimeoutMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${banking.partitions.cron:0 15 2 * * *}")
+    public void maintain() {
+        if (!partitionRepo.isPartitioned()) {
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!partitionRepo.tryMaintenanceLock()) {
+                return;
+            }
+            partitionRepo.setLockTimeout(lockTimeoutMs);
+
+            YearMonth now = YearMonth.now();
+            List<String> existing = partitionRepo.findPartitionNames();
+
+            for (YearMonth month : monthsToCreate(existing, now, premakeMonths)) {
+                partitionRepo.createPartition(partitionName(month), month.atDay(1), month.plusMonths(1).atDay(1));
+                log.info("Created transactions partition {}", partitionName(month));
+            }
+            // the archiver may run on another node
+            segmentStore.refresh();
+            Set<YearMonth> archived = new TreeSet<>(segmentStore.months());
+            for (String name : partitionsToDetach(existing, now, retentionMonths, archived)) {
+                if (!partitionRepo.isEmpty(name)) {
+                    log.warn("Keeping transactions partition {}: archived, but it still holds rows", name);
+                    continue;
+                }
+                partitionRepo.detachPartition(name);
+                log.info("Detached transactions partition {} (older than {} months)", name, retentionMonths);
+            }
+        });
+    }
+
+    // ================= PLANNING =================
+
+    static String partitionName(YearMonth month) {
+        return PARTITION_NAME.format(month.atDay(1));
+    }
+
+    // null for tables that don't follow the naming pattern (left alone)
+    static YearMonth partitionMonth(String name) {
+        try {
+            return YearMonth.parse(name, PARTITION_NAME);
+        } catch (DateTimeParseException ex) {
+            return null;
+        }
+    }
+
+    // Current month .. premake months ahead, minus what already exists
+    static List<YearMonth> monthsToCreate(List<String> existing, YearMonth now, int premakeMonths) {
+        Set<YearMonth> present = new TreeSet<>();
+        for (String name : existing) {
+            YearMonth month = partitionMonth(name);
+            if (month != null) {
+                present.add(month);
+            }
+        }
+
+        List<YearMonth> missing = new ArrayList<>();
+        for (int i = 0; i <= premakeMonths; i++) {
+            if (!present.contains(now.plusMonths(i))) {
+                missing.add(now.plusMonths(i));
+            }
+        }
+        return missing;
+    }
+
+    // Whole archived months before (now - retention); the current month is never detached
+    static List<String> partitionsToDetach(List<String> existing, YearMonth now, int retentionMonths,
+                                           Set<YearMonth> archived) {
+        if (retentionMonths <= 0) {
+            return List.of();
+        }
+        YearMonth oldestKept = now.minusMonths(retentionMonths);
+        return existing.stream()
+                .filter(name -> {
+                    YearMonth month = partitionMonth(name);
+                    return month != null && month.isBefore(oldestKept) && archived.contains(month);
+                })
+                .sorted()
+                .toList();
+    }
+}
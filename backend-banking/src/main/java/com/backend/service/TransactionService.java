@@ -1,17 +1,30 @@
 package com.backend.service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.backend.dto.AccountRef;
+import com.backend.dto.BankTransactionRow;
+import com.backend.dto.CursorPage;
 import com.backend.dto.CustomerTransactionResponseDTO;
 import com.backend.dto.TransactionResponseDTO;
+import com.backend.dto.TransactionSearchRequest;
 import com.backend.entity.BankAccount;
 import com.backend.entity.Transaction;
 import com.backend.repository.BankAccountRepository;
 import com.backend.repository.TransactionRepository;
+import com.backend.repository.TransactionSpecifications;
 
 import lombok.RequiredArgsConstructor;
 
@@ -19,11 +32,30 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class TransactionService {
 
+    private static final Set<String> SEARCH_TYPES = Set.of("DEPOSIT", "WITHDRAW", "TRANSFER");
+
+    // ?sort= keys for the search → Transaction properties
+    private static final Map<String, String> SEARCH_SORT_PATHS = Map.of(
+            "date", "transactionDate",
+            "amount", "amount",
+            "type", "type");
+
 	@Autowired
     private TransactionRepository transactionRepo;
 	@Autowired
     private BankAccountRepository accountRepo;
-
+	@Autowired
+    private TransactionArchiveService archiveService;
+	@Autowired
+    private AccountDirectory accountDirectory;
+	@Value("${banking.transactions.max-page-size:500}")
+    private int maxPageSize;
+	@Value("${banking.transactions.bank-max-results:5000}")
+    private int bankMaxResults;
+	@Value("${banking.transactions.search-max-page-size:500}")
+    private int searchMaxPageSize;
+
+    @Transactional(readOnly = true)
     public List<CustomerTransactionResponseDTO> getCustomerTransactions(String email, String accountNumber) {
         BankAccount account = accountRepo.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new RuntimeException("Account not found"));
@@ -39,17 +71,77 @@ public class TransactionService {
                 .collect(Collectors.toList());
     }
 
-    // Bank manager method (unchanged from your working version)
-    public List<CustomerTransactionResponseDTO> getBankTransactions(Long bankId) {
-        List<BankAccount> accounts = accountRepo.findByBankId(bankId);
+    // Bank manager method: one fetch-joined, date-ordered query, capped at bank-max-results
+    @Transactional(readOnly = true)
+    public CursorPage<CustomerTransactionResponseDTO> getBankTransactions(Long bankId, Integer limit, String cursor) {
+        int size = (limit == null || limit < 1) ? bankMaxResults : Math.min(limit, bankMaxResults);
+        Limit fetch = Limit.of(size + 1);
+
+        TransactionCursor after = (cursor == null || cursor.isBlank()) ? null : TransactionCursor.decode(cursor);
+        List<BankTransactionRow> rows = after == null
+                ? transactionRepo.findPageByBankId(bankId, fetch)
+                : transactionRepo.findPageByBankIdBefore(bankId, after.date(), after.id(), fetch);
+        rows = archiveService.continueBankListing(rows, fetch.max(), after, bankId);
+
+        return TransactionCursor.page(rows, size,
+                row -> new TransactionCursor(row.transactionDate(), row.id()),
+                TransactionService::mapToDto);
+    }
 
-        return accounts.stream()
-                .flatMap(account -> transactionRepo
-                        .findByBankAccountIdOrderByTransactionDateDesc(account.getId())
-                        .stream()
-                        .map(tx -> mapToDto(tx, account))
-                )
-                .collect(Collectors.toList());
+    // ================= SEARCH =================
+
+    // Filters are applied in SQL; one row query (account, bank, customer fetch-joined) + one count
+    @Transactional(readOnly = true)
+    public Page<CustomerTransactionResponseDTO> searchBankTransactions(TransactionSearchRequest req, Pageable pageable) {
+        if (req.getBankId() == null) {
+            throw new RuntimeException("bankId is required");
+        }
+        String type = blankToNull(req.getType());
+        if (type != null) {
+            type = type.toUpperCase();
+            if (!SEARCH_TYPES.contains(type)) {
+                throw new RuntimeException("Unsupported transaction type: " + req.getType());
+            }
+        }
+
+        Specification<Transaction> spec = Specification
+                .where(TransactionSpecifications.inBank(req.getBankId()))
+                .and(TransactionSpecifications.hasType(type))
+                .and(TransactionSpecifications.dateFrom(req.getFrom()))
+                .and(TransactionSpecifications.dateBefore(req.getTo()))
+                .and(TransactionSpecifications.amountAtLeast(req.getMinAmount()))
+                .and(TransactionSpecifications.amountAtMost(req.getMaxAmount()))
+                .and(TransactionSpecifications.counterparty(blankToNull(req.getCounterpartyAccount())))
+                .and(TransactionSpecifications.purposeContains(blankToNull(req.getPurpose())));
+
+        return transactionRepo.findAll(spec, pageable).map(tx -> mapToDto(tx, tx.getBankAccount()));
+    }
+
+    // Always paged (size capped at search-max-page-size); newest first unless ?sort= says otherwise
+    public Pageable searchPage(Integer page, Integer size, String sort) {
+        return ListingPage.of(page == null ? 0 : page, size,
+                sort == null || sort.isBlank() ? "date,desc" : sort,
+                searchMaxPageSize, SEARCH_SORT_PATHS, "id");
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static CustomerTransactionResponseDTO mapToDto(BankTransactionRow row) {
+        CustomerTransactionResponseDTO dto = new CustomerTransactionResponseDTO();
+        dto.setId(row.transactionId());
+        dto.setBank(row.bankName());
+        dto.setCustomerName(row.customerName());
+        dto.setAccountNo(row.accountNumber());
+        dto.setType(row.type());
+        dto.setAmount(row.amount());
+        dto.setBalance(row.balanceAfter());
+        dto.setRecipientBank(row.recipientBank() != null ? row.recipientBank() : "-");
+        dto.setRecipientAccount(row.recipientAccount() != null ? row.recipientAccount() : "-");
+        dto.setPurpose(row.purpose() != null ? row.purpose() : "-");
+        dto.setDate(row.transactionDate());
+        return dto;
     }
 
     private CustomerTransactionResponseDTO mapToDto(Transaction tx, BankAccount account) {
@@ -70,6 +162,7 @@ public class TransactionService {
     
 
     // Fetch all transactions or by account number
+    @Transactional(readOnly = true)
     public List<TransactionResponseDTO> getTransactions(String accountNumber) {
         List<Transaction> transactions;
 
@@ -81,24 +174,53 @@ public class TransactionService {
             transactions = transactionRepo.findAll();
         }
 
-        return transactions.stream().map(tx -> {
-            TransactionResponseDTO dto = new TransactionResponseDTO();
-            dto.setId(tx.getId());
-            dto.setTransactionId(tx.getTransactionId());
-            dto.setType(tx.getType());
-            dto.setAmount(tx.getAmount());
-            dto.setBalance(tx.getBalanceAfter());
-            dto.setDate(tx.getTransactionDate());
-            dto.setBankName(tx.getBankAccount() != null ? tx.getBankAccount().getBank().getBankName() : null);
-            dto.setCustomerName(tx.getBankAccount() != null && tx.getBankAccount().getCustomer() != null
-                    ? tx.getBankAccount().getCustomer().getName()
-                    : null);
-            dto.setAccountNumber(tx.getBankAccount() != null ? tx.getBankAccount().getAccountNumber() : null);
-            dto.setRecipientBank(tx.getRecipientBank());
-            dto.setRecipientAccount(tx.getRecipientAccount());
-            dto.setPurpose(tx.getPurpose());
-            return dto;
-        }).collect(Collectors.toList());
+        return transactions.stream().map(TransactionService::toResponseDto).collect(Collectors.toList());
+    }
+
+    // Keyset page of the same listing, newest first
+    @Transactional(readOnly = true)
+    public CursorPage<TransactionResponseDTO> getTransactions(String accountNumber, Integer limit, String cursor) {
+        int size = (limit == null || limit < 1) ? maxPageSize : Math.min(limit, maxPageSize);
+        Limit fetch = Limit.of(size + 1);
+        TransactionCursor after = (cursor == null || cursor.isBlank()) ? null : TransactionCursor.decode(cursor);
+
+        List<Transaction> rows;
+        Long accountId = null;
+        if (accountNumber != null && !accountNumber.isEmpty()) {
+            accountId = accountDirectory.byAccountNumber(accountNumber).map(AccountRef::id).orElse(null);
+            if (accountId == null) {
+                return new CursorPage<>(List.of(), null);
+            }
+            rows = after == null
+                    ? transactionRepo.findPageByAccountId(accountId, fetch)
+                    : transactionRepo.findPageByAccountIdBefore(accountId, after.date(), after.id(), fetch);
+        } else {
+            rows = after == null
+                    ? transactionRepo.findPage(fetch)
+                    : transactionRepo.findPageBefore(after.date(), after.id(), fetch);
+        }
+        rows = archiveService.continueHistory(rows, fetch.max(), after, accountId);
+
+        return TransactionCursor.page(rows, size, TransactionService::toResponseDto);
+    }
+
+    static TransactionResponseDTO toResponseDto(Transaction tx) {
+        TransactionResponseDTO dto = new TransactionResponseDTO();
+        dto.setId(tx.getId());
+        dto.setTransactionId(tx.getTransactionId());
+        dto.setType(tx.getType());
+        dto.setAmount(tx.getAmount());
+        dto.setBalance(tx.getBalanceAfter());
+        dto.setDate(tx.getTransactionDate());
+        dto.setBankName(tx.getBankAccount() != null ? tx.getBankAccount().getBank().getBankName() : null);
+        dto.setCustomerName(tx.getBankAccount() != null && tx.getBankAccount().getCustomer() != null
+                ? tx.getBankAccount().getCustomer().getName()
+                : null);
+        dto.setAccountNumber(tx.getBankAccount() != null ? tx.getBankAccount().getAccountNumber() : null);
+        dto.setRecipientBank(tx.getRecipientBank());
+        dto.setRecipientAccount(tx.getRecipientAccount());
+        dto.setPurpose(tx.getPurpose());
+        return dto;
     }
 
     
@@ -1,14 +1,26 @@
 package com.backend.service;
 
 import java.time.LocalDateTime;
-import java.util.UUID;
-
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.backend.config.RetryOnConflict;
+import com.backend.config.TransactionIdGenerator;
+import com.backend.dto.AccountRef;
 import com.backend.dto.TransferRequest;
+import com.backend.dto.TransferResultDTO;
 import com.backend.entity.BankAccount;
 import com.backend.entity.Transaction;
 import com.backend.repository.BankAccountRepository;
+import com.backend.repository.BankDailyStatsRepository;
+import com.backend.repository.TransactionBatchRepository;
 import com.backend.repository.TransactionRepository;
 
 import jakarta.transaction.Transactional;
@@ -19,26 +31,137 @@ public class TransferService {
 
     private final BankAccountRepository bankAccountRepo;
     private final TransactionRepository transactionRepo;
+    private final TransactionBatchRepository transactionBatchRepo;
+    private final BankDailyStatsRepository dailyStatsRepo;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final BankDirectory bankDirectory;
+    private final AccountDirectory accountDirectory;
+
+    // PESSIMISTIC = SELECT ... FOR UPDATE, OPTIMISTIC = @Version check + retry
+    private final boolean optimistic;
+    private final int maxBatchItems;
 
     public TransferService(BankAccountRepository bankAccountRepo,
-                           TransactionRepository transactionRepo) {
+                           TransactionRepository transactionRepo,
+                           TransactionBatchRepository transactionBatchRepo,
+                           BankDailyStatsRepository dailyStatsRepo,
+                           TransactionIdGenerator transactionIdGenerator,
+                           BankDirectory bankDirectory,
+                           AccountDirectory accountDirectory,
+                           @Value("${banking.transfer.lock-mode:PESSIMISTIC}") String lockMode,
+                           @Value("${banking.transfer.batch.max-items:1000}") int maxBatchItems) {
         this.bankAccountRepo = bankAccountRepo;
         this.transactionRepo = transactionRepo;
+        this.transactionBatchRepo = transactionBatchRepo;
+        this.dailyStatsRepo = dailyStatsRepo;
+        this.transactionIdGenerator = transactionIdGenerator;
+        this.bankDirectory = bankDirectory;
+        this.accountDirectory = accountDirectory;
+        this.optimistic = "OPTIMISTIC".equalsIgnoreCase(lockMode);
+        this.maxBatchItems = maxBatchItems;
     }
 
+    @RetryOnConflict
     public void transferMoney(TransferRequest req) {
 
-        // ================= FETCH ACCOUNTS =================
-        BankAccount sender = bankAccountRepo
-                .findByAccountNumber(req.getSenderAccountNumber())
+        // Same rules as batch items: a negative amount would move money receiver → sender
+        validate(req);
+
+        // ================= RESOLVE ACCOUNT IDS (in memory) =================
+        Long senderId = accountDirectory
+                .byAccountNumber(req.getSenderAccountNumber())
+                .map(AccountRef::id)
                 .orElseThrow(() -> new RuntimeException("Sender account not found"));
 
-        BankAccount receiver = bankAccountRepo
-                .findByAccountNumberAndIfscCode(
+        Long receiverId = accountDirectory
+                .byAccountNumberAndIfsc(
                         req.getReceiverAccountNumber(),
                         req.getIfscCode())
+                .map(AccountRef::id)
                 .orElseThrow(() -> new RuntimeException("Receiver account not found"));
 
+        // ================= LOCK ROWS (FIXED ORDER) =================
+        // Always lock the lower id first so A→B and B→A can never deadlock
+        BankAccount first = loadAccount(Math.min(senderId, receiverId));
+        BankAccount second = senderId.equals(receiverId)
+                ? first
+                : loadAccount(Math.max(senderId, receiverId));
+
+        BankAccount sender = first.getId().equals(senderId) ? first : second;
+        BankAccount receiver = first.getId().equals(receiverId) ? first : second;
+
+        List<Transaction> ledger = applyTransfer(sender, receiver, req);
+        // Flush first: balance UPDATEs (the account locks in OPTIMISTIC mode) come before
+        // the stats rows, the same order as every other ledger write
+        transactionRepo.saveAllAndFlush(ledger);
+        dailyStatsRepo.addAll(ledger);
+    }
+
+    /* ================= BATCH TRANSFER ================= */
+    // All items in ONE transaction; a rejected item is reported, not fatal
+    @RetryOnConflict
+    public List<TransferResultDTO> transferBatch(List<TransferRequest> requests) {
+
+        if (requests == null || requests.isEmpty()) {
+            throw new RuntimeException("Batch contains no transfers");
+        }
+        if (requests.size() > maxBatchItems) {
+            throw new RuntimeException("Batch too large (max " + maxBatchItems + " transfers)");
+        }
+
+        // ================= LOCK EVERY INVOLVED ACCOUNT (ONE QUERY, ID ORDER) =================
+        Set<String> accountNumbers = new HashSet<>();
+        for (TransferRequest req : requests) {
+            if (req != null && req.getSenderAccountNumber() != null) {
+                accountNumbers.add(req.getSenderAccountNumber());
+            }
+            if (req != null && req.getReceiverAccountNumber() != null) {
+                accountNumbers.add(req.getReceiverAccountNumber());
+            }
+        }
+
+        Map<String, BankAccount> accounts = new HashMap<>();
+        for (BankAccount account : bankAccountRepo.findAllByAccountNumberInForUpdate(accountNumbers)) {
+            accounts.put(account.getAccountNumber(), account);
+        }
+
+        // ================= APPLY IN REQUEST ORDER =================
+        List<TransferResultDTO> results = new ArrayList<>(requests.size());
+        List<Transaction> ledger = new ArrayList<>(requests.size() * 2);
+
+        for (int i = 0; i < requests.size(); i++) {
+            TransferRequest req = requests.get(i);
+            try {
+                validate(req);
+
+                BankAccount sender = accounts.get(req.getSenderAccountNumber());
+                if (sender == null) {
+                    throw new RuntimeException("Sender account not found");
+                }
+
+                BankAccount receiver = accounts.get(req.getReceiverAccountNumber());
+                if (receiver == null || !receiver.getIfscCode().equals(req.getIfscCode())) {
+                    throw new RuntimeException("Receiver account not found");
+                }
+
+                ledger.addAll(applyTransfer(sender, receiver, req));
+                results.add(new TransferResultDTO(i, req, "SUCCESS", "Transfer successful"));
+            } catch (RuntimeException ex) {
+                results.add(new TransferResultDTO(i, req, "FAILED", ex.getMessage()));
+            }
+        }
+
+        // ================= JDBC-BATCHED LEDGER INSERT =================
+        // (balance UPDATEs are batched by Hibernate at flush)
+        transactionBatchRepo.insertAll(ledger);
+        dailyStatsRepo.addAll(ledger);
+
+        return results;
+    }
+
+    // Checks both accounts, moves the money and returns the two ledger rows (unsaved)
+    private List<Transaction> applyTransfer(BankAccount sender, BankAccount receiver, TransferRequest req) {
+
         // ================= NEW CHECK: Receiver must be ACTIVE =================
         if (!"ACTIVE".equals(receiver.getStatus())) {
             throw new RuntimeException("Cannot transfer to inactive account");
@@ -58,35 +181,49 @@ public class TransferService {
         sender.setBalance(sender.getBalance().subtract(req.getAmount()));
         receiver.setBalance(receiver.getBalance().add(req.getAmount()));
 
-        bankAccountRepo.save(sender);
-        bankAccountRepo.save(receiver);
-
-        // ================= SAVE TRANSACTION (SENDER) =================
+        // ================= TRANSACTION (SENDER) =================
+        // (bank names from BankDirectory: the lazy bank proxies are never loaded)
         Transaction senderTx = new Transaction();
-        senderTx.setTransactionId(UUID.randomUUID().toString());
+        senderTx.setTransactionId(transactionIdGenerator.nextId());
         senderTx.setType("TRANSFER");
         senderTx.setAmount(req.getAmount());
         senderTx.setBalanceAfter(sender.getBalance());
         senderTx.setRecipientAccount(receiver.getAccountNumber());
-        senderTx.setRecipientBank(receiver.getBank().getBankName());
+        senderTx.setRecipientBank(bankDirectory.bankName(receiver.getBank().getId()));
         senderTx.setPurpose(req.getPurpose());
         senderTx.setBankAccount(sender);
         senderTx.setTransactionDate(LocalDateTime.now());
 
-        transactionRepo.save(senderTx);
-
-        // ================= SAVE TRANSACTION (RECEIVER) =================
+        // ================= TRANSACTION (RECEIVER) =================
         Transaction receiverTx = new Transaction();
-        receiverTx.setTransactionId(UUID.randomUUID().toString());
+        receiverTx.setTransactionId(transactionIdGenerator.nextId());
         receiverTx.setType("DEPOSIT");
         receiverTx.setAmount(req.getAmount());
         receiverTx.setBalanceAfter(receiver.getBalance());
         receiverTx.setRecipientAccount(sender.getAccountNumber());
-        receiverTx.setRecipientBank(sender.getBank().getBankName());
+        receiverTx.setRecipientBank(bankDirectory.bankName(sender.getBank().getId()));
         receiverTx.setPurpose("Received from " + sender.getAccountNumber());
         receiverTx.setBankAccount(receiver);
         receiverTx.setTransactionDate(LocalDateTime.now());
 
-        transactionRepo.save(receiverTx);
+        return List.of(senderTx, receiverTx);
+    }
+
+    private void validate(TransferRequest req) {
+        if (req == null
+                || req.getSenderAccountNumber() == null
+                || req.getReceiverAccountNumber() == null
+                || req.getIfscCode() == null) {
+            throw new RuntimeException("Sender, receiver and IFSC code are required");
+        }
+        if (req.getAmount() == null || req.getAmount().signum() <= 0) {
+            throw new RuntimeException("Amount must be greater than zero");
+        }
+    }
+
+    private BankAccount loadAccount(Long id) {
+        // Optimistic: plain read, a concurrent change fails the version check on flush
+        return (optimistic ? bankAccountRepo.findById(id) : bankAccountRepo.findByIdForUpdate(id))
+                .orElseThrow(() -> new RuntimeException("Account not found"));
     }
 }
\ No newline at end of file
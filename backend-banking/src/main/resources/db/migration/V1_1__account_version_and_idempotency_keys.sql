@@ -0,0 +1,15 @@
+-- Added after the V1 baseline: optimistic-lock version of bank_accounts (existing rows start
+-- at 0) and the Idempotency-Key table. Runs before V2, which indexes idempotency_keys.
+
+alter table bank_accounts add column version bigint default 0 not null;
+
+create table idempotency_keys (
+    response_status integer,
+    created_on timestamp(6) not null,
+    id bigserial not null,
+    endpoint varchar(30) not null,
+    request_hash varchar(64) not null,
+    idempotency_key varchar(100) not null unique,
+    response_body varchar(2000),
+    primary key (id)
+);
@@ -0,0 +1,119 @@
+-- Baseline: the schema Hibernate (ddl-auto=update) produced before migrations were introduced.
+-- Existing databases are baselined at this version and skip it (spring.flyway.baseline-on-migrate),
+-- so nothing added since belongs here: later changes go in later migrations, which they do run.
+
+create table admins (
+    id bigserial not null,
+    email varchar(100) not null unique,
+    password varchar(255) not null,
+    role varchar(255) not null,
+    primary key (id)
+);
+
+create table bank_managers (
+    age integer,
+    admin_id bigint,
+    bank_manager_id bigint unique,
+    id bigserial not null,
+    pincode varchar(10),
+    contact_no varchar(15),
+    city varchar(255),
+    email varchar(255) not null unique,
+    gender varchar(255),
+    name varchar(255) not null,
+    password varchar(255) not null,
+    role varchar(255) not null,
+    street varchar(255),
+    primary key (id)
+);
+
+create table banks (
+    admin_id bigint not null,
+    bank_manager_id bigint not null unique,
+    id bigserial not null,
+    bank_address varchar(255),
+    bank_code varchar(255),
+    bank_email varchar(255),
+    bank_name varchar(255),
+    country varchar(255),
+    currency varchar(255),
+    phone_number varchar(255),
+    website varchar(255),
+    primary key (id)
+);
+
+create table customers (
+    age integer not null,
+    bank_id bigint not null,
+    id bigserial not null,
+    city varchar(255),
+    contact varchar(255),
+    email varchar(255) not null unique,
+    gender varchar(255),
+    name varchar(255),
+    password varchar(255),
+    pincode varchar(255),
+    role varchar(255) not null,
+    status varchar(255) not null,
+    street varchar(255),
+    primary key (id)
+);
+
+create table bank_accounts (
+    balance numeric(15,2) not null,
+    bank_id bigint,
+    created_on timestamp(6) not null,
+    customer_id bigint not null,
+    id bigserial not null,
+    ifsc_code varchar(15) not null,
+    account_number varchar(20) not null unique,
+    account_type varchar(255),
+    status varchar(255) not null,
+    primary key (id)
+);
+
+create table transactions (
+    amount numeric(38,2) not null,
+    balance_after numeric(38,2),
+    bank_account_id bigint,
+    id bigserial not null,
+    receiver_account_id bigint,
+    sender_account_id bigint,
+    transaction_date timestamp(6),
+    transaction_id varchar(255) not null unique,
+    purpose varchar(255),
+    recipient_account varchar(255),
+    recipient_bank varchar(255),
+    type varchar(255),
+    primary key (id)
+);
+
+alter table if exists bank_managers
+    add constraint FK9autkc167p66qknva8jw9khhy foreign key (admin_id) references admins;
+
+alter table if exists bank_managers
+    add constraint FKdjbd5eq6ydewy8j8ko4a6pdy7 foreign key (bank_manager_id) references bank_managers;
+
+alter table if exists banks
+    add constraint FK2dl7c2d7irjhlcjss5u1j1i9g foreign key (admin_id) references admins;
+
+alter table if exists banks
+    add constraint FKibqmi5wnw6igc92iyqsqe4ivo foreign key (bank_manager_id) references bank_managers;
+
+alter table if exists customers
+    add constraint FKd3e9m299p7t3rmgosry6doq6u foreign key (bank_id) references banks;
+
+alter table if exists bank_accounts
+    add constraint FK8ngd2pjw12xdt5wasywldwjy3 foreign key (bank_id) references banks;
+
+alter table if exists bank_accounts
+    add constraint FKp50dmd8rost9bdqfvosjihkv7 foreign key (customer_id) references customers;
+
+alter table if exists transactions
+    add constraint FK59wy892j0r3ye2oxj71rrj02 foreign key (bank_account_id) references bank_accounts;
+
+alter table if exists transactions
+    add constraint FKk7y40ir7f0513lrti31hx3iot foreign key (receiver_account_id) references bank_accounts;
+
+alter table if exists transactions
+    add constraint FKn71v8ox21w0o3uj1t2hhjkgqy foreign key (sender_account_id) references bank_accounts;
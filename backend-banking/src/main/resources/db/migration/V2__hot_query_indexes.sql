@@ -0,0 +1,48 @@
+-- Indexes for the repository queries on the request path.
+-- IF NOT EXISTS: databases that ran ddl-auto=update may already have some of them.
+-- Unique columns (account_number, customers.email, transaction_id, ...) are already
+-- indexed by their constraints.
+
+-- ================= transactions =================
+
+-- Per-account history, newest first + keyset paging (bank_account_id, transaction_date, id) < cursor.
+-- Also serves the bank-wide listing (bank_accounts → transactions join).
+create index if not exists idx_txn_account_date_id
+    on transactions (bank_account_id, transaction_date, id);
+
+-- Global keyset paging and date-range export
+create index if not exists idx_txn_date_id
+    on transactions (transaction_date, id);
+
+-- findBySenderAccountOrReceiverAccount; also keeps FK checks on account delete cheap
+create index if not exists idx_txn_sender_account
+    on transactions (sender_account_id);
+
+create index if not exists idx_txn_receiver_account
+    on transactions (receiver_account_id);
+
+-- ================= bank_accounts =================
+
+-- Transfer receiver lookup (account number + IFSC → id) answered from the index alone
+create index if not exists idx_acc_number_ifsc
+    on bank_accounts (account_number, ifsc_code, id);
+
+-- Customer → account (findByCustomer_Email, findIdByCustomer_Email, cash batches)
+create index if not exists idx_acc_customer
+    on bank_accounts (customer_id);
+
+-- Bank listings with optional status filter, id order (findByBankId, findSummaries)
+create index if not exists idx_acc_bank_status
+    on bank_accounts (bank_id, status, id);
+
+-- ================= customers =================
+
+-- Customers of a bank in id order (findByBank, findListing)
+create index if not exists idx_cust_bank
+    on customers (bank_id, id);
+
+-- ================= idempotency_keys =================
+
+-- Scheduled purge of expired keys
+create index if not exists idx_idem_created_on
+    on idempotency_keys (created_on);
@@ -0,0 +1,18 @@
+-- Indexes for POST /api/bank/transactions/search (TransactionSpecifications).
+-- The search runs per bank: bank_accounts (idx_acc_bank_status) → transactions by account,
+-- so the transaction side leads with bank_account_id.
+
+-- Type filter, with the date range and the default date order on top
+create index if not exists idx_txn_account_type_date
+    on transactions (bank_account_id, type, transaction_date, id);
+
+-- Amount range within an account
+create index if not exists idx_txn_account_amount
+    on transactions (bank_account_id, amount);
+
+-- Counterparty lookup ("everything to/from account X")
+create index if not exists idx_txn_recipient_account
+    on transactions (recipient_account, transaction_date);
+
+-- Purpose substring search: trigram index in db/vendor/postgresql (other databases
+-- fall back to filtering the bank's rows)
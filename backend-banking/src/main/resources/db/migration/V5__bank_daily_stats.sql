@@ -0,0 +1,14 @@
+-- Per-bank daily ledger totals, kept up to date in the same transaction as every
+-- ledger insert (BankDailyStatsRepository) and rebuilt from transactions on demand.
+-- One row per (bank, day, type): dashboards read O(days) rows instead of the ledger.
+-- Derived data, so no foreign key to banks: deleting a bank is not blocked by its history.
+-- (V4 is the Postgres-only trigram index in db/vendor/postgresql.)
+
+create table bank_daily_stats (
+    bank_id bigint not null,
+    stat_date date not null,
+    type varchar(20) not null,
+    txn_count bigint not null,
+    total_amount numeric(38,2) not null,
+    primary key (bank_id, stat_date, type)
+);
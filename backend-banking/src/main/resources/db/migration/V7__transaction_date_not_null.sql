@@ -0,0 +1,3 @@
+-- transaction_date is the partition key on Postgres (V6) and required everywhere.
+update transactions set transaction_date = current_timestamp where transaction_date is null;
+alter table transactions alter column transaction_date set not null;
@@ -0,0 +1,16 @@
+-- Change events for the in-process caches of other nodes (CacheInvalidationBus): written
+-- in the transaction that makes the change, so a rolled-back change is never announced.
+-- On Postgres each row is also sent with pg_notify; nodes poll recent rows as the fallback
+-- for missed notifications (and as the only channel elsewhere). Rows are purged after
+-- banking.cache-bus.retention-minutes.
+
+create table cache_invalidations (
+    id bigserial not null,
+    kind varchar(20) not null,
+    entity_key varchar(255) not null,
+    origin varchar(36) not null,
+    created_at timestamp not null,
+    primary key (id)
+);
+
+create index idx_cache_invalidations_created on cache_invalidations (created_at);
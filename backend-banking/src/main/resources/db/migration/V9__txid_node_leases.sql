@@ -0,0 +1,10 @@
+-- Node ids (0..1023) for TransactionIdGenerator when banking.txid.node-id is not set: each
+-- instance leases a free row at startup and renews it while it runs. A lease that has not
+-- been renewed for banking.txid.lease-ttl-seconds may be taken over by another instance.
+
+create table txid_node_leases (
+    node_id integer not null,
+    owner varchar(200) not null,
+    renewed_at timestamp not null,
+    primary key (node_id)
+);
@@ -0,0 +1,70 @@
+package com.backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.CannotAcquireLockException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ConflictRetryAspectTest {
+
+    private static final int MAX_ATTEMPTS = 4;
+
+    private final ConflictRetryAspect aspect = new ConflictRetryAspect(new SimpleMeterRegistry(), MAX_ATTEMPTS, 0, 1.0, 0);
+
+    public static class Inner {
+        final AtomicInteger calls = new AtomicInteger();
+
+        @RetryOnConflict
+        public void alwaysConflicts() {
+            calls.incrementAndGet();
+            throw new CannotAcquireLockException("lock timeout");
+        }
+    }
+
+    public static class Outer {
+        Inner inner;
+
+        @RetryOnConflict
+        public void callInner() {
+            inner.alwaysConflicts();
+        }
+    }
+
+    @Test
+    void retriesUpToMaxAttempts() {
+        Inner target = new Inner();
+        Inner inner = proxy(target);
+
+        assertThrows(CannotAcquireLockException.class, inner::alwaysConflicts);
+        assertEquals(MAX_ATTEMPTS, target.calls.get());
+    }
+
+    @Test
+    void nestedRetryMethodsShareTheOuterLoop() {
+        Inner innerTarget = new Inner();
+        Outer outerTarget = new Outer();
+        outerTarget.inner = proxy(innerTarget);
+        Outer outer = proxy(outerTarget);
+
+        assertThrows(CannotAcquireLockException.class, outer::callInner);
+        assertEquals(MAX_ATTEMPTS, innerTarget.calls.get());   // not MAX_ATTEMPTS²
+
+        // the loop is left behind cleanly: the next call retries again
+        assertThrows(CannotAcquireLockException.class, outerTarget.inner::alwaysConflicts);
+        assertEquals(2 * MAX_ATTEMPTS, innerTarget.calls.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return (T) factory.getProxy();
+    }
+}
@@ -0,0 +1,61 @@
+package com.backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+class JwtUtilTest {
+
+    private final JwtUtil jwtUtil = new JwtUtil(100);
+
+    @Test
+    void verifiesOnceAndServesRepeatsFromTheCache() {
+        String token = jwtUtil.generateToken("manager@test.com", "BANK");
+
+        for (int i = 0; i < 3; i++) {
+            JwtUtil.VerifiedToken verified = jwtUtil.verify(token).orElseThrow();
+            assertEquals("manager@test.com", verified.email());
+            assertEquals("BANK", verified.role());
+        }
+        assertEquals("manager@test.com", jwtUtil.extractUsername(token));
+        assertEquals("BANK", jwtUtil.extractRole(token));
+    }
+
+    @Test
+    void rejectsTamperedMalformedAndExpiredTokens() {
+        String token = jwtUtil.generateToken("customer@test.com", "CUSTOMER");
+        assertTrue(jwtUtil.isTokenValid(token));
+
+        // a cached genuine token must not vouch for a different signature
+        int at = token.length() - 10;
+        String tampered = token.substring(0, at) + (token.charAt(at) == 'A' ? 'B' : 'A') + token.substring(at + 1);
+        assertFalse(jwtUtil.isTokenValid(tampered));
+
+        assertFalse(jwtUtil.isTokenValid("not-a-jwt"));
+        assertFalse(jwtUtil.isTokenValid(null));
+
+        String expired = Jwts.builder()
+                .setSubject("customer@test.com")
+                .claim("role", "CUSTOMER")
+                .setExpiration(new Date(System.currentTimeMillis() - 1000))
+                .signWith(JwtUtil.key, SignatureAlgorithm.HS256)
+                .compact();
+        assertFalse(jwtUtil.isTokenValid(expired));
+    }
+
+    @Test
+    void worksWithTheCacheTurnedOff() {
+        JwtUtil uncached = new JwtUtil(0);
+        String token = uncached.generateToken("admin@test.com", "ADMIN");
+
+        assertEquals("ADMIN", uncached.verify(token).orElseThrow().role());
+        assertEquals("ADMIN", uncached.verify(token).orElseThrow().role());
+    }
+}
@@ -0,0 +1,68 @@
+package com.backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * A database created by ddl-auto=update before Flyway (the V1 schema, with data and no
+ * flyway_schema_history) is baselined at V1 on start, migrated to the latest version and
+ * must then pass Hibernate's schema validation, i.e. the context must start at all.
+ */
+@SpringBootTest
+class LegacySchemaMigrationTest {
+
+    static final String LEGACY_URL = "jdbc:h2:mem:legacy;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+
+    @Autowired private JdbcTemplate jdbc;
+
+    @DynamicPropertySource
+    static void legacyDatabase(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", LegacySchemaMigrationTest::createLegacyDatabase);
+        registry.add("spring.flyway.baseline-on-migrate", () -> "true");
+        registry.add("spring.flyway.baseline-version", () -> "1");
+    }
+
+    private static String createLegacyDatabase() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(LEGACY_URL, "sa", "");
+        JdbcTemplate legacy = new JdbcTemplate(dataSource);
+        if (legacy.queryForObject("select count(*) from information_schema.tables where lower(table_name) = 'admins'",
+                Integer.class) == 0) {
+            new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__baseline_schema.sql"))
+                    .execute(dataSource);
+            legacy.update("insert into admins (id, email, password, role) values (1, 'admin@test.com', 'x', 'ADMIN')");
+            legacy.update("insert into bank_managers (id, admin_id, email, name, password, role) "
+                    + "values (1, 1, 'manager@test.com', 'Manager', 'x', 'BANK')");
+            legacy.update("insert into banks (id, admin_id, bank_manager_id, bank_name) values (1, 1, 1, 'Old Bank')");
+            legacy.update("insert into customers (id, bank_id, email, age, role, status) "
+                    + "values (1, 1, 'old@test.com', 40, 'CUSTOMER', 'Active')");
+            legacy.update("insert into bank_accounts (id, bank_id, customer_id, account_number, ifsc_code, "
+                    + "balance, status, created_on) values (1, 1, 1, 'OLD1', 'TEST0000001', 50, 'ACTIVE', "
+                    + "current_timestamp)");
+        }
+        return LEGACY_URL;
+    }
+
+    @Test
+    void baselinedDatabaseIsMigratedAndValidates() {
+        List<String> applied = jdbc.queryForList("select \"type\" || ' ' || \"version\" from "
+                + "\"flyway_schema_history\" where \"version\" is not null order by \"installed_rank\"",
+                String.class);
+        assertEquals("BASELINE 1", applied.get(0));     // V1 itself is skipped
+        assertEquals("SQL 1.1", applied.get(1));
+
+        assertEquals(0L, jdbc.queryForObject("select version from bank_accounts where account_number = 'OLD1'",
+                Long.class));
+        assertEquals(0, jdbc.queryForObject("select count(*) from idempotency_keys", Integer.class));
+    }
+}
@@ -0,0 +1,137 @@
+package com.backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.backend.dto.BankManagerResponseDTO;
+import com.backend.entity.Admin;
+import com.backend.entity.Bank;
+import com.backend.entity.BankManager;
+import com.backend.repository.AdminRepository;
+import com.backend.repository.BankAccountRepository;
+import com.backend.repository.BankManagerRepository;
+import com.backend.repository.BankRepository;
+import com.backend.repository.CustomerRepository;
+import com.backend.repository.TransactionRepository;
+import com.backend.service.BankManagerService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * A second in-memory database stands in for the replica. It gets the same schema but
+ * different rows, so the result of a read shows where it was routed.
+ */
+@SpringBootTest(properties = {
+        "banking.datasource.replicas.enabled=true",
+        "banking.datasource.replicas.urls=" + ReplicaRoutingTest.REPLICA_URL,
+        "banking.datasource.replicas.username=sa",
+        "banking.datasource.replicas.password=",
+        "banking.datasource.replicas.max-lag-ms=1000",
+        "banking.datasource.replicas.check-interval-ms=3600000",
+        "banking.datasource.replicas.lag-query=select lag_ms from replica_lag"
+})
+class ReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+
+    @Autowired private BankManagerService bankManagerService;
+    @Autowired private ReplicaRoutingDataSource routingDataSource;
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private AdminRepository adminRepository;
+    @Autowired private BankManagerRepository bankManagerRepository;
+    @Autowired private BankRepository bankRepository;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private BankAccountRepository bankAccountRepository;
+    @Autowired private TransactionRepository transactionRepository;
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @BeforeEach
+    void setUp() {
+        // Writes (read-write transactions) go to the primary
+        transactionRepository.deleteAll();
+        bankAccountRepository.deleteAll();
+        customerRepository.deleteAll();
+        bankRepository.deleteAll();
+        bankManagerRepository.deleteAll();
+        adminRepository.deleteAll();
+
+        Admin admin = new Admin();
+        admin.setEmail("admin@test.com");
+        admin.setPassword("x");
+        admin = adminRepository.save(admin);
+
+        BankManager manager = new BankManager();
+        manager.setName("Manager");
+        manager.setEmail("manager@test.com");
+        manager.setPassword("x");
+        manager.setAdmin(admin);
+        manager = bankManagerRepository.save(manager);
+
+        Bank bank = new Bank();
+        bank.setBankName("Primary Bank");
+        bank.setBankCode("PB");
+        bank.setAdmin(admin);
+        bank.setBankManager(manager);
+        bankRepository.save(bank);
+
+        // Replica: same schema, its own rows
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+        replica.execute("create table if not exists replica_lag (lag_ms bigint)");
+        replica.update("delete from replica_lag");
+        replica.update("insert into replica_lag values (0)");
+        replica.update("delete from banks");
+        replica.update("delete from bank_managers");
+        replica.update("delete from admins");
+        replica.update("insert into admins (id, email, password, role) values (1, 'a@test.com', 'x', 'ADMIN')");
+        replica.update("insert into bank_managers (id, admin_id, email, name, password, role) "
+                + "values (1, 1, 'm@test.com', 'M', 'x', 'BANK')");
+        replica.update("insert into banks (id, admin_id, bank_manager_id, bank_name, bank_code) "
+                + "values (1, 1, 1, 'Replica Bank', 'RB')");
+
+        routingDataSource.checkReplicas();
+    }
+
+    @Test
+    void readOnlyServiceMethodsUseTheReplica() {
+        double before = routed("replica-1");
+
+        assertEquals(List.of("Replica Bank"), bankNames());
+        assertEquals(before + 1, routed("replica-1"));
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() {
+        replica.update("update replica_lag set lag_ms = 60000");
+        routingDataSource.checkReplicas();
+        double fallbacks = meterRegistry.counter("banking.datasource.replica.fallbacks").count();
+
+        assertEquals(List.of("Primary Bank"), bankNames());
+        assertEquals(fallbacks + 1, meterRegistry.counter("banking.datasource.replica.fallbacks").count());
+        assertEquals(0.0, meterRegistry.get("banking.datasource.replica.healthy").tag("replica", "replica-1")
+                .gauge().value());
+
+        // caught up again
+        replica.update("update replica_lag set lag_ms = 10");
+        routingDataSource.checkReplicas();
+        assertEquals(List.of("Replica Bank"), bankNames());
+    }
+
+    // Bank of each manager, via the manager listing (the bank listing itself is served from memory)
+    private List<String> bankNames() {
+        return bankManagerService.getAllManager().stream().map(BankManagerResponseDTO::getBankName).toList();
+    }
+
+    private double routed(String target) {
+        return meterRegistry.counter("banking.datasource.routed", "target", target).count();
+    }
+}
@@ -0,0 +1,76 @@
+package com.backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+class TransactionIdGeneratorTest {
+
+    private final TransactionIdGenerator generator = new TransactionIdGenerator(7);
+
+    @Test
+    void idsAreFixedWidthAndSortInGenerationOrder() {
+        String previous = generator.nextId();
+        for (int i = 0; i < 50_000; i++) {
+            String next = generator.nextId();
+            assertEquals(TransactionIdGenerator.ENCODED_LENGTH, next.length());
+            assertTrue(next.compareTo(previous) > 0, previous + " !< " + next);
+            previous = next;
+        }
+    }
+
+    @Test
+    void encodingRoundTrips() {
+        long id = generator.nextLong();
+        assertEquals(id, TransactionIdGenerator.decode(TransactionIdGenerator.encode(id)));
+    }
+
+    @Test
+    void concurrentCallersNeverCollide() throws Exception {
+        int threads = 8;
+        int perThread = 20_000;
+        Set<String> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    seen.add(generator.nextId());
+                }
+            }));
+        }
+        for (Future<?> f : futures) {
+            f.get();
+        }
+        pool.shutdown();
+
+        assertEquals(threads * perThread, seen.size());
+    }
+
+    @Test
+    void legacyIdsSortByTransactionDate() {
+        String older = TransactionIdGenerator.legacyId(LocalDateTime.of(2024, 3, 1, 10, 0), 900);
+        String newer = TransactionIdGenerator.legacyId(LocalDateTime.of(2024, 3, 1, 10, 1), 5);
+
+        assertTrue(older.compareTo(newer) < 0);
+        assertTrue(newer.compareTo(generator.nextId()) < 0);
+    }
+
+    @Test
+    void configuredNodeIdOutOfRangeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new TransactionIdGenerator(1024));
+        assertEquals(1023L, (new TransactionIdGenerator(1023).nextLong() >>> 12) & 1023);
+    }
+}
@@ -0,0 +1,86 @@
+package com.backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.backend.repository.TransactionNodeLeaseRepository;
+
+@SpringBootTest
+class TransactionNodeLeaseTest {
+
+    @Autowired private TransactionNodeLeaseRepository repository;
+    @Autowired private TransactionNodeLease applicationLease;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void instancesSharingADatabaseGetDistinctNodes() {
+        TransactionNodeLease first = new TransactionNodeLease(repository, 300);
+        TransactionNodeLease second = new TransactionNodeLease(repository, 300);
+        try {
+            int a = first.node();
+            int b = second.node();
+
+            assertNotEquals(a, b);
+            assertNotEquals(applicationLease.node(), a);
+            assertNotEquals(applicationLease.node(), b);
+            assertEquals(a, first.node());
+        } finally {
+            first.release();
+            second.release();
+        }
+    }
+
+    @Test
+    void releasedNodeIsLeasedAgain() {
+        TransactionNodeLease first = new TransactionNodeLease(repository, 300);
+        int node = first.node();
+        first.release();
+
+        TransactionNodeLease second = new TransactionNodeLease(repository, 300);
+        try {
+            assertEquals(node, second.node());
+        } finally {
+            second.release();
+        }
+    }
+
+    @Test
+    void expiredLeaseIsTakenOverAndItsOwnerMovesOn() {
+        TransactionNodeLease stale = new TransactionNodeLease(repository, 300);
+        TransactionNodeLease other = new TransactionNodeLease(repository, 300);
+        try {
+            int node = stale.node();
+            // as if stale had missed its renewals for longer than the ttl
+            jdbcTemplate.update("update txid_node_leases set renewed_at = ? where node_id = ?",
+                    Timestamp.valueOf(LocalDateTime.now().minusMinutes(10)), node);
+
+            assertEquals(node, other.node());
+
+            stale.renew();
+            assertNotEquals(node, stale.node());
+            assertTrue(stale.node() >= 0);
+        } finally {
+            stale.release();
+            other.release();
+        }
+    }
+
+    @Test
+    void configuredNodeIdSkipsTheLease() {
+        Integer before = jdbcTemplate.queryForObject("select count(*) from txid_node_leases", Integer.class);
+
+        TransactionIdGenerator generator = new TransactionIdGenerator(5, new TransactionNodeLease(repository, 300));
+        generator.nextId();
+
+        assertEquals(before, jdbcTemplate.queryForObject("select count(*) from txid_node_leases", Integer.class));
+    }
+}
@@ -0,0 +1,177 @@
+package com.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Runs EXPLAIN for the SQL behind the repository queries on the request path and
+ * fails if any of them falls back to a full table scan. Tables are filled to a
+ * realistic shape first, so the planner has a real choice to make.
+ *
+ * Unfiltered listings (findAll, admin "everything" views) are full reads by design
+ * and are not checked.
+ */
+@SpringBootTest
+class QueryPlanTest {
+
+    private static final int BANKS = 20;
+    private static final int CUSTOMERS_PER_BANK = 200;
+    private static final int TRANSACTIONS_PER_ACCOUNT = 10;
+
+    private static final LocalDateTime FIRST_TX = LocalDateTime.of(2020, 1, 1, 0, 0);
+    private static final String TS = "timestamp '2022-06-01 00:00:00'";
+
+    @Autowired private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void fillTables() {
+        clearTables();
+
+        jdbc.update("insert into admins (id, email, password, role) values (1, 'admin@test.com', 'x', 'ADMIN')");
+
+        List<Object[]> managers = new ArrayList<>();
+        List<Object[]> banks = new ArrayList<>();
+        for (long b = 1; b <= BANKS; b++) {
+            managers.add(new Object[] {b, "manager" + b + "@test.com", "Manager " + b});
+            banks.add(new Object[] {b, b, "Bank " + b, "B" + b});
+        }
+        jdbc.batchUpdate("insert into bank_managers (id, admin_id, email, name, password, role) "
+                + "values (?, 1, ?, ?, 'x', 'BANK')", managers);
+        jdbc.batchUpdate("insert into banks (id, admin_id, bank_manager_id, bank_name, bank_code) "
+                + "values (?, 1, ?, ?, ?)", banks);
+
+        List<Object[]> customers = new ArrayList<>();
+        List<Object[]> accounts = new ArrayList<>();
+        List<Object[]> transactions = new ArrayList<>();
+        long txId = 1;
+        for (long b = 1; b <= BANKS; b++) {
+            for (int i = 0; i < CUSTOMERS_PER_BANK; i++) {
+                long id = (b - 1) * CUSTOMERS_PER_BANK + i + 1;
+                customers.add(new Object[] {id, b, "c" + id + "@test.com", i % 2 == 0 ? "Pune" : "Delhi"});
+                accounts.add(new Object[] {id, b, id, "ACC" + id, i % 10 == 0 ? "INACTIVE" : "ACTIVE"});
+                for (int t = 0; t < TRANSACTIONS_PER_ACCOUNT; t++) {
+                    // ~4.5 years of history spread over all accounts
+                    transactions.add(new Object[] {txId, id, "TX" + txId,
+                            Timestamp.valueOf(FIRST_TX.plusHours(txId))});
+                    txId++;
+                }
+            }
+        }
+        jdbc.batchUpdate("insert into customers (id, bank_id, email, city, age, role, status) "
+                + "values (?, ?, ?, ?, 30, 'CUSTOMER', 'Active')", customers);
+        jdbc.batchUpdate("insert into bank_accounts (id, bank_id, customer_id, account_number, status, "
+                + "ifsc_code, balance, created_on, version) "
+                + "values (?, ?, ?, ?, ?, 'TEST0000001', 100, current_timestamp, 0)", accounts);
+        jdbc.batchUpdate("insert into transactions (id, bank_account_id, transaction_id, type, amount, "
+                + "balance_after, transaction_date) "
+                + "values (?, ?, ?, 'DEPOSIT', 1, 1, ?)", transactions);
+
+        jdbc.execute("analyze");
+    }
+
+    @AfterEach
+    void clearTables() {
+        for (String table : List.of("transactions", "idempotency_keys", "bank_accounts",
+                "customers", "banks", "bank_managers", "admins")) {
+            jdbc.update("delete from " + table);
+        }
+    }
+
+    @Test
+    void hotQueriesUseIndexes() {
+        Map<String, String> queries = new LinkedHashMap<>();
+
+        // ================= TransactionRepository =================
+        queries.put("findByBankAccount_IdOrderByTransactionDateDesc",
+                "select t.* from transactions t where t.bank_account_id = 42 order by t.transaction_date desc");
+        queries.put("findByBankAccount_AccountNumberOrderByTransactionDateDesc",
+                "select t.* from transactions t join bank_accounts a on a.id = t.bank_account_id "
+                + "where a.account_number = 'ACC42' order by t.transaction_date desc");
+        queries.put("findByBankAccount_Customer_IdOrderByTransactionDateDesc",
+                "select t.* from transactions t join bank_accounts a on a.id = t.bank_account_id "
+                + "where a.customer_id = 42 order by t.transaction_date desc");
+        queries.put("findByBankAccount_Bank_IdOrderByTransactionDateDesc",
+                "select t.* from transactions t join bank_accounts a on a.id = t.bank_account_id "
+                + "where a.bank_id = 3 order by t.transaction_date desc");
+        queries.put("findPageByAccountIdBefore",
+                "select t.* from transactions t where t.bank_account_id = 42 "
+                + "and (t.transaction_date, t.id) < (" + TS + ", 400) "
+                + "order by t.transaction_date desc, t.id desc limit 51");
+        queries.put("findPageByBankIdBefore",
+                "select t.id from transactions t join bank_accounts a on a.id = t.bank_account_id "
+                + "join banks b on b.id = a.bank_id where b.id = 3 "
+                + "and (t.transaction_date, t.id) < (" + TS + ", 400) "
+                + "order by t.transaction_date desc, t.id desc limit 51");
+        queries.put("streamForExport",
+                "select t.* from transactions t where t.transaction_date >= " + TS
+                + " and t.transaction_date < " + TS + " + interval '1' day order by t.transaction_date, t.id");
+        queries.put("findBySenderAccount",
+                "select t.* from transactions t where t.sender_account_id = 42");
+        queries.put("findByReceiverAccount",
+                "select t.* from transactions t where t.receiver_account_id = 42");
+        queries.put("search: type + date range (bank)",
+                "select t.id from transactions t join bank_accounts a on a.id = t.bank_account_id "
+                + "where a.bank_id = 3 and t.type = 'DEPOSIT' and t.transaction_date >= " + TS
+                + " order by t.transaction_date desc, t.id desc limit 50");
+        queries.put("search: counterparty (bank)",
+                "select t.id from transactions t join bank_accounts a on a.id = t.bank_account_id "
+                + "where a.bank_id = 3 and t.recipient_account = 'ACC7' order by t.transaction_date desc limit 50");
+
+        // ================= BankAccountRepository =================
+        queries.put("findByCustomer_Email / findRefByCustomerEmail",
+                "select a.id, a.account_number, a.ifsc_code, c.email, a.status from bank_accounts a "
+                + "join customers c on c.id = a.customer_id where c.email = 'c42@test.com'");
+        queries.put("findRefByAccountNumber",
+                "select a.id, a.account_number, a.ifsc_code, c.email, a.status from bank_accounts a "
+                + "left join customers c on c.id = a.customer_id where a.account_number = 'ACC42'");
+        queries.put("findByCustomerId",
+                "select a.* from bank_accounts a where a.customer_id = 42");
+        queries.put("findByBankId",
+                "select a.* from bank_accounts a where a.bank_id = 3");
+        queries.put("findSummaries (bank + status)",
+                "select a.id, b.bank_name, c.name from bank_accounts a left join banks b on b.id = a.bank_id "
+                + "join customers c on c.id = a.customer_id where b.id = 3 and a.status = 'ACTIVE' "
+                + "order by a.id limit 21");
+        queries.put("findAllByCustomerEmailInForUpdate",
+                "select a.* from bank_accounts a join customers c on c.id = a.customer_id "
+                + "where c.email in ('c1@test.com', 'c2@test.com') order by a.id");
+
+        // ================= CustomerRepository =================
+        queries.put("findByEmail",
+                "select c.* from customers c where c.email = 'c42@test.com'");
+        queries.put("findByBank",
+                "select c.* from customers c where c.bank_id = 3");
+        queries.put("findListing (bank)",
+                "select c.name, b.bank_name, a.account_number from customers c join banks b on b.id = c.bank_id "
+                + "left join bank_accounts a on a.customer_id = c.id where b.id = 3 order by c.id");
+
+        // ================= IdempotencyRecordRepository =================
+        queries.put("findByIdempotencyKey",
+                "select k.* from idempotency_keys k where k.idempotency_key = 'abc'");
+        queries.put("deleteOlderThan",
+                "select k.id from idempotency_keys k where k.created_on < " + TS);
+
+        List<String> scans = new ArrayList<>();
+        queries.forEach((name, sql) -> {
+            String plan = String.join("\n", jdbc.queryForList("explain " + sql, String.class));
+            if (plan.contains(".tableScan")) {
+                scans.add(name + ":\n" + plan);
+            }
+        });
+
+        assertTrue(scans.isEmpty(), "Full table scans:\n\n" + String.join("\n\n", scans));
+    }
+}
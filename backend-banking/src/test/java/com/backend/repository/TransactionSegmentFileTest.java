@@ -0,0 +1,103 @@
+package com.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.backend.repository.TransactionSegmentFile.Group;
+import com.backend.repository.TransactionSegmentFile.Summary;
+
+class TransactionSegmentFileTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2023, 3, 1, 0, 0, 0, 123_456_000);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsEveryColumnAcrossGroups() throws IOException {
+        List<ArchivedTransaction> rows = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            rows.add(new ArchivedTransaction(
+                    1000L + i * 3,
+                    "TX" + i,
+                    i % 2 == 0 ? "DEPOSIT" : "TRANSFER",
+                    new BigDecimal(i % 4 == 0 ? "-12345678901234567890.5" : "0.01").add(BigDecimal.valueOf(i)),
+                    i % 5 == 0 ? null : new BigDecimal("1E+3"),
+                    i % 2 == 0 ? null : "Other Bank",
+                    i % 2 == 0 ? null : "ACC" + (i % 3),
+                    i % 3 == 0 ? "salary ✓" : null,
+                    START.plusHours(i / 2),
+                    i % 6 == 0 ? null : 10L + i % 4,
+                    i % 2 == 0 ? null : 10L + i % 4,
+                    i % 2 == 0 ? null : 99L,
+                    i % 6 == 0 ? null : 1L + i % 2));
+        }
+        Path file = write(rows, 10);
+
+        Summary summary = TransactionSegmentFile.readSummary(file);
+        assertEquals(25, summary.rows());
+        assertEquals(START, summary.minDate());
+        assertEquals(START.plusHours(12), summary.maxDate());
+        assertEquals(List.of(10, 10, 5), summary.groups().stream().map(Group::rows).toList());
+
+        List<ArchivedTransaction> read = new ArrayList<>();
+        for (Group group : summary.groups()) {
+            read.addAll(TransactionSegmentFile.readGroup(file, group));
+        }
+        assertEquals(rows, read);
+    }
+
+    @Test
+    void groupHeadersPruneByBankAndAccount() throws IOException {
+        List<ArchivedTransaction> rows = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            long account = i < 10 ? 1 : 2;
+            rows.add(new ArchivedTransaction((long) i, "T" + i, "DEPOSIT", BigDecimal.ONE, BigDecimal.ONE,
+                    null, null, null, START.plusMinutes(i), account, null, null, account * 100));
+        }
+        Summary summary = TransactionSegmentFile.readSummary(write(rows, 10));
+        Group first = summary.groups().get(0);
+
+        assertTrue(first.hasBank(100));
+        assertFalse(first.hasBank(200));
+        assertTrue(first.mightHaveAccount(1));
+        assertFalse(first.mightHaveAccount(2));
+        assertEquals(START.plusMinutes(9), first.maxDate());
+    }
+
+    @Test
+    void rejectsRowsOutOfOrder() throws IOException {
+        try (TransactionSegmentFile.Writer writer = new TransactionSegmentFile.Writer(dir.resolve("bad.seg"), 10)) {
+            writer.add(row(2, START));
+            assertThrows(RuntimeException.class, () -> writer.add(row(1, START)));
+        }
+    }
+
+    private Path write(List<ArchivedTransaction> rows, int rowsPerGroup) throws IOException {
+        Path file = dir.resolve("test.seg");
+        try (TransactionSegmentFile.Writer writer = new TransactionSegmentFile.Writer(file, rowsPerGroup)) {
+            for (ArchivedTransaction row : rows) {
+                writer.add(row);
+            }
+            assertEquals(rows.size(), writer.finish());
+        }
+        return file;
+    }
+
+    private static ArchivedTransaction row(long id, LocalDateTime date) {
+        return new ArchivedTransaction(id, "T" + id, "DEPOSIT", BigDecimal.ONE, null,
+                null, null, null, date, 1L, null, null, 1L);
+    }
+}
@@ -0,0 +1,67 @@
+package com.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// Two stores over one directory stand in for the archiving node and another node
+class TransactionSegmentStoreTest {
+
+    private static final YearMonth MARCH = YearMonth.of(2023, 3);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void otherNodeSeesSegmentsArchivedAfterItStarted() {
+        TransactionSegmentStore archiver = store();
+        TransactionSegmentStore reader = store();
+        assertNull(reader.liveFrom());
+
+        archiver.write(MARCH, sink -> rows(MARCH, 5).forEach(sink));
+
+        assertEquals(LocalDate.of(2023, 4, 1), reader.liveFrom());
+        assertEquals(5L, reader.rowCount(MARCH));
+        assertEquals(5, reader.findBefore(7L, null, null, null, 10).size());
+    }
+
+    @Test
+    void refreshAddsNewMonthsAndKeepsKnownOnes() {
+        TransactionSegmentStore archiver = store();
+        archiver.write(MARCH, sink -> rows(MARCH, 3).forEach(sink));
+        TransactionSegmentStore reader = store();
+        List<ArchivedTransaction> march = reader.findBefore(null, null, null, null, 10);
+
+        archiver.write(MARCH.plusMonths(1), sink -> rows(MARCH.plusMonths(1), 4).forEach(sink));
+        reader.refresh();
+
+        assertEquals(List.of(MARCH, MARCH.plusMonths(1)), List.copyOf(reader.months()));
+        List<ArchivedTransaction> all = reader.findBefore(null, null, null, null, 10);
+        assertEquals(7, all.size());
+        assertTrue(all.containsAll(march));
+    }
+
+    private TransactionSegmentStore store() {
+        return new TransactionSegmentStore(dir.toString(), 2, 1000);
+    }
+
+    private static List<ArchivedTransaction> rows(YearMonth month, int count) {
+        LocalDateTime start = month.atDay(1).atStartOfDay();
+        long base = month.getMonthValue() * 100L;
+        return IntStream.range(0, count)
+                .mapToObj(i -> new ArchivedTransaction(base + i, "T" + (base + i), "DEPOSIT", BigDecimal.ONE,
+                        BigDecimal.ONE, null, null, null, start.plusHours(i), 7L, null, null, 1L))
+                .toList();
+    }
+}
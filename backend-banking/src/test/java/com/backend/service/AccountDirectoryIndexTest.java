@@ -0,0 +1,78 @@
+package com.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.backend.dto.AccountRef;
+
+class AccountDirectoryIndexTest {
+
+    private final AccountDirectoryIndex index = new AccountDirectoryIndex();
+
+    @Test
+    void findsByNumberAndEmailThroughGrowthAndRemovals() {
+        for (long id = 1; id <= 5000; id++) {
+            index.put(ref(id, "ACTIVE"));
+        }
+        for (long id = 1; id <= 5000; id += 2) {
+            index.remove(ref(id, "ACTIVE"));
+        }
+
+        assertEquals(2500, index.size());
+        for (long id = 1; id <= 5000; id++) {
+            AccountRef byNumber = index.byAccountNumber("ACC" + id);
+            AccountRef byEmail = index.byCustomerEmail("c" + id + "@test.com");
+            if (id % 2 == 1) {
+                assertNull(byNumber);
+                assertNull(byEmail);
+            } else {
+                assertEquals(id, byNumber.id());
+                assertEquals(id, byEmail.id());
+            }
+        }
+        assertNull(index.byAccountNumber("ACC5001"));
+    }
+
+    @Test
+    void statusChangesReplaceTheEntryUnderBothKeys() {
+        index.put(ref(7, "ACTIVE"));
+        index.updateStatus("ACC7", "INACTIVE");
+        index.updateStatus("ACC8", "INACTIVE");   // unknown: ignored
+
+        assertEquals("INACTIVE", index.byAccountNumber("ACC7").status());
+        assertEquals("INACTIVE", index.byCustomerEmail("c7@test.com").status());
+        assertNull(index.byAccountNumber("ACC8"));
+    }
+
+    @Test
+    void databaseFillsNeverOverwriteReportedChanges() {
+        index.put(ref(3, "INACTIVE"));
+        index.putIfAbsent(ref(3, "ACTIVE"));   // read before the lock committed
+
+        assertEquals("INACTIVE", index.byAccountNumber("ACC3").status());
+    }
+
+    @Test
+    void changesDuringARebuildSurviveTheSwap() {
+        index.startRebuild();
+        index.put(ref(9, "ACTIVE"));
+        index.remove(ref(1, "ACTIVE"));
+        index.updateStatus("ACC2", "INACTIVE");
+        // the rebuild read the database before those three commits
+        List<AccountRef> loaded = new ArrayList<>(List.of(ref(1, "ACTIVE"), ref(2, "ACTIVE")));
+        assertEquals(2, index.finishRebuild(loaded));
+
+        assertNull(index.byAccountNumber("ACC1"));
+        assertEquals("INACTIVE", index.byAccountNumber("ACC2").status());
+        assertEquals(9, index.byCustomerEmail("c9@test.com").id());
+    }
+
+    private static AccountRef ref(long id, String status) {
+        return new AccountRef(id, "ACC" + id, "IFSC0001", "c" + id + "@test.com", status);
+    }
+}
@@ -0,0 +1,168 @@
+package com.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.backend.dto.AddAccountRequest;
+import com.backend.dto.TransferRequest;
+import com.backend.entity.Admin;
+import com.backend.entity.Bank;
+import com.backend.entity.BankAccount;
+import com.backend.entity.BankManager;
+import com.backend.entity.Customer;
+import com.backend.repository.AdminRepository;
+import com.backend.repository.BankAccountRepository;
+import com.backend.repository.BankManagerRepository;
+import com.backend.repository.BankRepository;
+import com.backend.repository.CustomerRepository;
+import com.backend.repository.TransactionRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+class AccountDirectoryTest {
+
+    private static final String IFSC = "TEST0000001";
+
+    // The directories outlive the fixtures, so every test gets account numbers and emails of its own
+    private static final AtomicInteger RUN = new AtomicInteger();
+
+    @Autowired private AccountDirectory accountDirectory;
+    @Autowired private TransferService transferService;
+    @Autowired private BankAccountService bankAccountService;
+    @Autowired private CustomerService customerService;
+    @Autowired private AdminRepository adminRepository;
+    @Autowired private BankManagerRepository bankManagerRepository;
+    @Autowired private BankRepository bankRepository;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private BankAccountRepository bankAccountRepository;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private String prefix;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        bankAccountRepository.deleteAll();
+        customerRepository.deleteAll();
+        bankRepository.deleteAll();
+        bankManagerRepository.deleteAll();
+        adminRepository.deleteAll();
+
+        prefix = "R" + RUN.incrementAndGet() + "-";
+
+        Admin admin = new Admin();
+        admin.setEmail("admin@test.com");
+        admin.setPassword("x");
+        admin = adminRepository.save(admin);
+
+        BankManager manager = new BankManager();
+        manager.setName("Manager");
+        manager.setEmail(prefix + "manager@test.com");
+        manager.setPassword("x");
+        manager.setAdmin(admin);
+        manager = bankManagerRepository.save(manager);
+
+        Bank bank = new Bank();
+        bank.setBankName("Test Bank");
+        bank.setBankCode("TB");
+        bank.setAdmin(admin);
+        bank.setBankManager(manager);
+        bank = bankRepository.save(bank);
+
+        for (int i = 0; i < 3; i++) {
+            Customer customer = new Customer();
+            customer.setName("Customer " + i);
+            customer.setEmail(prefix + "customer" + i + "@test.com");
+            customer.setPassword("x");
+            customer.setBank(bank);
+            customer = customerRepository.save(customer);
+
+            if (i == 2) {
+                break;   // opens an account through BankAccountService in the test
+            }
+            BankAccount account = new BankAccount();
+            account.setAccountNumber(prefix + "ACC" + i);
+            account.setIfscCode(IFSC);
+            account.setAccountType("SAVINGS");
+            account.setBalance(new BigDecimal("100.00"));
+            account.setStatus("ACTIVE");
+            account.setCustomer(customer);
+            account.setBank(bank);
+            bankAccountRepository.save(account);
+        }
+
+        // the fixture wrote accounts behind the directory's back; load them as at startup
+        accountDirectory.warmUp();
+    }
+
+    @Test
+    void transfersLockByIdWithoutResolvingAccountNumbers() {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.setStatisticsEnabled(true);
+        stats.clear();
+
+        TransferRequest req = new TransferRequest();
+        req.setSenderAccountNumber(prefix + "ACC0");
+        req.setReceiverAccountNumber(prefix + "ACC1");
+        req.setIfscCode(IFSC);
+        req.setAmount(new BigDecimal("10.00"));
+        transferService.transferMoney(req);
+
+        boolean lockedById = Arrays.stream(stats.getQueries())
+                .anyMatch(query -> query.contains("a.id = :id"));
+        boolean resolvedInDatabase = Arrays.stream(stats.getQueries())
+                .anyMatch(query -> query.contains("accountNumber"));
+        stats.setStatisticsEnabled(false);
+        assertTrue(lockedById);
+        assertFalse(resolvedInDatabase);
+        assertEquals(0, new BigDecimal("90.00").compareTo(
+                bankAccountRepository.findByAccountNumber(prefix + "ACC0").orElseThrow().getBalance()));
+    }
+
+    @Test
+    void wrongIfscIsStillRejected() {
+        assertTrue(accountDirectory.byAccountNumberAndIfsc(prefix + "ACC1", IFSC).isPresent());
+        assertFalse(accountDirectory.byAccountNumberAndIfsc(prefix + "ACC1", "OTHER000001").isPresent());
+    }
+
+    @Test
+    void newLockedAndDeletedAccountsAreFollowed() {
+        String email = prefix + "customer2@test.com";
+        AddAccountRequest request = new AddAccountRequest();
+        request.setCustomerEmail(email);
+        request.setAccountNumber(prefix + "ACC2");
+        request.setIfscCode(IFSC);
+        request.setAccountType("SAVINGS");
+        bankAccountService.addAccount(prefix + "manager@test.com", request);
+
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.setStatisticsEnabled(true);
+        stats.clear();
+        assertEquals("ACTIVE", accountDirectory.byCustomerEmail(email).orElseThrow().status());
+        assertEquals(0, stats.getPrepareStatementCount());
+        stats.setStatisticsEnabled(false);
+
+        bankAccountService.lockAccount(prefix + "ACC2");
+        assertEquals("INACTIVE", accountDirectory.byCustomerEmail(email).orElseThrow().status());
+        bankAccountService.unlockAccount(prefix + "ACC2");
+        assertEquals("ACTIVE", accountDirectory.byAccountNumber(prefix + "ACC2").orElseThrow().status());
+
+        customerService.deleteCustomer(email);
+        assertFalse(accountDirectory.byCustomerEmail(email).isPresent());
+        assertFalse(accountDirectory.byAccountNumber(prefix + "ACC2").isPresent());
+    }
+}
@@ -0,0 +1,300 @@
+package com.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.backend.dto.AmountRequestDTO;
+import com.backend.dto.TransferRequest;
+import com.backend.entity.Admin;
+import com.backend.entity.Bank;
+import com.backend.entity.BankAccount;
+import com.backend.entity.BankManager;
+import com.backend.entity.Customer;
+import com.backend.entity.Transaction;
+import com.backend.repository.AdminRepository;
+import com.backend.repository.BankAccountRepository;
+import com.backend.repository.BankManagerRepository;
+import com.backend.repository.BankRepository;
+import com.backend.repository.CustomerRepository;
+import com.backend.repository.IdempotencyRecordRepository;
+import com.backend.repository.TransactionRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = {
+        "banking.sharding.enabled=true",
+        "banking.sharding.shards=2",
+        "banking.sharding.timeout-ms=1000"
+})
+class AccountShardEngineTest {
+
+    private static final String IFSC = "TEST0000001";
+    private static final String EMAIL = "shard0@test.com";
+
+    @Autowired private AccountShardEngine shardEngine;
+    @Autowired private IdempotencyService idempotencyService;
+    @Autowired private IdempotencyRecordRepository idempotencyRecordRepository;
+    @Autowired private AdminRepository adminRepository;
+    @Autowired private BankManagerRepository bankManagerRepository;
+    @Autowired private BankRepository bankRepository;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private BankAccountRepository bankAccountRepository;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private AccountDirectory accountDirectory;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        bankAccountRepository.deleteAll();
+        customerRepository.deleteAll();
+        bankRepository.deleteAll();
+        bankManagerRepository.deleteAll();
+        adminRepository.deleteAll();
+
+        Admin admin = new Admin();
+        admin.setEmail("admin@test.com");
+        admin.setPassword("x");
+        admin = adminRepository.save(admin);
+
+        BankManager manager = new BankManager();
+        manager.setName("Manager");
+        manager.setEmail("manager@test.com");
+        manager.setPassword("x");
+        manager.setAdmin(admin);
+        manager = bankManagerRepository.save(manager);
+
+        Bank bank = new Bank();
+        bank.setBankName("Test Bank");
+        bank.setBankCode("TB");
+        bank.setAdmin(admin);
+        bank.setBankManager(manager);
+        bank = bankRepository.save(bank);
+
+        for (int i = 0; i < 2; i++) {
+            Customer customer = new Customer();
+            customer.setName("Customer " + i);
+            customer.setEmail("shard" + i + "@test.com");
+            customer.setPassword("x");
+            customer.setBank(bank);
+            customer = customerRepository.save(customer);
+
+            BankAccount account = new BankAccount();
+            account.setAccountNumber("SH" + i);
+            account.setIfscCode(IFSC);
+            account.setAccountType("SAVINGS");
+            account.setBalance(i == 0 ? new BigDecimal("100.00") : BigDecimal.ZERO);
+            account.setStatus("ACTIVE");
+            account.setCustomer(customer);
+            account.setBank(bank);
+            bankAccountRepository.save(account);
+        }
+
+        accountDirectory.warmUp();
+    }
+
+    @Test
+    void tasksForOneAccountCommitInSubmissionOrder() {
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        for (int i = 1; i <= 30; i++) {
+            results.add(shardEngine.applyCash("DEPOSIT", amount(String.valueOf(i))));
+        }
+        results.forEach(CompletableFuture::join);
+
+        List<Transaction> ledger = transactionRepository.findAll(Sort.by("id"));
+        assertEquals(30, ledger.size());
+        BigDecimal balance = new BigDecimal("100.00");
+        for (int i = 0; i < ledger.size(); i++) {
+            balance = balance.add(BigDecimal.valueOf(i + 1));
+            assertEquals(0, BigDecimal.valueOf(i + 1).compareTo(ledger.get(i).getAmount()));
+            assertEquals(0, balance.compareTo(ledger.get(i).getBalanceAfter()));
+        }
+    }
+
+    @Test
+    void consecutiveTasksOfOneKindShareATransaction() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> blocker = holdRowLock("SH0", release);
+
+        // the shard takes this one alone and waits on the row lock ...
+        CompletableFuture<Void> first = shardEngine.applyCash("DEPOSIT", amount("1.00"));
+        Thread.sleep(300);
+        // ... while these queue up behind it: runs [cash, cash] [transfer, transfer] [cash]
+        List<CompletableFuture<Void>> queued = List.of(
+                shardEngine.applyCash("DEPOSIT", amount("1.00")),
+                shardEngine.applyCash("WITHDRAW", amount("2.00")),
+                shardEngine.transfer(transfer("10.00")),
+                shardEngine.transfer(transfer("10.00")),
+                shardEngine.applyCash("DEPOSIT", amount("5.00")));
+
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.setStatisticsEnabled(true);
+        stats.clear();
+        release.countDown();
+        blocker.join();
+        first.join();
+        queued.forEach(CompletableFuture::join);
+        long transactions = stats.getTransactionCount();
+        stats.setStatisticsEnabled(false);
+
+        assertEquals(5, transactions);   // the lock holder, the first task, three runs
+        assertBalance("SH0", "85.00");
+        assertBalance("SH1", "20.00");
+    }
+
+    @Test
+    void timedOutTaskKeepsItsKeyUntilItCommits() throws Exception {
+        String key = UUID.randomUUID().toString();
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> blocker = holdRowLock("SH0", release);
+
+        RuntimeException timedOut = assertThrows(RuntimeException.class, () -> deposit(key, "10.00"));
+        assertEquals("Request with this Idempotency-Key is still in progress", timedOut.getMessage());
+        // a retry while the shard still holds it must not run it again
+        RuntimeException retried = assertThrows(RuntimeException.class, () -> deposit(key, "10.00"));
+        assertEquals("Request with this Idempotency-Key is still in progress", retried.getMessage());
+
+        release.countDown();
+        blocker.join();
+        awaitStoredResponse(key);
+
+        ResponseEntity<String> replay = deposit(key, "10.00");
+        assertEquals(HttpStatus.OK, replay.getStatusCode());
+        assertEquals("true", replay.getHeaders().getFirst(IdempotencyService.REPLAY_HEADER));
+        assertBalance("SH0", "110.00");
+        assertEquals(1, transactionRepository.count());
+    }
+
+    @Test
+    void rejectedTaskReleasesItsKey() {
+        String key = UUID.randomUUID().toString();
+        AmountRequestDTO req = amount("500.00");
+
+        RuntimeException rejected = assertThrows(RuntimeException.class, () -> idempotencyService.executeDetached(
+                key, "WITHDRAW", req, shardEngine.getTimeoutMs(),
+                () -> shardEngine.applyCash("WITHDRAW", req).thenApply(done -> ResponseEntity.ok().<String>build())));
+
+        assertEquals("Insufficient balance", rejected.getMessage());
+        assertFalse(idempotencyRecordRepository.findByIdempotencyKey(key).isPresent());
+        assertBalance("SH0", "100.00");
+    }
+
+    @Test
+    void receiverCreditedFromEveryShardLosesNoUpdate() throws Exception {
+        // SH0 and SH1 hash to different shards: each shard debits its own account and credits
+        // the other one, while SH1's shard also takes cash deposits for it
+        shardEngine.applyCash("DEPOSIT", amount("shard1@test.com", "100.00")).join();
+
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        List<CompletableFuture<Void>> submitters = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            submitters.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 50; i++) {
+                    CompletableFuture<Void> result = switch (thread) {
+                        case 0 -> shardEngine.transfer(transfer("SH0", "SH1", "1.00"));
+                        case 1 -> shardEngine.transfer(transfer("SH1", "SH0", "1.00"));
+                        default -> shardEngine.applyCash("DEPOSIT", amount("shard1@test.com", "1.00"));
+                    };
+                    synchronized (results) {
+                        results.add(result);
+                    }
+                }
+            }));
+        }
+        submitters.forEach(CompletableFuture::join);
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+
+        assertBalance("SH0", "100.00");                 // 100 - 50 + 50
+        assertBalance("SH1", "200.00");                 // 100 + 100 cash + 50 - 50
+        assertEquals(1 + 100 + 2 * 100, transactionRepository.count());
+    }
+
+    private ResponseEntity<String> deposit(String key, String amount) {
+        AmountRequestDTO req = amount(amount);
+        return idempotencyService.executeDetached(key, "DEPOSIT", req, shardEngine.getTimeoutMs(),
+                () -> shardEngine.applyCash("DEPOSIT", req).thenApply(done -> ResponseEntity.ok().<String>build()));
+    }
+
+    // Holds SELECT ... FOR UPDATE on the account until release; returns once the lock is held
+    private CompletableFuture<Void> holdRowLock(String accountNumber, CountDownLatch release) throws Exception {
+        Long id = bankAccountRepository.findByAccountNumber(accountNumber).orElseThrow().getId();
+        CountDownLatch locked = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    bankAccountRepository.findByIdForUpdate(id);
+                    locked.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        assertTrue(locked.await(5, TimeUnit.SECONDS));
+        return holder;
+    }
+
+    private void awaitStoredResponse(String key) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            if (idempotencyRecordRepository.findByIdempotencyKey(key)
+                    .filter(record -> record.getResponseStatus() != null).isPresent()) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("the shard never stored the response");
+    }
+
+    private void assertBalance(String accountNumber, String expected) {
+        assertEquals(0, new BigDecimal(expected).compareTo(
+                bankAccountRepository.findByAccountNumber(accountNumber).orElseThrow().getBalance()));
+    }
+
+    private static AmountRequestDTO amount(String amount) {
+        return amount(EMAIL, amount);
+    }
+
+    private static AmountRequestDTO amount(String email, String amount) {
+        AmountRequestDTO req = new AmountRequestDTO();
+        req.setEmail(email);
+        req.setAmount(new BigDecimal(amount));
+        return req;
+    }
+
+    private static TransferRequest transfer(String amount) {
+        return transfer("SH0", "SH1", amount);
+    }
+
+    private static TransferRequest transfer(String from, String to, String amount) {
+        TransferRequest req = new TransferRequest();
+        req.setSenderAccountNumber(from);
+        req.setReceiverAccountNumber(to);
+        req.setIfscCode(IFSC);
+        req.setAmount(new BigDecimal(amount));
+        return req;
+    }
+}
@@ -0,0 +1,206 @@
+package com.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.backend.dto.AmountRequestDTO;
+import com.backend.dto.BankDailyStat;
+import com.backend.dto.TransferRequest;
+import com.backend.entity.Admin;
+import com.backend.entity.Bank;
+import com.backend.entity.BankAccount;
+import com.backend.entity.BankManager;
+import com.backend.entity.Customer;
+import com.backend.entity.Transaction;
+import com.backend.repository.AdminRepository;
+import com.backend.repository.BankAccountRepository;
+import com.backend.repository.BankManagerRepository;
+import com.backend.repository.BankRepository;
+import com.backend.repository.CustomerRepository;
+import com.backend.repository.TransactionRepository;
+
+@SpringBootTest
+class BankDailyStatsTest {
+
+    private static final String IFSC = "TEST0000001";
+
+    @Autowired private BankDailyStatsService statsService;
+    @Autowired private BankAccountService bankAccountService;
+    @Autowired private TransferService transferService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private AdminRepository adminRepository;
+    @Autowired private BankManagerRepository bankManagerRepository;
+    @Autowired private BankRepository bankRepository;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private BankAccountRepository bankAccountRepository;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private AccountDirectory accountDirectory;
+
+    private final Long[] bankIds = new Long[2];
+    private final BankAccount[] accounts = new BankAccount[2];
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from bank_daily_stats");
+        transactionRepository.deleteAll();
+        bankAccountRepository.deleteAll();
+        customerRepository.deleteAll();
+        bankRepository.deleteAll();
+        bankManagerRepository.deleteAll();
+        adminRepository.deleteAll();
+
+        Admin admin = new Admin();
+        admin.setEmail("admin@test.com");
+        admin.setPassword("x");
+        admin = adminRepository.save(admin);
+
+        for (int b = 0; b < 2; b++) {
+            BankManager manager = new BankManager();
+            manager.setName("Manager " + b);
+            manager.setEmail("manager" + b + "@test.com");
+            manager.setPassword("x");
+            manager.setAdmin(admin);
+            manager = bankManagerRepository.save(manager);
+
+            Bank bank = new Bank();
+            bank.setBankName("Bank " + b);
+            bank.setBankCode("B" + b);
+            bank.setAdmin(admin);
+            bank.setBankManager(manager);
+            bankIds[b] = bankRepository.save(bank).getId();
+
+            Customer customer = new Customer();
+            customer.setName("Customer " + b);
+            customer.setEmail("customer" + b + "@test.com");
+            customer.setPassword("x");
+            customer.setBank(bank);
+            customer = customerRepository.save(customer);
+
+            BankAccount account = new BankAccount();
+            account.setAccountNumber("STAT" + b);
+            account.setIfscCode(IFSC);
+            account.setAccountType("SAVINGS");
+            account.setBalance(BigDecimal.valueOf(1000));
+            account.setCustomer(customer);
+            account.setBank(bank);
+            accounts[b] = bankAccountRepository.save(account);
+        }
+
+        accountDirectory.warmUp();
+    }
+
+    @Test
+    void everyLedgerWriteUpdatesTodaysTotals() {
+        deposit("customer0@test.com", 100);
+        deposit("customer0@test.com", 50);
+        withdraw("customer0@test.com", 30);
+        transfer("STAT0", "STAT1", 200);
+        transferService.transferBatch(List.of(transferRequest("STAT1", "STAT0", 5), transferRequest("STAT1", "STAT0", 7)));
+        bankAccountService.applyCashBatch(List.of(
+                new CashOperation("DEPOSIT", "customer1@test.com", BigDecimal.valueOf(11)),
+                new CashOperation("WITHDRAW", "customer1@test.com", BigDecimal.valueOf(1_000_000)))); // rejected
+
+        LocalDate today = LocalDate.now();
+
+        Map<String, BankDailyStat> bank0 = byType(statsService.getStats(bankIds[0], today, today));
+        assertStat(bank0.get("DEPOSIT"), 4, "162");    // 100 + 50 + (5 + 7 from the batch)
+        assertStat(bank0.get("WITHDRAW"), 1, "30");
+        assertStat(bank0.get("TRANSFER"), 1, "200");
+
+        Map<String, BankDailyStat> bank1 = byType(statsService.getStats(bankIds[1], today, today));
+        assertStat(bank1.get("DEPOSIT"), 2, "211");    // 200 received + 11 cash
+        assertStat(bank1.get("TRANSFER"), 2, "12");
+        assertEquals(2, bank1.size());
+    }
+
+    @Test
+    void rebuildMatchesTheLedger() {
+        // History written without going through the services (e.g. imported data)
+        LocalDateTime day = LocalDate.now().minusDays(10).atTime(10, 0);
+        for (int i = 0; i < 6; i++) {
+            Transaction tx = new Transaction();
+            tx.setTransactionId("H" + i);
+            tx.setType(i % 2 == 0 ? "DEPOSIT" : "WITHDRAW");
+            tx.setAmount(BigDecimal.valueOf(10 + i));
+            tx.setBalanceAfter(BigDecimal.ZERO);
+            tx.setBankAccount(accounts[i % 3 == 0 ? 1 : 0]);
+            tx.setTransactionDate(day.plusDays(i / 3));
+            transactionRepository.save(tx);
+        }
+        deposit("customer0@test.com", 100);
+
+        // Stale row for a day that is rebuilt: replaced, not added to
+        jdbcTemplate.update("insert into bank_daily_stats values (?, ?, 'DEPOSIT', 99, 99)",
+                bankIds[0], Date.valueOf(day.toLocalDate()));
+
+        statsService.rebuild(null, null);
+
+        // i = 0..2 on day 1, 3..5 on day 2; even i = DEPOSIT, amount 10 + i; bank 1 gets i = 0 and 3
+        List<BankDailyStat> bank0 = statsService.getStats(bankIds[0], day.toLocalDate(), LocalDate.now());
+        assertEquals(List.of("DEPOSIT", "WITHDRAW", "DEPOSIT", "WITHDRAW", "DEPOSIT"),
+                bank0.stream().map(BankDailyStat::type).toList());
+        assertStat(bank0.get(0), 1, "12");   // the stale 99 / 99 is gone
+        assertStat(bank0.get(1), 1, "11");
+        assertStat(bank0.get(2), 1, "14");
+        assertStat(bank0.get(3), 1, "15");
+        assertEquals(LocalDate.now(), bank0.get(4).date());
+        assertStat(bank0.get(4), 1, "100");
+
+        List<BankDailyStat> bank1 = statsService.getStats(bankIds[1], day.toLocalDate(), LocalDate.now());
+        assertEquals(2, bank1.size());
+        assertStat(bank1.get(0), 1, "10");
+        assertStat(bank1.get(1), 1, "13");
+    }
+
+    private void deposit(String email, long amount) {
+        AmountRequestDTO req = new AmountRequestDTO();
+        req.setEmail(email);
+        req.setAmount(BigDecimal.valueOf(amount));
+        bankAccountService.deposit(req);
+    }
+
+    private void withdraw(String email, long amount) {
+        AmountRequestDTO req = new AmountRequestDTO();
+        req.setEmail(email);
+        req.setAmount(BigDecimal.valueOf(amount));
+        bankAccountService.withdraw(req);
+    }
+
+    private void transfer(String from, String to, long amount) {
+        transferService.transferMoney(transferRequest(from, to, amount));
+    }
+
+    private static TransferRequest transferRequest(String from, String to, long amount) {
+        TransferRequest req = new TransferRequest();
+        req.setSenderAccountNumber(from);
+        req.setReceiverAccountNumber(to);
+        req.setIfscCode(IFSC);
+        req.setAmount(BigDecimal.valueOf(amount));
+        req.setPurpose("stats");
+        return req;
+    }
+
+    private static Map<String, BankDailyStat> byType(List<BankDailyStat> stats) {
+        Map<String, BankDailyStat> map = new HashMap<>();
+        stats.forEach(s -> map.put(s.type(), s));
+        return map;
+    }
+
+    private static void assertStat(BankDailyStat stat, long count, String total) {
+        assertEquals(count, stat.count());
+        assertEquals(0, new BigDecimal(total).compareTo(stat.totalAmount()));
+    }
+}
@@ -0,0 +1,157 @@
+package com.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.backend.dto.AddBankRequest;
+import com.backend.dto.BankProfile;
+import com.backend.dto.BankResponseDTO;
+import com.backend.dto.TransferRequest;
+import com.backend.entity.Admin;
+import com.backend.entity.Bank;
+import com.backend.entity.BankAccount;
+import com.backend.entity.BankManager;
+import com.backend.entity.Customer;
+import com.backend.entity.Transaction;
+import com.backend.repository.AdminRepository;
+import com.backend.repository.BankAccountRepository;
+import com.backend.repository.BankManagerRepository;
+import com.backend.repository.BankRepository;
+import com.backend.repository.CustomerRepository;
+import com.backend.repository.TransactionRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+class BankDirectoryTest {
+
+    private static final String IFSC = "TEST0000001";
+
+    @Autowired private BankDirectory bankDirectory;
+    @Autowired private BankService bankService;
+    @Autowired private TransferService transferService;
+    @Autowired private AdminRepository adminRepository;
+    @Autowired private BankManagerRepository bankManagerRepository;
+    @Autowired private BankRepository bankRepository;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private BankAccountRepository bankAccountRepository;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private AccountDirectory accountDirectory;
+
+    private BankManager spareManager;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        bankAccountRepository.deleteAll();
+        customerRepository.deleteAll();
+        bankRepository.deleteAll();
+        bankManagerRepository.deleteAll();
+        adminRepository.deleteAll();
+
+        Admin admin = new Admin();
+        admin.setEmail("admin@test.com");
+        admin.setPassword("x");
+        admin = adminRepository.save(admin);
+
+        for (int b = 0; b < 3; b++) {
+            BankManager manager = new BankManager();
+            manager.setName("Manager " + b);
+            manager.setEmail("manager" + b + "@test.com");
+            manager.setPassword("x");
+            manager.setAdmin(admin);
+            manager = bankManagerRepository.save(manager);
+            if (b == 2) {
+                spareManager = manager;   // gets a bank through BankService in the test
+                break;
+            }
+
+            Bank bank = new Bank();
+            bank.setBankName("Bank " + b);
+            bank.setBankCode("B" + b);
+            bank.setAdmin(admin);
+            bank.setBankManager(manager);
+            bank = bankRepository.save(bank);
+
+            Customer customer = new Customer();
+            customer.setName("Customer " + b);
+            customer.setEmail("customer" + b + "@test.com");
+            customer.setPassword("x");
+            customer.setBank(bank);
+            customer = customerRepository.save(customer);
+
+            BankAccount account = new BankAccount();
+            account.setAccountNumber("ACC" + b);
+            account.setIfscCode(IFSC);
+            account.setAccountType("SAVINGS");
+            account.setBalance(new BigDecimal("100.00"));
+            account.setStatus("ACTIVE");
+            account.setCustomer(customer);
+            account.setBank(bank);
+            bankAccountRepository.save(account);
+        }
+
+        // the fixture wrote banks behind the directory's back, as another node would
+        bankDirectory.refresh();
+
+        accountDirectory.warmUp();
+    }
+
+    @Test
+    void transfersTakeBankNamesFromTheDirectory() {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.setStatisticsEnabled(true);
+        stats.clear();
+
+        TransferRequest req = new TransferRequest();
+        req.setSenderAccountNumber("ACC0");
+        req.setReceiverAccountNumber("ACC1");
+        req.setIfscCode(IFSC);
+        req.setAmount(new BigDecimal("25.00"));
+        req.setPurpose("rent");
+        transferService.transferMoney(req);
+
+        assertEquals(0, stats.getEntityStatistics(Bank.class.getName()).getLoadCount());
+        stats.setStatisticsEnabled(false);
+
+        List<String> recipientBanks = transactionRepository.findAll().stream()
+                .sorted((a, c) -> a.getType().compareTo(c.getType()))
+                .map(Transaction::getRecipientBank)
+                .toList();
+        assertEquals(List.of("Bank 0", "Bank 1"), recipientBanks);   // DEPOSIT, TRANSFER
+    }
+
+    @Test
+    void listingIsServedFromMemoryAndSeesNewBanks() {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.setStatisticsEnabled(true);
+        stats.clear();
+
+        assertEquals(List.of("Bank 0", "Bank 1"), names(bankService.getAllBanks()));
+        assertEquals(0, stats.getPrepareStatementCount());
+        stats.setStatisticsEnabled(false);
+
+        AddBankRequest request = new AddBankRequest();
+        request.setBankName("Bank 2");
+        request.setBankCode("B2");
+        request.setBankManagerId(spareManager.getId());
+        bankService.addBank(request, "admin@test.com");
+
+        assertEquals(List.of("Bank 0", "Bank 1", "Bank 2"), names(bankService.getAllBanks()));
+        assertEquals("Bank 2", bankDirectory.findByCode("B2").map(BankProfile::bankName).orElseThrow());
+    }
+
+    private static List<String> names(List<BankResponseDTO> banks) {
+        return banks.stream().map(BankResponseDTO::getName).toList();
+    }
+}
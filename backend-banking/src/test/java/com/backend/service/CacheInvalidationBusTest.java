@@ -0,0 +1,126 @@
+package com.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.backend.dto.BankProfile;
+import com.backend.entity.Admin;
+import com.backend.entity.Bank;
+import com.backend.entity.BankManager;
+import com.backend.repository.AdminRepository;
+import com.backend.repository.BankAccountRepository;
+import com.backend.repository.BankManagerRepository;
+import com.backend.repository.BankRepository;
+import com.backend.repository.CacheInvalidationRepository;
+import com.backend.repository.CustomerRepository;
+import com.backend.repository.TransactionRepository;
+
+@SpringBootTest
+class CacheInvalidationBusTest {
+
+    // Stands in for another instance writing to the same database
+    private static final String OTHER_NODE = "other-node";
+
+    @Autowired private CacheInvalidationBus bus;
+    @Autowired private CacheInvalidationRepository cacheInvalidationRepository;
+    @Autowired private BankDirectory bankDirectory;
+    @Autowired private AdminRepository adminRepository;
+    @Autowired private BankManagerRepository bankManagerRepository;
+    @Autowired private BankRepository bankRepository;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private BankAccountRepository bankAccountRepository;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private Admin admin;
+    private BankManager manager;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        bankAccountRepository.deleteAll();
+        customerRepository.deleteAll();
+        bankRepository.deleteAll();
+        bankManagerRepository.deleteAll();
+        adminRepository.deleteAll();
+
+        admin = new Admin();
+        admin.setEmail("admin@test.com");
+        admin.setPassword("x");
+        admin = adminRepository.save(admin);
+
+        manager = new BankManager();
+        manager.setName("Manager");
+        manager.setEmail("manager@test.com");
+        manager.setPassword("x");
+        manager.setAdmin(admin);
+        manager = bankManagerRepository.save(manager);
+
+        bankDirectory.refresh();
+    }
+
+    @Test
+    void remoteChangesReachSubscribersOnceAndOwnAreSkipped() {
+        // the bus outlives the test, so keys of its own
+        String prefix = UUID.randomUUID() + "-";
+        List<String> evicted = new CopyOnWriteArrayList<>();
+        bus.subscribe(CacheInvalidationBus.Kind.MANAGER, key -> {
+            if (key.startsWith(prefix)) {
+                evicted.add(key);
+            }
+        });
+
+        cacheInvalidationRepository.record("MANAGER", prefix + "remote@test.com", OTHER_NODE);
+        bus.publish(CacheInvalidationBus.Kind.MANAGER, prefix + "local@test.com");
+        bus.poll();
+        bus.poll();
+
+        assertEquals(List.of(prefix + "remote@test.com"), evicted);
+    }
+
+    @Test
+    void rolledBackChangesAreNeverAnnounced() {
+        String prefix = UUID.randomUUID() + "-";
+        List<String> evicted = new CopyOnWriteArrayList<>();
+        bus.subscribe(CacheInvalidationBus.Kind.ACCOUNT, key -> {
+            if (key.startsWith(prefix)) {
+                evicted.add(key);
+            }
+        });
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            cacheInvalidationRepository.record("ACCOUNT", prefix + "ACC1", OTHER_NODE);
+            status.setRollbackOnly();
+        });
+        bus.poll();
+
+        assertTrue(evicted.isEmpty());
+    }
+
+    @Test
+    void bankAddedOnAnotherNodeIsListedAfterThePoll() {
+        Bank bank = new Bank();
+        bank.setBankName("Remote Bank");
+        bank.setBankCode("RB");
+        bank.setAdmin(admin);
+        bank.setBankManager(manager);
+        bank = bankRepository.save(bank);
+        assertTrue(bankDirectory.findByCode("RB").isEmpty());   // written behind the directory's back
+
+        cacheInvalidationRepository.record("BANK", String.valueOf(bank.getId()), OTHER_NODE);
+        bus.poll();
+
+        assertEquals("Remote Bank", bankDirectory.findByCode("RB").map(BankProfile::bankName).orElseThrow());
+    }
+}
@@ -0,0 +1,233 @@
+package com.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.backend.dto.AmountRequestDTO;
+import com.backend.entity.Admin;
+import com.backend.entity.Bank;
+import com.backend.entity.BankAccount;
+import com.backend.entity.BankManager;
+import com.backend.entity.Customer;
+import com.backend.repository.AdminRepository;
+import com.backend.repository.BankAccountRepository;
+import com.backend.repository.BankManagerRepository;
+import com.backend.repository.BankRepository;
+import com.backend.repository.CustomerRepository;
+import com.backend.repository.IdempotencyRecordRepository;
+import com.backend.repository.TransactionRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(properties = {
+        "banking.group-commit.enabled=true",
+        "banking.group-commit.window-ms=1000",
+        "banking.group-commit.max-batch=3",
+        "banking.group-commit.timeout-ms=2500"
+})
+class CashGroupCommitterTest {
+
+    private static final String EMAIL = "group0@test.com";
+
+    @Autowired private CashGroupCommitter groupCommitter;
+    @Autowired private IdempotencyService idempotencyService;
+    @Autowired private IdempotencyRecordRepository idempotencyRecordRepository;
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private AdminRepository adminRepository;
+    @Autowired private BankManagerRepository bankManagerRepository;
+    @Autowired private BankRepository bankRepository;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private BankAccountRepository bankAccountRepository;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private AccountDirectory accountDirectory;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        bankAccountRepository.deleteAll();
+        customerRepository.deleteAll();
+        bankRepository.deleteAll();
+        bankManagerRepository.deleteAll();
+        adminRepository.deleteAll();
+
+        Admin admin = new Admin();
+        admin.setEmail("admin@test.com");
+        admin.setPassword("x");
+        admin = adminRepository.save(admin);
+
+        BankManager manager = new BankManager();
+        manager.setName("Manager");
+        manager.setEmail("manager@test.com");
+        manager.setPassword("x");
+        manager.setAdmin(admin);
+        manager = bankManagerRepository.save(manager);
+
+        Bank bank = new Bank();
+        bank.setBankName("Test Bank");
+        bank.setBankCode("TB");
+        bank.setAdmin(admin);
+        bank.setBankManager(manager);
+        bank = bankRepository.save(bank);
+
+        Customer customer = new Customer();
+        customer.setName("Customer");
+        customer.setEmail(EMAIL);
+        customer.setPassword("x");
+        customer.setBank(bank);
+        customer = customerRepository.save(customer);
+
+        BankAccount account = new BankAccount();
+        account.setAccountNumber("GC0");
+        account.setIfscCode("TEST0000001");
+        account.setAccountType("SAVINGS");
+        account.setBalance(new BigDecimal("100.00"));
+        account.setStatus("ACTIVE");
+        account.setCustomer(customer);
+        account.setBank(bank);
+        bankAccountRepository.save(account);
+
+        accountDirectory.warmUp();
+    }
+
+    @Test
+    void fullBatchFlushesWithoutWaitingForTheWindow() {
+        double commits = commits();
+        long started = System.nanoTime();
+
+        List<CompletableFuture<Void>> results = List.of(
+                groupCommitter.applyCash("DEPOSIT", amount("1.00")),
+                groupCommitter.applyCash("DEPOSIT", amount("2.00")),
+                groupCommitter.applyCash("DEPOSIT", amount("3.00")));
+        results.forEach(CompletableFuture::join);
+
+        assertTrue(elapsedMs(started) < 800, "waited " + elapsedMs(started) + " ms");
+        assertEquals(commits + 1, commits());
+        assertBalance("106.00");
+    }
+
+    @Test
+    void loneOperationWaitsForTheWindow() {
+        double commits = commits();
+        long started = System.nanoTime();
+
+        groupCommitter.applyCash("DEPOSIT", amount("1.00")).join();
+
+        assertTrue(elapsedMs(started) >= 900, "waited " + elapsedMs(started) + " ms");
+        assertEquals(commits + 1, commits());
+        assertBalance("101.00");
+    }
+
+    @Test
+    void rejectedOperationDoesNotPoisonTheBatch() {
+        double commits = commits();
+
+        CompletableFuture<Void> deposit = groupCommitter.applyCash("DEPOSIT", amount("10.00"));
+        CompletableFuture<Void> overdraft = groupCommitter.applyCash("WITHDRAW", amount("10000.00"));
+        CompletableFuture<Void> withdraw = groupCommitter.applyCash("WITHDRAW", amount("5.00"));
+
+        deposit.join();
+        withdraw.join();
+        CompletionException rejected = assertThrows(CompletionException.class, overdraft::join);
+        assertEquals("Insufficient balance", rejected.getCause().getMessage());
+        assertEquals(commits + 1, commits());
+        assertBalance("105.00");
+        assertEquals(2, transactionRepository.count());
+    }
+
+    @Test
+    void timedOutBatchKeepsItsKeyUntilItCommits() throws Exception {
+        String key = UUID.randomUUID().toString();
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> blocker = holdRowLock("GC0", release);
+
+        RuntimeException timedOut = assertThrows(RuntimeException.class, () -> deposit(key, "10.00"));
+        assertEquals("Request with this Idempotency-Key is still in progress", timedOut.getMessage());
+        RuntimeException retried = assertThrows(RuntimeException.class, () -> deposit(key, "10.00"));
+        assertEquals("Request with this Idempotency-Key is still in progress", retried.getMessage());
+
+        release.countDown();
+        blocker.join();
+        awaitStoredResponse(key);
+
+        ResponseEntity<String> replay = deposit(key, "10.00");
+        assertEquals(HttpStatus.OK, replay.getStatusCode());
+        assertEquals("true", replay.getHeaders().getFirst(IdempotencyService.REPLAY_HEADER));
+        assertBalance("110.00");
+        assertEquals(1, transactionRepository.count());
+    }
+
+    private ResponseEntity<String> deposit(String key, String amount) {
+        AmountRequestDTO req = amount(amount);
+        return idempotencyService.executeDetached(key, "DEPOSIT", req, groupCommitter.getTimeoutMs(),
+                () -> groupCommitter.applyCash("DEPOSIT", req).thenApply(done -> ResponseEntity.ok().<String>build()));
+    }
+
+    // Holds SELECT ... FOR UPDATE on the account until release; returns once the lock is held
+    private CompletableFuture<Void> holdRowLock(String accountNumber, CountDownLatch release) throws Exception {
+        Long id = bankAccountRepository.findByAccountNumber(accountNumber).orElseThrow().getId();
+        CountDownLatch locked = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    bankAccountRepository.findByIdForUpdate(id);
+                    locked.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        assertTrue(locked.await(5, TimeUnit.SECONDS));
+        return holder;
+    }
+
+    private void awaitStoredResponse(String key) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            if (idempotencyRecordRepository.findByIdempotencyKey(key)
+                    .filter(record -> record.getResponseStatus() != null).isPresent()) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("the batch never stored the response");
+    }
+
+    private double commits() {
+        return meterRegistry.get("banking.group-commit.commits").counter().count();
+    }
+
+    private static long elapsedMs(long started) {
+        return (System.nanoTime() - started) / 1_000_000;
+    }
+
+    private void assertBalance(String expected) {
+        assertEquals(0, new BigDecimal(expected).compareTo(
+                bankAccountRepository.findByAccountNumber("GC0").orElseThrow().getBalance()));
+    }
+
+    private static AmountRequestDTO amount(String amount) {
+        AmountRequestDTO req = new AmountRequestDTO();
+        req.setEmail(EMAIL);
+        req.setAmount(new BigDecimal(amount));
+        return req;
+    }
+}
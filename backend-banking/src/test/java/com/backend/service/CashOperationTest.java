@@ -0,0 +1,131 @@
+package com.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.backend.dto.AmountRequestDTO;
+import com.backend.entity.Admin;
+import com.backend.entity.Bank;
+import com.backend.entity.BankAccount;
+import com.backend.entity.BankManager;
+import com.backend.entity.Customer;
+import com.backend.repository.AdminRepository;
+import com.backend.repository.BankAccountRepository;
+import com.backend.repository.BankManagerRepository;
+import com.backend.repository.BankRepository;
+import com.backend.repository.CustomerRepository;
+import com.backend.repository.TransactionRepository;
+
+@SpringBootTest
+class CashOperationTest {
+
+    private static final String EMAIL = "cash0@test.com";
+
+    @Autowired private BankAccountService bankAccountService;
+    @Autowired private AdminRepository adminRepository;
+    @Autowired private BankManagerRepository bankManagerRepository;
+    @Autowired private BankRepository bankRepository;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private BankAccountRepository bankAccountRepository;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private AccountDirectory accountDirectory;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        bankAccountRepository.deleteAll();
+        customerRepository.deleteAll();
+        bankRepository.deleteAll();
+        bankManagerRepository.deleteAll();
+        adminRepository.deleteAll();
+
+        Admin admin = new Admin();
+        admin.setEmail("admin@test.com");
+        admin.setPassword("x");
+        admin = adminRepository.save(admin);
+
+        BankManager manager = new BankManager();
+        manager.setName("Manager");
+        manager.setEmail("manager@test.com");
+        manager.setPassword("x");
+        manager.setAdmin(admin);
+        manager = bankManagerRepository.save(manager);
+
+        Bank bank = new Bank();
+        bank.setBankName("Test Bank");
+        bank.setBankCode("TB");
+        bank.setAdmin(admin);
+        bank.setBankManager(manager);
+        bank = bankRepository.save(bank);
+
+        Customer customer = new Customer();
+        customer.setName("Customer");
+        customer.setEmail(EMAIL);
+        customer.setPassword("x");
+        customer.setBank(bank);
+        customer = customerRepository.save(customer);
+
+        BankAccount account = new BankAccount();
+        account.setAccountNumber("CASH0");
+        account.setIfscCode("TEST0000001");
+        account.setAccountType("SAVINGS");
+        account.setBalance(new BigDecimal("100.00"));
+        account.setStatus("ACTIVE");
+        account.setCustomer(customer);
+        account.setBank(bank);
+        bankAccountRepository.save(account);
+
+        accountDirectory.warmUp();
+    }
+
+    @Test
+    void depositAndWithdrawRejectNonPositiveAmounts() {
+        for (String amount : Arrays.asList("-50.00", "0", null)) {
+            RuntimeException deposit = assertThrows(RuntimeException.class,
+                    () -> bankAccountService.deposit(amount(amount)));
+            assertEquals("Amount must be greater than zero", deposit.getMessage());
+
+            RuntimeException withdraw = assertThrows(RuntimeException.class,
+                    () -> bankAccountService.withdraw(amount(amount)));
+            assertEquals("Amount must be greater than zero", withdraw.getMessage());
+        }
+
+        assertBalance("100.00");
+        assertEquals(0, transactionRepository.count());
+    }
+
+    @Test
+    void batchRejectsNonPositiveAmountsAndAppliesTheRest() {
+        List<String> results = bankAccountService.applyCashBatch(List.of(
+                new CashOperation("WITHDRAW", EMAIL, new BigDecimal("-500.00")),
+                new CashOperation("DEPOSIT", EMAIL, new BigDecimal("-500.00")),
+                new CashOperation("DEPOSIT", EMAIL, null),
+                new CashOperation("DEPOSIT", EMAIL, new BigDecimal("10.00"))));
+
+        assertEquals(Arrays.asList("Amount must be greater than zero", "Amount must be greater than zero",
+                "Amount must be greater than zero", null), results);
+        assertBalance("110.00");
+        assertEquals(1, transactionRepository.count());
+    }
+
+    private void assertBalance(String expected) {
+        assertEquals(0, new BigDecimal(expected).compareTo(
+                bankAccountRepository.findByAccountNumber("CASH0").orElseThrow().getBalance()));
+    }
+
+    private static AmountRequestDTO amount(String amount) {
+        AmountRequestDTO req = new AmountRequestDTO();
+        req.setEmail(EMAIL);
+        req.setAmount(amount == null ? null : new BigDecimal(amount));
+        return req;
+    }
+}
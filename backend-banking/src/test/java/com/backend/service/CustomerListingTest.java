@@ -0,0 +1,174 @@
+package com.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import com.backend.dto.AccountSummaryDTO;
+import com.backend.dto.CustomerListResponseDTO;
+import com.backend.entity.Admin;
+import com.backend.entity.Bank;
+import com.backend.entity.BankAccount;
+import com.backend.entity.BankManager;
+import com.backend.entity.Customer;
+import com.backend.repository.AdminRepository;
+import com.backend.repository.BankAccountRepository;
+import com.backend.repository.BankManagerRepository;
+import com.backend.repository.BankRepository;
+import com.backend.repository.CustomerRepository;
+import com.backend.repository.TransactionRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+class CustomerListingTest {
+
+    private static final int PER_BANK = 12;
+
+    @Autowired private CustomerService customerService;
+    @Autowired private BankAccountService bankAccountService;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private AdminRepository adminRepository;
+    @Autowired private BankManagerRepository bankManagerRepository;
+    @Autowired private BankRepository bankRepository;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private BankAccountRepository bankAccountRepository;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private AccountDirectory accountDirectory;
+
+    // ManagerDirectory caches across fixtures, so every test gets manager emails of its own
+    private String managerEmail;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        bankAccountRepository.deleteAll();
+        customerRepository.deleteAll();
+        bankRepository.deleteAll();
+        bankManagerRepository.deleteAll();
+        adminRepository.deleteAll();
+
+        Admin admin = new Admin();
+        admin.setEmail("admin@test.com");
+        admin.setPassword("x");
+        admin = adminRepository.save(admin);
+
+        String run = UUID.randomUUID().toString();
+        managerEmail = "manager0-" + run + "@test.com";
+        for (int b = 0; b < 2; b++) {
+            BankManager manager = new BankManager();
+            manager.setName("Manager " + b);
+            manager.setEmail("manager" + b + "-" + run + "@test.com");
+            manager.setPassword("x");
+            manager.setAdmin(admin);
+            manager = bankManagerRepository.save(manager);
+
+            Bank bank = new Bank();
+            bank.setBankName("Bank " + b);
+            bank.setBankCode("B" + b);
+            bank.setAdmin(admin);
+            bank.setBankManager(manager);
+            bank = bankRepository.save(bank);
+
+            for (int i = 0; i < PER_BANK; i++) {
+                Customer customer = new Customer();
+                customer.setName("Customer " + b + "-" + i);
+                customer.setEmail("c" + b + "-" + i + "@test.com");
+                customer.setPassword("x");
+                customer.setCity(i % 2 == 0 ? "Pune" : "Delhi");
+                customer.setBank(bank);
+                customer = customerRepository.save(customer);
+
+                // every third customer has no account yet
+                if (i % 3 == 0) {
+                    continue;
+                }
+                BankAccount account = new BankAccount();
+                account.setAccountNumber("L" + b + "-" + i);
+                account.setIfscCode("TEST0000001");
+                account.setAccountType("SAVINGS");
+                account.setBalance(BigDecimal.valueOf(i * 100L));
+                account.setStatus(i % 4 == 1 ? "LOCKED" : "ACTIVE");
+                account.setCustomer(customer);
+                account.setBank(bank);
+                bankAccountRepository.save(account);
+            }
+        }
+
+        accountDirectory.warmUp();
+    }
+
+    @Test
+    void adminListingIsOneQueryForAllBanks() {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.setStatisticsEnabled(true);
+        stats.clear();
+
+        Page<CustomerListResponseDTO> all =
+                customerService.getAllCustomers(null, null, customerService.listingPage(null, null, null));
+
+        assertEquals(2 * PER_BANK, all.getContent().size());
+        assertEquals(1, stats.getPrepareStatementCount());
+        stats.setStatisticsEnabled(false);
+
+        long withoutAccount = all.getContent().stream().filter(c -> "-".equals(c.getAccountNo())).count();
+        assertEquals(2 * (PER_BANK / 3), withoutAccount);
+    }
+
+    @Test
+    void managerListingFiltersPagesAndSorts() {
+        // Bank 0, city Pune (even i), status INACTIVE = no account (i % 3 == 0) → i = 0, 6
+        Page<CustomerListResponseDTO> inactive = customerService.getAllCustomers(
+                managerEmail, "INACTIVE", "pune", customerService.listingPage(null, null, null));
+        assertEquals(List.of("Customer 0-0", "Customer 0-6"),
+                inactive.getContent().stream().map(CustomerListResponseDTO::getName).toList());
+
+        Page<CustomerListResponseDTO> page = customerService.getAllCustomers(
+                managerEmail, null, null, customerService.listingPage(1, 5, "balance,desc"));
+        assertEquals(PER_BANK, page.getTotalElements());
+        assertEquals(5, page.getContent().size());
+        assertTrue(page.getContent().stream().allMatch(c -> "Bank 0".equals(c.getBank())));
+    }
+
+    @Test
+    void accountSummariesAreOneQueryPerPage() throws Exception {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.setStatisticsEnabled(true);
+        stats.clear();
+
+        // 8 accounts per bank, 2 of them LOCKED (i = 1, 5, 9 → i % 3 != 0 leaves 1, 5)
+        Slice<AccountSummaryDTO> active = bankAccountService.getAccountSummaries(
+                null, "ACTIVE", bankAccountService.accountListingPage(0, 5, "balance,desc"));
+
+        assertEquals(1, stats.getPrepareStatementCount());
+        stats.setStatisticsEnabled(false);
+
+        assertEquals(5, active.getContent().size());
+        assertTrue(active.hasNext());
+        assertTrue(active.getContent().stream().allMatch(a -> "ACTIVE".equals(a.getStatus())));
+        for (int i = 1; i < active.getContent().size(); i++) {
+            assertTrue(active.getContent().get(i - 1).getBalance()
+                    .compareTo(active.getContent().get(i).getBalance()) >= 0);
+        }
+
+        // Same nested JSON shape the account screens read (bank.bankName, customer.name)
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(active.getContent().get(0)));
+        assertTrue(json.get("bank").get("bankName").asText().startsWith("Bank "));
+        assertTrue(json.get("customer").get("name").asText().startsWith("Customer "));
+    }
+}
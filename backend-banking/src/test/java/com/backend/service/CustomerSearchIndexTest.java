@@ -0,0 +1,102 @@
+package com.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.backend.dto.CustomerSearchHit;
+
+class CustomerSearchIndexTest {
+
+    private static final long BANK = 1;
+    private static final long OTHER_BANK = 2;
+
+    private CustomerSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CustomerSearchIndex(3);
+        index.startRebuild();
+        index.finishRebuild(List.of(
+                hit(1, BANK, "John Smith", "john.smith@mail.com", "+91 98765 43210"),
+                hit(2, BANK, "Johanna Berg", "jberg@mail.com", "9123456789"),
+                hit(3, BANK, "Mary Johnson", "mary@mail.com", null),
+                hit(4, OTHER_BANK, "John Other", "john.other@mail.com", "9876500000")));
+    }
+
+    @Test
+    void matchesNameWordsEmailAndPhoneDigits() {
+        assertEquals(List.of(2L, 1L, 3L), ids("joh"));    // johanna berg, john smith, johnson (key order)
+        assertEquals(List.of(3L), ids("Johns"));          // second word of "mary johnson"
+        assertEquals(List.of(2L), ids("JBERG@"));
+        assertEquals(List.of(1L), ids("+91 98765"));
+        assertEquals(List.of(), ids("  "));
+    }
+
+    @Test
+    void toleratesOneTypo() {
+        assertEquals(List.of(1L), ids("smiht"));          // transposition
+        assertEquals(List.of(3L), ids("marry"));          // extra letter
+        assertEquals(List.of(2L), ids("bwrg"));           // substitution
+        assertEquals(List.of(), ids("zz"));               // too short for fuzzy matching
+    }
+
+    @Test
+    void banksDoNotSeeEachOthersCustomers() {
+        assertEquals(List.of(4L), index.search(OTHER_BANK, "john", 10).stream().map(CustomerSearchHit::id).toList());
+        assertTrue(index.search(99L, "john", 10).isEmpty());
+    }
+
+    @Test
+    void registrationsAndDeletionsApplyImmediately() {
+        index.add(hit(5, BANK, "Joe Black", "joe@mail.com", null));
+        index.remove(BANK, 2L);
+
+        assertEquals(List.of(5L, 1L, 3L), ids("jo"));
+        assertEquals(List.of(5L), ids("jo", 1));
+    }
+
+    @Test
+    void changesDuringARebuildSurviveTheSwap() {
+        index.startRebuild();
+        index.add(hit(6, BANK, "Zed Late", "zed@mail.com", null));
+        index.remove(BANK, 1L);
+        // the rebuild read the database before those two commits
+        index.finishRebuild(List.of(
+                hit(1, BANK, "John Smith", "john.smith@mail.com", null),
+                hit(2, BANK, "Johanna Berg", "jberg@mail.com", null)));
+
+        assertEquals(List.of(6L), ids("zed"));
+        assertEquals(List.of(2L), ids("joh"));
+    }
+
+    @Test
+    void changesBeforeTheFirstLoadOrAfterAnAbortedRebuildAreKept() {
+        index = new CustomerSearchIndex(3);
+        index.add(hit(7, BANK, "Early Bird", "early@mail.com", null));
+        assertEquals(List.of(7L), ids("early"));
+
+        index.startRebuild();
+        index.abortRebuild();
+        index.add(hit(8, BANK, "Eve Later", "eve@mail.com", null));
+        index.remove(BANK, 7L);
+
+        assertEquals(List.of(8L), ids("e"));
+    }
+
+    private List<Long> ids(String query) {
+        return ids(query, 10);
+    }
+
+    private List<Long> ids(String query, int limit) {
+        return index.search(BANK, query, limit).stream().map(CustomerSearchHit::id).toList();
+    }
+
+    private static CustomerSearchHit hit(long id, long bankId, String name, String email, String contact) {
+        return new CustomerSearchHit(id, bankId, name, email, contact);
+    }
+}
@@ -0,0 +1,127 @@
+package com.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.backend.dto.CustomerRegisterRequest;
+import com.backend.dto.CustomerSearchHit;
+import com.backend.entity.Admin;
+import com.backend.entity.Bank;
+import com.backend.entity.BankManager;
+import com.backend.entity.Customer;
+import com.backend.repository.AdminRepository;
+import com.backend.repository.BankAccountRepository;
+import com.backend.repository.BankManagerRepository;
+import com.backend.repository.BankRepository;
+import com.backend.repository.CustomerRepository;
+import com.backend.repository.TransactionRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+class CustomerSearchTest {
+
+    @Autowired private CustomerSearchService customerSearchService;
+    @Autowired private CustomerService customerService;
+    @Autowired private AdminRepository adminRepository;
+    @Autowired private BankManagerRepository bankManagerRepository;
+    @Autowired private BankRepository bankRepository;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private BankAccountRepository bankAccountRepository;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    // ManagerDirectory caches across fixtures, so every test gets manager emails of its own
+    private String managerEmail;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        bankAccountRepository.deleteAll();
+        customerRepository.deleteAll();
+        bankRepository.deleteAll();
+        bankManagerRepository.deleteAll();
+        adminRepository.deleteAll();
+
+        Admin admin = new Admin();
+        admin.setEmail("admin@test.com");
+        admin.setPassword("x");
+        admin = adminRepository.save(admin);
+
+        String run = UUID.randomUUID().toString();
+        managerEmail = "manager0-" + run + "@test.com";
+        for (int b = 0; b < 2; b++) {
+            BankManager manager = new BankManager();
+            manager.setName("Manager " + b);
+            manager.setEmail("manager" + b + "-" + run + "@test.com");
+            manager.setPassword("x");
+            manager.setAdmin(admin);
+            manager = bankManagerRepository.save(manager);
+
+            Bank bank = new Bank();
+            bank.setBankName("Bank " + b);
+            bank.setBankCode("B" + b);
+            bank.setAdmin(admin);
+            bank.setBankManager(manager);
+            bank = bankRepository.save(bank);
+
+            Customer customer = new Customer();
+            customer.setName("Priya Sharma");
+            customer.setEmail("priya" + b + "@test.com");
+            customer.setPassword("x");
+            customer.setContact("98100000" + b + b);
+            customer.setBank(bank);
+            customerRepository.save(customer);
+        }
+
+        customerSearchService.rebuild();
+    }
+
+    @Test
+    void findsOnlyTheManagersOwnCustomers() {
+        assertEquals(List.of("priya0@test.com"), emails("shar"));
+        assertEquals(List.of("priya0@test.com"), emails("9810000000"));
+        assertEquals(List.of("priya0@test.com"), emails("sharam"));   // typo
+    }
+
+    @Test
+    void registeredAndDeletedCustomersShowUpWithoutARebuild() {
+        CustomerRegisterRequest request = new CustomerRegisterRequest();
+        request.setName("Sharad Rao");
+        request.setEmail("sharad@test.com");
+        request.setPassword("secret");
+        request.setContact("9000000001");
+        customerService.registerCustomer(request, managerEmail);
+
+        assertEquals(List.of("sharad@test.com", "priya0@test.com"), emails("shar"));
+
+        customerService.deleteCustomer("priya0@test.com");
+        assertEquals(List.of("sharad@test.com"), emails("shar"));
+    }
+
+    @Test
+    void lookupIsOneQueryForTheManager() {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.setStatisticsEnabled(true);
+        stats.clear();
+
+        emails("pri");
+
+        // manager and bank in one projection; the customers come from the index
+        assertEquals(1, stats.getPrepareStatementCount());
+        stats.setStatisticsEnabled(false);
+    }
+
+    private List<String> emails(String query) {
+        return customerSearchService.search(managerEmail, query, 10).stream().map(CustomerSearchHit::email).toList();
+    }
+}
@@ -0,0 +1,241 @@
+package com.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.backend.dto.AmountRequestDTO;
+import com.backend.entity.Admin;
+import com.backend.entity.Bank;
+import com.backend.entity.BankAccount;
+import com.backend.entity.BankManager;
+import com.backend.entity.Customer;
+import com.backend.entity.IdempotencyRecord;
+import com.backend.repository.AdminRepository;
+import com.backend.repository.BankAccountRepository;
+import com.backend.repository.BankManagerRepository;
+import com.backend.repository.BankRepository;
+import com.backend.repository.CustomerRepository;
+import com.backend.repository.IdempotencyRecordRepository;
+import com.backend.repository.TransactionRepository;
+
+@SpringBootTest
+class IdempotencyServiceTest {
+
+    private static final String EMAIL = "customer@test.com";
+
+    @Autowired private IdempotencyService idempotencyService;
+    @Autowired private BankAccountService bankAccountService;
+    @Autowired private IdempotencyRecordRepository idempotencyRecordRepository;
+    @Autowired private AdminRepository adminRepository;
+    @Autowired private BankManagerRepository bankManagerRepository;
+    @Autowired private BankRepository bankRepository;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private BankAccountRepository bankAccountRepository;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private AccountDirectory accountDirectory;
+
+    @Value("${banking.retry.max-attempts}")
+    private int maxAttempts;
+
+    // Keys outlive the fixtures (front cache), so every test uses keys of its own
+    private String key;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        bankAccountRepository.deleteAll();
+        customerRepository.deleteAll();
+        bankRepository.deleteAll();
+        bankManagerRepository.deleteAll();
+        adminRepository.deleteAll();
+
+        key = UUID.randomUUID().toString();
+
+        Admin admin = new Admin();
+        admin.setEmail("admin@test.com");
+        admin.setPassword("x");
+        admin = adminRepository.save(admin);
+
+        BankManager manager = new BankManager();
+        manager.setName("Manager");
+        manager.setEmail("manager@test.com");
+        manager.setPassword("x");
+        manager.setAdmin(admin);
+        manager = bankManagerRepository.save(manager);
+
+        Bank bank = new Bank();
+        bank.setBankName("Test Bank");
+        bank.setBankCode("TB");
+        bank.setAdmin(admin);
+        bank.setBankManager(manager);
+        bank = bankRepository.save(bank);
+
+        Customer customer = new Customer();
+        customer.setName("Customer");
+        customer.setEmail(EMAIL);
+        customer.setPassword("x");
+        customer.setBank(bank);
+        customer = customerRepository.save(customer);
+
+        BankAccount account = new BankAccount();
+        account.setAccountNumber("IDEM0");
+        account.setIfscCode("TEST0000001");
+        account.setAccountType("SAVINGS");
+        account.setBalance(BigDecimal.ZERO);
+        account.setStatus("ACTIVE");
+        account.setCustomer(customer);
+        account.setBank(bank);
+        bankAccountRepository.save(account);
+
+        accountDirectory.warmUp();
+    }
+
+    @Test
+    void repeatedKeyReplaysTheStoredResponse() {
+        ResponseEntity<String> first = deposit(key, "25.00");
+        ResponseEntity<String> second = deposit(key, "25.00");
+
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertNull(first.getHeaders().getFirst(IdempotencyService.REPLAY_HEADER));
+        assertEquals(HttpStatus.OK, second.getStatusCode());
+        assertEquals("true", second.getHeaders().getFirst(IdempotencyService.REPLAY_HEADER));
+        assertBalance("25.00");
+    }
+
+    @Test
+    void keyReusedForADifferentRequestIsRejected() {
+        deposit(key, "25.00");
+
+        ResponseEntity<String> other = deposit(key, "30.00");
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, other.getStatusCode());
+        assertBalance("25.00");
+    }
+
+    @Test
+    void concurrentCallersWithOneKeyApplyItOnce() throws Exception {
+        AtomicInteger applied = new AtomicInteger();
+        AmountRequestDTO req = amount("10.00");
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Future<ResponseEntity<String>>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(pool.submit(() -> idempotencyService.execute(key, "DEPOSIT", req, () -> {
+                bankAccountService.deposit(req);
+                applied.incrementAndGet();
+                pause(200);   // hold the claimed key while the others arrive
+                return ResponseEntity.ok().build();
+            })));
+        }
+
+        int originals = 0;
+        for (Future<ResponseEntity<String>> future : futures) {
+            try {
+                ResponseEntity<String> response = future.get();
+                assertEquals(HttpStatus.OK, response.getStatusCode());
+                originals += response.getHeaders().containsKey(IdempotencyService.REPLAY_HEADER) ? 0 : 1;
+            } catch (ExecutionException ex) {
+                // a loser may give up waiting for the winner rather than replay it
+                assertEquals("Request with this Idempotency-Key is still in progress", ex.getCause().getMessage());
+            }
+        }
+        pool.shutdown();
+
+        assertEquals(1, applied.get());
+        assertEquals(1, originals);   // everyone else got the replay (or "in progress")
+        assertBalance("10.00");
+    }
+
+    @Test
+    void failedOperationReleasesTheKey() {
+        AmountRequestDTO req = amount("10.00");
+        assertThrows(RuntimeException.class, () -> idempotencyService.execute(key, "DEPOSIT", req, () -> {
+            bankAccountService.deposit(req);
+            throw new RuntimeException("Downstream failure");
+        }));
+
+        assertFalse(idempotencyRecordRepository.findByIdempotencyKey(key).isPresent());
+        assertBalance("0.00");   // rolled back together with the key
+        assertEquals(HttpStatus.OK, deposit(key, "10.00").getStatusCode());
+        assertBalance("10.00");
+    }
+
+    @Test
+    void conflictsWithoutAKeyAreRetriedOnceOver() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(CannotAcquireLockException.class, () -> idempotencyService.execute(null, "DEPOSIT", amount("1.00"), () -> {
+            attempts.incrementAndGet();
+            throw new CannotAcquireLockException("lock timeout");
+        }));
+
+        assertEquals(maxAttempts, attempts.get());
+    }
+
+    @Test
+    void purgeDropsKeysPastRetention() {
+        IdempotencyRecord old = new IdempotencyRecord();
+        old.setIdempotencyKey(key + "-old");
+        old.setEndpoint("DEPOSIT");
+        old.setRequestHash("x".repeat(64));
+        old.setResponseStatus(200);
+        old.setCreatedOn(LocalDateTime.now().minusDays(2));
+        idempotencyRecordRepository.save(old);
+        deposit(key, "5.00");
+
+        idempotencyService.purgeExpired();
+
+        assertFalse(idempotencyRecordRepository.findByIdempotencyKey(key + "-old").isPresent());
+        assertTrue(idempotencyRecordRepository.findByIdempotencyKey(key).isPresent());
+    }
+
+    private ResponseEntity<String> deposit(String idempotencyKey, String amount) {
+        AmountRequestDTO req = amount(amount);
+        return idempotencyService.execute(idempotencyKey, "DEPOSIT", req, () -> {
+            bankAccountService.deposit(req);
+            return ResponseEntity.ok().build();
+        });
+    }
+
+    private static AmountRequestDTO amount(String amount) {
+        AmountRequestDTO req = new AmountRequestDTO();
+        req.setEmail(EMAIL);
+        req.setAmount(new BigDecimal(amount));
+        return req;
+    }
+
+    private void assertBalance(String expected) {
+        assertEquals(0, new BigDecimal(expected).compareTo(
+                bankAccountRepository.findByAccountNumber("IDEM0").orElseThrow().getBalance()));
+    }
+
+    private static void pause(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.backend.dto.AddBankRequest;
+import com.backend.dto.ManagerBank;
+import com.backend.entity.Admin;
+import com.backend.entity.BankManager;
+import com.backend.repository.AdminRepository;
+import com.backend.repository.BankAccountRepository;
+import com.backend.repository.BankManagerRepository;
+import com.backend.repository.BankRepository;
+import com.backend.repository.CustomerRepository;
+import com.backend.repository.TransactionRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = "banking.managers.cache-ttl-seconds=300")
+class ManagerDirectoryTest {
+
+    @Autowired private ManagerDirectory managerDirectory;
+    @Autowired private BankService bankService;
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private AdminRepository adminRepository;
+    @Autowired private BankManagerRepository bankManagerRepository;
+    @Autowired private BankRepository bankRepository;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private BankAccountRepository bankAccountRepository;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    // The cache outlives the fixtures, so every test gets a manager email of its own
+    private String managerEmail;
+    private BankManager manager;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        bankAccountRepository.deleteAll();
+        customerRepository.deleteAll();
+        bankRepository.deleteAll();
+        bankManagerRepository.deleteAll();
+        adminRepository.deleteAll();
+
+        Admin admin = new Admin();
+        admin.setEmail("admin@test.com");
+        admin.setPassword("x");
+        admin = adminRepository.save(admin);
+
+        managerEmail = "manager-" + UUID.randomUUID() + "@test.com";
+        manager = new BankManager();
+        manager.setName("Manager");
+        manager.setEmail(managerEmail);
+        manager.setPassword("x");
+        manager.setAdmin(admin);
+        manager = bankManagerRepository.save(manager);
+    }
+
+    @Test
+    void repeatedLookupsSkipTheDatabase() {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.setStatisticsEnabled(true);
+        stats.clear();
+        double hits = gets("hit");
+        double misses = gets("miss");
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(manager.getId(), managerDirectory.find(managerEmail).orElseThrow().managerId());
+        }
+
+        assertEquals(1, stats.getPrepareStatementCount());
+        stats.setStatisticsEnabled(false);
+        assertEquals(4, gets("hit") - hits);
+        assertEquals(1, gets("miss") - misses);
+    }
+
+    @Test
+    void assigningABankEvictsTheManager() {
+        assertNull(managerDirectory.find(managerEmail).orElseThrow().bankId());
+
+        AddBankRequest request = new AddBankRequest();
+        request.setBankName("Fresh Bank");
+        request.setBankCode("FB01");
+        request.setBankManagerId(manager.getId());
+        bankService.addBank(request, "admin@test.com");
+
+        ManagerBank found = managerDirectory.find(managerEmail).orElseThrow();
+        assertEquals(bankRepository.findAll().get(0).getId(), found.bankId());
+        assertEquals("Fresh Bank", found.bankName());
+        assertEquals("FB01", found.bankCode());
+    }
+
+    @Test
+    void unknownManagersAreNotCached() {
+        String email = "late-" + managerEmail;
+        assertTrue(managerDirectory.find(email).isEmpty());
+
+        BankManager late = new BankManager();
+        late.setName("Late");
+        late.setEmail(email);
+        late.setPassword("x");
+        late.setAdmin(manager.getAdmin());
+        bankManagerRepository.save(late);
+
+        assertTrue(managerDirectory.find(email).isPresent());
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "managerBanks").tag("result", result)
+                .functionCounter().count();
+    }
+}
@@ -0,0 +1,18 @@
+package com.backend.service;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+// Same stress run, but balances are protected by @Version instead of row locks
+@SpringBootTest(properties = {
+        "banking.transfer.lock-mode=OPTIMISTIC",
+        // 8 writers on 4 rows is far hotter than production: give version checks room to win
+        "banking.retry.max-attempts=10"
+})
+class OptimisticTransferConcurrencyTest extends TransferServiceConcurrencyTest {
+
+    // A transfer may lose every version check, but only rarely
+    @Override
+    protected int maxExhaustedRetries() {
+        return THREADS * TRANSFERS_PER_THREAD / 10;
+    }
+}
@@ -0,0 +1,215 @@
+package com.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.backend.dto.CursorPage;
+import com.backend.dto.TransactionResponseDTO;
+import com.backend.entity.Admin;
+import com.backend.entity.Bank;
+import com.backend.entity.BankAccount;
+import com.backend.entity.BankManager;
+import com.backend.entity.Customer;
+import com.backend.entity.Transaction;
+import com.backend.repository.AdminRepository;
+import com.backend.repository.BankAccountRepository;
+import com.backend.repository.BankManagerRepository;
+import com.backend.repository.BankRepository;
+import com.backend.repository.CustomerRepository;
+import com.backend.repository.TransactionRepository;
+import com.backend.repository.TransactionSegmentStore;
+
+/**
+ * Every listing must return exactly the same rows, in the same order, before and after
+ * the old months have been moved to the archive.
+ */
+@SpringBootTest(properties = {
+        "banking.archive.dir=" + TransactionArchiveTest.ARCHIVE_DIR,
+        "banking.archive.after-days=90",
+        "banking.archive.rows-per-group=7"
+})
+class TransactionArchiveTest {
+
+    static final String ARCHIVE_DIR = "target/archive-test";
+
+    private static final int HISTORY = 60;
+
+    @Autowired private TransactionArchiveService archiveService;
+    @Autowired private TransactionSegmentStore segmentStore;
+    @Autowired private TransactionService transactionService;
+    @Autowired private BankAccountService bankAccountService;
+    @Autowired private TransactionExportService exportService;
+    @Autowired private AdminRepository adminRepository;
+    @Autowired private BankManagerRepository bankManagerRepository;
+    @Autowired private BankRepository bankRepository;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private BankAccountRepository bankAccountRepository;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private AccountDirectory accountDirectory;
+
+    private Long bankId;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path dir = Paths.get(ARCHIVE_DIR);
+        if (Files.isDirectory(dir)) {
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path file : files.toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+        segmentStore.reload();
+
+        transactionRepository.deleteAll();
+        bankAccountRepository.deleteAll();
+        customerRepository.deleteAll();
+        bankRepository.deleteAll();
+        bankManagerRepository.deleteAll();
+        adminRepository.deleteAll();
+
+        Admin admin = new Admin();
+        admin.setEmail("admin@test.com");
+        admin.setPassword("x");
+        admin = adminRepository.save(admin);
+
+        BankManager manager = new BankManager();
+        manager.setName("Manager");
+        manager.setEmail("manager@test.com");
+        manager.setPassword("x");
+        manager.setAdmin(admin);
+        manager = bankManagerRepository.save(manager);
+
+        Bank bank = new Bank();
+        bank.setBankName("Archive Bank");
+        bank.setBankCode("AB");
+        bank.setAdmin(admin);
+        bank.setBankManager(manager);
+        bank = bankRepository.save(bank);
+        bankId = bank.getId();
+
+        BankAccount[] accounts = new BankAccount[2];
+        for (int a = 0; a < 2; a++) {
+            Customer customer = new Customer();
+            customer.setName("Customer " + a);
+            customer.setEmail("customer" + a + "@test.com");
+            customer.setPassword("x");
+            customer.setBank(bank);
+            customer = customerRepository.save(customer);
+
+            BankAccount account = new BankAccount();
+            account.setAccountNumber("ARCH" + a);
+            account.setIfscCode("TEST0000001");
+            account.setAccountType("SAVINGS");
+            account.setCustomer(customer);
+            account.setBank(bank);
+            accounts[a] = bankAccountRepository.save(account);
+        }
+
+        // ~10 months of history, two accounts interleaved, pairs sharing a timestamp (id tie-breaker)
+        LocalDateTime now = LocalDate.now().atTime(12, 0);
+        List<Transaction> rows = new ArrayList<>();
+        for (int i = 0; i < HISTORY; i++) {
+            Transaction tx = new Transaction();
+            tx.setTransactionId("A" + i);
+            tx.setType(i % 3 == 0 ? "WITHDRAW" : "DEPOSIT");
+            tx.setAmount(new BigDecimal("10.25").add(BigDecimal.valueOf(i)));
+            tx.setBalanceAfter(i % 7 == 0 ? null : BigDecimal.valueOf(1000 + i));
+            tx.setPurpose(i % 2 == 0 ? "rent" : null);
+            tx.setBankAccount(accounts[i % 2]);
+            tx.setTransactionDate(now.minusDays(5L * (i / 2)));
+            rows.add(tx);
+        }
+        transactionRepository.saveAll(rows);
+
+        accountDirectory.warmUp();
+    }
+
+    @Test
+    void listingsReadThroughTheArchive() {
+        List<String> accountHistory = walk(c -> transactionService.getTransactions("ARCH0", 4, c),
+                TransactionResponseDTO::getTransactionId);
+        List<String> byEmail = walk(c -> bankAccountService.getTransactions("customer1@test.com", 3, c),
+                dto -> dto.getDate() + " " + dto.getAmount() + " " + dto.getBalance());
+        List<String> everything = walk(c -> transactionService.getTransactions(null, 6, c),
+                dto -> dto.getTransactionId() + " " + dto.getAccountNumber() + " " + dto.getCustomerName());
+        List<String> bankListing = walk(c -> transactionService.getBankTransactions(bankId, 5, c),
+                dto -> dto.getId() + " " + dto.getAccountNo() + " " + dto.getBank() + " " + dto.getPurpose());
+        String export = export();
+
+        long moved = archiveService.archive();
+
+        assertTrue(moved > 0);
+        assertEquals(HISTORY - moved, transactionRepository.count());
+        assertFalse(segmentStore.months().isEmpty());
+        assertTrue(segmentStore.months().last().isBefore(YearMonth.from(LocalDate.now().minusDays(90))));
+
+        assertEquals(accountHistory, walk(c -> transactionService.getTransactions("ARCH0", 4, c),
+                TransactionResponseDTO::getTransactionId));
+        assertEquals(byEmail, walk(c -> bankAccountService.getTransactions("customer1@test.com", 3, c),
+                dto -> dto.getDate() + " " + dto.getAmount() + " " + dto.getBalance()));
+        assertEquals(everything, walk(c -> transactionService.getTransactions(null, 6, c),
+                dto -> dto.getTransactionId() + " " + dto.getAccountNumber() + " " + dto.getCustomerName()));
+        assertEquals(bankListing, walk(c -> transactionService.getBankTransactions(bankId, 5, c),
+                dto -> dto.getId() + " " + dto.getAccountNo() + " " + dto.getBank() + " " + dto.getPurpose()));
+        assertEquals(export, export());
+
+        assertEquals(HISTORY / 2, accountHistory.size());
+        assertEquals(HISTORY, bankListing.size());
+    }
+
+    @Test
+    void archivingTwiceMovesNothingNew() {
+        assertTrue(archiveService.archive() > 0);
+        long live = transactionRepository.count();
+
+        assertEquals(0, archiveService.archive());
+        assertEquals(live, transactionRepository.count());
+
+        // segments are found again after a restart
+        List<YearMonth> months = List.copyOf(segmentStore.months());
+        segmentStore.reload();
+        assertEquals(months, List.copyOf(segmentStore.months()));
+    }
+
+    private static <T> List<String> walk(Function<String, CursorPage<T>> pages, Function<T, String> key) {
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<T> page = pages.apply(cursor);
+            page.getItems().forEach(item -> seen.add(key.apply(item)));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return seen;
+    }
+
+    private String export() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.export(TransactionExportService.Format.CSV, null, null, bankId, out);
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertEquals(rows + 1, Arrays.stream(csv.split("\n")).count());
+        return csv;
+    }
+}
@@ -0,0 +1,140 @@
+package com.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.backend.entity.Admin;
+import com.backend.entity.Bank;
+import com.backend.entity.BankAccount;
+import com.backend.entity.BankManager;
+import com.backend.entity.Customer;
+import com.backend.entity.Transaction;
+import com.backend.repository.AdminRepository;
+import com.backend.repository.BankAccountRepository;
+import com.backend.repository.BankManagerRepository;
+import com.backend.repository.BankRepository;
+import com.backend.repository.CustomerRepository;
+import com.backend.repository.TransactionRepository;
+import com.backend.service.TransactionExportService.Format;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest(properties = "banking.export.clear-every=7")
+class TransactionExportTest {
+
+    private static final int PER_BANK = 30;
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Autowired private TransactionExportService exportService;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private AdminRepository adminRepository;
+    @Autowired private BankManagerRepository bankManagerRepository;
+    @Autowired private BankRepository bankRepository;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private BankAccountRepository bankAccountRepository;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private AccountDirectory accountDirectory;
+
+    private Bank firstBank;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        bankAccountRepository.deleteAll();
+        customerRepository.deleteAll();
+        bankRepository.deleteAll();
+        bankManagerRepository.deleteAll();
+        adminRepository.deleteAll();
+
+        Admin admin = new Admin();
+        admin.setEmail("admin@test.com");
+        admin.setPassword("x");
+        admin = adminRepository.save(admin);
+
+        for (int b = 0; b < 2; b++) {
+            BankManager manager = new BankManager();
+            manager.setName("Manager " + b);
+            manager.setEmail("manager" + b + "@test.com");
+            manager.setPassword("x");
+            manager.setAdmin(admin);
+            manager = bankManagerRepository.save(manager);
+
+            Bank bank = new Bank();
+            bank.setBankName("Bank " + b);
+            bank.setBankCode("B" + b);
+            bank.setAdmin(admin);
+            bank.setBankManager(manager);
+            bank = bankRepository.save(bank);
+            if (b == 0) {
+                firstBank = bank;
+            }
+
+            Customer customer = new Customer();
+            customer.setName("Customer, " + b); // comma → must be quoted in CSV
+            customer.setEmail("customer" + b + "@test.com");
+            customer.setPassword("x");
+            customer.setBank(bank);
+            customer = customerRepository.save(customer);
+
+            BankAccount account = new BankAccount();
+            account.setAccountNumber("EXP" + b);
+            account.setIfscCode("TEST0000001");
+            account.setAccountType("SAVINGS");
+            account.setCustomer(customer);
+            account.setBank(bank);
+            account = bankAccountRepository.save(account);
+
+            for (int i = 0; i < PER_BANK; i++) {
+                Transaction tx = new Transaction();
+                tx.setTransactionId("X" + b + "-" + i);
+                tx.setType("DEPOSIT");
+                tx.setAmount(BigDecimal.ONE);
+                tx.setBalanceAfter(BigDecimal.valueOf(i + 1));
+                tx.setBankAccount(account);
+                tx.setTransactionDate(BASE.plusDays(i));
+                transactionRepository.save(tx);
+            }
+        }
+
+        accountDirectory.warmUp();
+    }
+
+    @Test
+    void ndjsonExportWritesOneObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = exportService.export(Format.NDJSON, null, null, null, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2 * PER_BANK, written);
+        assertEquals(2 * PER_BANK, lines.size());
+
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals("DEPOSIT", first.get("type").asText());
+        assertTrue(first.get("bankName").asText().startsWith("Bank "));
+    }
+
+    @Test
+    void csvExportAppliesBankAndDateFilters() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = exportService.export(
+                Format.CSV, BASE.plusDays(10), BASE.plusDays(20), firstBank.getId(), out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(10, written);
+        assertEquals(11, lines.size()); // header + rows
+        assertTrue(lines.get(0).startsWith("id,transactionId,date"));
+        assertTrue(lines.get(1).contains("\"Customer, 0\""));
+        assertTrue(lines.stream().skip(1).allMatch(l -> l.contains(",Bank 0,")));
+    }
+}
@@ -0,0 +1,193 @@
+package com.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.backend.dto.CursorPage;
+import com.backend.dto.CustomerTransactionResponseDTO;
+import com.backend.dto.TransactionResponseDTO;
+import com.backend.entity.Admin;
+import com.backend.entity.Bank;
+import com.backend.entity.BankAccount;
+import com.backend.entity.BankManager;
+import com.backend.entity.Customer;
+import com.backend.entity.Transaction;
+import com.backend.repository.AdminRepository;
+import com.backend.repository.BankAccountRepository;
+import com.backend.repository.BankManagerRepository;
+import com.backend.repository.BankRepository;
+import com.backend.repository.CustomerRepository;
+import com.backend.repository.TransactionRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+class TransactionHistoryPagingTest {
+
+    private static final int HISTORY = 23;
+    private static final String EMAIL = "history@test.com";
+    private static final String ACCOUNT_NUMBER = "HIST0001";
+
+    @Autowired private TransactionService transactionService;
+    @Autowired private BankAccountService bankAccountService;
+    @Autowired private AdminRepository adminRepository;
+    @Autowired private BankManagerRepository bankManagerRepository;
+    @Autowired private BankRepository bankRepository;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private BankAccountRepository bankAccountRepository;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private AccountDirectory accountDirectory;
+
+    private Bank bank;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        bankAccountRepository.deleteAll();
+        customerRepository.deleteAll();
+        bankRepository.deleteAll();
+        bankManagerRepository.deleteAll();
+        adminRepository.deleteAll();
+
+        Admin admin = new Admin();
+        admin.setEmail("admin@test.com");
+        admin.setPassword("x");
+        admin = adminRepository.save(admin);
+
+        BankManager manager = new BankManager();
+        manager.setName("Manager");
+        manager.setEmail("manager@test.com");
+        manager.setPassword("x");
+        manager.setAdmin(admin);
+        manager = bankManagerRepository.save(manager);
+
+        bank = new Bank();
+        bank.setBankName("Test Bank");
+        bank.setBankCode("TB");
+        bank.setAdmin(admin);
+        bank.setBankManager(manager);
+        bank = bankRepository.save(bank);
+
+        Customer customer = new Customer();
+        customer.setName("History");
+        customer.setEmail(EMAIL);
+        customer.setPassword("x");
+        customer.setBank(bank);
+        customer = customerRepository.save(customer);
+
+        BankAccount account = new BankAccount();
+        account.setAccountNumber(ACCOUNT_NUMBER);
+        account.setIfscCode("TEST0000001");
+        account.setAccountType("SAVINGS");
+        account.setCustomer(customer);
+        account.setBank(bank);
+        account = bankAccountRepository.save(account);
+
+        // Groups of rows share a timestamp, so the id tie-breaker is exercised
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Transaction> rows = new ArrayList<>();
+        for (int i = 0; i < HISTORY; i++) {
+            Transaction tx = new Transaction();
+            tx.setTransactionId("T" + i);
+            tx.setType("DEPOSIT");
+            tx.setAmount(BigDecimal.valueOf(i + 1));
+            tx.setBalanceAfter(BigDecimal.valueOf(i + 1));
+            tx.setBankAccount(account);
+            tx.setTransactionDate(base.plusMinutes(i / 3));
+            rows.add(tx);
+        }
+        transactionRepository.saveAll(rows);
+
+        accountDirectory.warmUp();
+    }
+
+    @Test
+    void walkingAllPagesReturnsEveryRowOnceNewestFirst() {
+        List<TransactionResponseDTO> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+
+        do {
+            CursorPage<TransactionResponseDTO> page = transactionService.getTransactions(ACCOUNT_NUMBER, 5, cursor);
+            assertTrue(page.getItems().size() <= 5);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(5, pages);
+        assertEquals(HISTORY, seen.size());
+        assertEquals(HISTORY, seen.stream().map(TransactionResponseDTO::getTransactionId).distinct().count());
+
+        for (int i = 1; i < seen.size(); i++) {
+            TransactionResponseDTO prev = seen.get(i - 1);
+            TransactionResponseDTO next = seen.get(i);
+            assertTrue(prev.getDate().isAfter(next.getDate())
+                    || (prev.getDate().equals(next.getDate()) && prev.getId() > next.getId()));
+        }
+    }
+
+    @Test
+    void accountHistoryByEmailPagesToTheEnd() {
+        CursorPage<TransactionResponseDTO> first = bankAccountService.getTransactions(EMAIL, 20, null);
+        assertEquals(20, first.getItems().size());
+
+        CursorPage<TransactionResponseDTO> last = bankAccountService.getTransactions(EMAIL, 20, first.getNextCursor());
+        assertEquals(HISTORY - 20, last.getItems().size());
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    void bankListingIsOneQueryRegardlessOfAccountCount() {
+        for (int i = 0; i < 10; i++) {
+            Customer customer = new Customer();
+            customer.setName("Other " + i);
+            customer.setEmail("other" + i + "@test.com");
+            customer.setPassword("x");
+            customer.setBank(bank);
+            customer = customerRepository.save(customer);
+
+            BankAccount account = new BankAccount();
+            account.setAccountNumber("OTHER" + i);
+            account.setIfscCode("TEST0000001");
+            account.setAccountType("SAVINGS");
+            account.setCustomer(customer);
+            account.setBank(bank);
+            account = bankAccountRepository.save(account);
+
+            Transaction tx = new Transaction();
+            tx.setTransactionId("O" + i);
+            tx.setType("DEPOSIT");
+            tx.setAmount(BigDecimal.ONE);
+            tx.setBalanceAfter(BigDecimal.ONE);
+            tx.setBankAccount(account);
+            transactionRepository.save(tx);
+        }
+
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.setStatisticsEnabled(true);
+        stats.clear();
+
+        CursorPage<CustomerTransactionResponseDTO> page =
+                transactionService.getBankTransactions(bank.getId(), null, null);
+
+        assertEquals(HISTORY + 10, page.getItems().size());
+        assertNull(page.getNextCursor());
+        assertEquals(1, stats.getPrepareStatementCount());
+        stats.setStatisticsEnabled(false);
+    }
+}
@@ -0,0 +1,52 @@
+package com.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class TransactionPartitionPlanTest {
+
+    private static final YearMonth NOW = YearMonth.of(2024, 11);
+
+    @Test
+    void namesMatchTheMigration() {
+        assertEquals("transactions_y2024m06", TransactionPartitionService.partitionName(YearMonth.of(2024, 6)));
+        assertEquals(YearMonth.of(2024, 6), TransactionPartitionService.partitionMonth("transactions_y2024m06"));
+        assertNull(TransactionPartitionService.partitionMonth("transactions_archive"));
+    }
+
+    @Test
+    void createsCurrentAndUpcomingMonthsAcrossTheYearEnd() {
+        List<String> existing = List.of("transactions_y2024m10", "transactions_y2024m11", "transactions_y2025m01");
+
+        assertEquals(List.of(YearMonth.of(2024, 12), YearMonth.of(2025, 2)),
+                TransactionPartitionService.monthsToCreate(existing, NOW, 3));
+    }
+
+    @Test
+    void detachesOnlyWholeMonthsPastRetention() {
+        List<String> existing = List.of("transactions_y2024m07", "transactions_y2023m12", "transactions_y2024m08",
+                "transactions_y2024m11", "transactions_legacy");
+
+        Set<YearMonth> archived = Set.of(YearMonth.of(2023, 12), YearMonth.of(2024, 7), YearMonth.of(2024, 8));
+
+        // keep Aug..Nov
+        assertEquals(List.of("transactions_y2023m12", "transactions_y2024m07"),
+                TransactionPartitionService.partitionsToDetach(existing, NOW, 3, archived));
+        assertEquals(List.of(), TransactionPartitionService.partitionsToDetach(existing, NOW, 0, archived));
+    }
+
+    @Test
+    void keepsMonthsPastRetentionUntilTheyAreArchived() {
+        List<String> existing = List.of("transactions_y2023m12", "transactions_y2024m01", "transactions_y2024m11");
+
+        assertEquals(List.of("transactions_y2023m12"),
+                TransactionPartitionService.partitionsToDetach(existing, NOW, 3, Set.of(YearMonth.of(2023, 12))));
+        assertEquals(List.of(), TransactionPartitionService.partitionsToDetach(existing, NOW, 3, Set.of()));
+    }
+}
@@ -0,0 +1,183 @@
+package com.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+
+import com.backend.dto.CustomerTransactionResponseDTO;
+import com.backend.dto.TransactionSearchRequest;
+import com.backend.entity.Admin;
+import com.backend.entity.Bank;
+import com.backend.entity.BankAccount;
+import com.backend.entity.BankManager;
+import com.backend.entity.Customer;
+import com.backend.entity.Transaction;
+import com.backend.repository.AdminRepository;
+import com.backend.repository.BankAccountRepository;
+import com.backend.repository.BankManagerRepository;
+import com.backend.repository.BankRepository;
+import com.backend.repository.CustomerRepository;
+import com.backend.repository.TransactionRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+class TransactionSearchTest {
+
+    private static final int PER_BANK = 40;
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final List<String> TYPES = List.of("DEPOSIT", "WITHDRAW", "TRANSFER", "DEPOSIT");
+
+    @Autowired private TransactionService transactionService;
+    @Autowired private AdminRepository adminRepository;
+    @Autowired private BankManagerRepository bankManagerRepository;
+    @Autowired private BankRepository bankRepository;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private BankAccountRepository bankAccountRepository;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private AccountDirectory accountDirectory;
+
+    private Long firstBankId;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        bankAccountRepository.deleteAll();
+        customerRepository.deleteAll();
+        bankRepository.deleteAll();
+        bankManagerRepository.deleteAll();
+        adminRepository.deleteAll();
+
+        Admin admin = new Admin();
+        admin.setEmail("admin@test.com");
+        admin.setPassword("x");
+        admin = adminRepository.save(admin);
+
+        for (int b = 0; b < 2; b++) {
+            BankManager manager = new BankManager();
+            manager.setName("Manager " + b);
+            manager.setEmail("manager" + b + "@test.com");
+            manager.setPassword("x");
+            manager.setAdmin(admin);
+            manager = bankManagerRepository.save(manager);
+
+            Bank bank = new Bank();
+            bank.setBankName("Bank " + b);
+            bank.setBankCode("B" + b);
+            bank.setAdmin(admin);
+            bank.setBankManager(manager);
+            bank = bankRepository.save(bank);
+            if (b == 0) {
+                firstBankId = bank.getId();
+            }
+
+            Customer customer = new Customer();
+            customer.setName("Customer " + b);
+            customer.setEmail("customer" + b + "@test.com");
+            customer.setPassword("x");
+            customer.setBank(bank);
+            customer = customerRepository.save(customer);
+
+            BankAccount account = new BankAccount();
+            account.setAccountNumber("SRCH" + b);
+            account.setIfscCode("TEST0000001");
+            account.setAccountType("SAVINGS");
+            account.setCustomer(customer);
+            account.setBank(bank);
+            account = bankAccountRepository.save(account);
+
+            for (int i = 0; i < PER_BANK; i++) {
+                Transaction tx = new Transaction();
+                tx.setTransactionId("S" + b + "-" + i);
+                tx.setType(TYPES.get(i % TYPES.size()));
+                tx.setAmount(BigDecimal.valueOf(i * 10L));
+                tx.setBalanceAfter(BigDecimal.ZERO);
+                tx.setRecipientAccount(i % 5 == 0 ? "CP-1" : "CP-2");
+                tx.setPurpose(i % 8 == 0 ? "Rent 100% paid" : "Groceries");
+                tx.setBankAccount(account);
+                tx.setTransactionDate(BASE.plusDays(i));
+                transactionRepository.save(tx);
+            }
+        }
+
+        accountDirectory.warmUp();
+    }
+
+    @Test
+    void filtersAreCombinedInOneQuery() {
+        TransactionSearchRequest req = request();
+        req.setType("deposit");
+        req.setFrom(BASE.plusDays(8));
+        req.setTo(BASE.plusDays(32));
+        req.setMinAmount(BigDecimal.valueOf(100));
+
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.setStatisticsEnabled(true);
+        stats.clear();
+
+        Page<CustomerTransactionResponseDTO> page =
+                transactionService.searchBankTransactions(req, transactionService.searchPage(0, 3, null));
+
+        // rows + count, nothing per row
+        assertEquals(2, stats.getPrepareStatementCount());
+        stats.setStatisticsEnabled(false);
+
+        // DEPOSIT = i % 4 in {0, 3}; days 8..31 and amount >= 100 → i = 11, 12, 15, 16, ..., 28, 31
+        assertEquals(11, page.getTotalElements());
+        assertEquals(3, page.getContent().size());
+        assertEquals(List.of(BASE.plusDays(31), BASE.plusDays(28), BASE.plusDays(27)),
+                page.getContent().stream().map(CustomerTransactionResponseDTO::getDate).toList());
+        assertTrue(page.getContent().stream().allMatch(t -> "Bank 0".equals(t.getBank())
+                && "Customer 0".equals(t.getCustomerName()) && "DEPOSIT".equals(t.getType())));
+    }
+
+    @Test
+    void counterpartyAndPurposeFilters() {
+        TransactionSearchRequest req = request();
+        req.setCounterpartyAccount("CP-1");
+        assertEquals(PER_BANK / 5, transactionService
+                .searchBankTransactions(req, transactionService.searchPage(null, null, null)).getTotalElements());
+
+        // % in the filter is a literal, not a wildcard
+        req = request();
+        req.setPurpose("100%");
+        Page<CustomerTransactionResponseDTO> rent =
+                transactionService.searchBankTransactions(req, transactionService.searchPage(null, null, "amount"));
+        assertEquals(PER_BANK / 8, rent.getTotalElements());
+        assertEquals(0, BigDecimal.ZERO.compareTo(rent.getContent().get(0).getAmount()));
+
+        req.setPurpose("RENT");
+        assertEquals(PER_BANK / 8, transactionService
+                .searchBankTransactions(req, transactionService.searchPage(null, null, null)).getTotalElements());
+    }
+
+    @Test
+    void rejectsUnknownTypeAndMissingBank() {
+        TransactionSearchRequest req = request();
+        req.setType("REFUND");
+        assertThrows(RuntimeException.class,
+                () -> transactionService.searchBankTransactions(req, transactionService.searchPage(null, null, null)));
+
+        assertThrows(RuntimeException.class, () -> transactionService.searchBankTransactions(
+                new TransactionSearchRequest(), transactionService.searchPage(null, null, null)));
+    }
+
+    private TransactionSearchRequest request() {
+        TransactionSearchRequest req = new TransactionSearchRequest();
+        req.setBankId(firstBankId);
+        return req;
+    }
+}
@@ -0,0 +1,200 @@
+package com.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.backend.dto.TransferRequest;
+import com.backend.dto.TransferResultDTO;
+import com.backend.entity.Admin;
+import com.backend.entity.Bank;
+import com.backend.entity.BankAccount;
+import com.backend.entity.BankManager;
+import com.backend.entity.Customer;
+import com.backend.repository.AdminRepository;
+import com.backend.repository.BankAccountRepository;
+import com.backend.repository.BankManagerRepository;
+import com.backend.repository.BankRepository;
+import com.backend.repository.CustomerRepository;
+import com.backend.repository.TransactionRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+class TransferBatchTest {
+
+    private static final String IFSC = "TEST0000001";
+
+    @Autowired private TransferService transferService;
+    @Autowired private AdminRepository adminRepository;
+    @Autowired private BankManagerRepository bankManagerRepository;
+    @Autowired private BankRepository bankRepository;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private BankAccountRepository bankAccountRepository;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private AccountDirectory accountDirectory;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        bankAccountRepository.deleteAll();
+        customerRepository.deleteAll();
+        bankRepository.deleteAll();
+        bankManagerRepository.deleteAll();
+        adminRepository.deleteAll();
+
+        Admin admin = new Admin();
+        admin.setEmail("admin@test.com");
+        admin.setPassword("x");
+        admin = adminRepository.save(admin);
+
+        BankManager manager = new BankManager();
+        manager.setName("Manager");
+        manager.setEmail("manager@test.com");
+        manager.setPassword("x");
+        manager.setAdmin(admin);
+        manager = bankManagerRepository.save(manager);
+
+        Bank bank = new Bank();
+        bank.setBankName("Test Bank");
+        bank.setBankCode("TB");
+        bank.setAdmin(admin);
+        bank.setBankManager(manager);
+        bank = bankRepository.save(bank);
+
+        for (int i = 0; i < 3; i++) {
+            Customer customer = new Customer();
+            customer.setName("Customer " + i);
+            customer.setEmail("customer" + i + "@test.com");
+            customer.setPassword("x");
+            customer.setBank(bank);
+            customer = customerRepository.save(customer);
+
+            BankAccount account = new BankAccount();
+            account.setAccountNumber("BAT" + i);
+            account.setIfscCode(IFSC);
+            account.setAccountType("SAVINGS");
+            account.setBalance(i == 0 ? new BigDecimal("100.00") : BigDecimal.ZERO);
+            account.setStatus("ACTIVE");
+            account.setCustomer(customer);
+            account.setBank(bank);
+            bankAccountRepository.save(account);
+        }
+
+        accountDirectory.warmUp();
+    }
+
+    @Test
+    void itemsApplyInOrderInOneTransactionAndRejectionsAreReported() {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.setStatisticsEnabled(true);
+        stats.clear();
+
+        List<TransferResultDTO> results = transferService.transferBatch(List.of(
+                transfer("BAT0", "BAT1", "80"),
+                transfer("BAT1", "BAT2", "50"),     // only covered by the item before it
+                transfer("BAT2", "BAT0", "1000"),   // insufficient balance
+                transfer("BAT0", "BAT1", "-5"),     // would pull money from the receiver
+                transfer("BAT1", "BAT2", "10")));
+
+        long transactions = stats.getTransactionCount();
+        boolean lockedInIdOrder = Arrays.stream(stats.getQueries())
+                .anyMatch(query -> query.contains("accountNumber in") && query.contains("order by a.id"));
+        stats.setStatisticsEnabled(false);
+
+        assertEquals(1, transactions);
+        assertTrue(lockedInIdOrder);
+        assertEquals(List.of("SUCCESS", "SUCCESS", "FAILED", "FAILED", "SUCCESS"),
+                results.stream().map(TransferResultDTO::getStatus).toList());
+        assertEquals("Insufficient balance", results.get(2).getMessage());
+        assertEquals("Amount must be greater than zero", results.get(3).getMessage());
+
+        assertBalance("BAT0", "20.00");
+        assertBalance("BAT1", "20.00");
+        assertBalance("BAT2", "60.00");
+        assertEquals(6, transactionRepository.count());   // two ledger rows per applied item
+    }
+
+    @Test
+    void batchesInOppositeOrdersDoNotDeadlock() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Future<List<TransferResultDTO>>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            List<TransferRequest> batch = new ArrayList<>(List.of(
+                    transfer("BAT0", "BAT1", "1"), transfer("BAT1", "BAT2", "1"), transfer("BAT2", "BAT0", "1")));
+            if (t % 2 == 1) {
+                Collections.reverse(batch);
+            }
+            for (int i = 0; i < 20; i++) {
+                futures.add(pool.submit(() -> transferService.transferBatch(batch)));
+            }
+        }
+
+        int applied = 0;
+        for (Future<List<TransferResultDTO>> future : futures) {
+            for (TransferResultDTO result : future.get()) {
+                applied += "SUCCESS".equals(result.getStatus()) ? 1 : 0;
+            }
+        }
+        pool.shutdown();
+
+        BigDecimal total = bankAccountRepository.findAll().stream()
+                .map(BankAccount::getBalance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(0, new BigDecimal("100.00").compareTo(total));
+        assertEquals(applied * 2L, transactionRepository.count());
+    }
+
+    @Test
+    void batchesOverTheCapAreRejectedWhole() {
+        List<TransferRequest> tooMany = Collections.nCopies(1001, transfer("BAT0", "BAT1", "0.01"));
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> transferService.transferBatch(tooMany));
+
+        assertEquals("Batch too large (max 1000 transfers)", ex.getMessage());
+        assertBalance("BAT0", "100.00");
+        assertEquals(0, transactionRepository.count());
+    }
+
+    @Test
+    void singleTransfersValidateAmountsLikeBatches() {
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> transferService.transferMoney(transfer("BAT0", "BAT1", "-5")));
+
+        assertEquals("Amount must be greater than zero", ex.getMessage());
+        assertBalance("BAT0", "100.00");
+        assertBalance("BAT1", "0.00");
+    }
+
+    private void assertBalance(String accountNumber, String expected) {
+        assertEquals(0, new BigDecimal(expected).compareTo(
+                bankAccountRepository.findByAccountNumber(accountNumber).orElseThrow().getBalance()));
+    }
+
+    private static TransferRequest transfer(String from, String to, String amount) {
+        TransferRequest req = new TransferRequest();
+        req.setSenderAccountNumber(from);
+        req.setReceiverAccountNumber(to);
+        req.setIfscCode(IFSC);
+        req.setAmount(new BigDecimal(amount));
+        req.setPurpose("batch");
+        return req;
+    }
+}
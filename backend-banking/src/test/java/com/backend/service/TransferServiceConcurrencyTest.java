@@ -0,0 +1,161 @@
+package com.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+
+import com.backend.dto.TransferRequest;
+import com.backend.entity.Admin;
+import com.backend.entity.Bank;
+import com.backend.entity.BankAccount;
+import com.backend.entity.BankManager;
+import com.backend.entity.Customer;
+import com.backend.repository.AdminRepository;
+import com.backend.repository.BankAccountRepository;
+import com.backend.repository.BankManagerRepository;
+import com.backend.repository.BankRepository;
+import com.backend.repository.CustomerRepository;
+import com.backend.repository.TransactionRepository;
+
+@SpringBootTest
+class TransferServiceConcurrencyTest {
+
+    private static final String IFSC = "TEST0000001";
+    private static final int ACCOUNTS = 4;
+    static final int THREADS = 8;
+    static final int TRANSFERS_PER_THREAD = 50;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000.00");
+
+    @Autowired private TransferService transferService;
+    @Autowired private AdminRepository adminRepository;
+    @Autowired private BankManagerRepository bankManagerRepository;
+    @Autowired private BankRepository bankRepository;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private BankAccountRepository bankAccountRepository;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private AccountDirectory accountDirectory;
+
+    private final List<String> accountNumbers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        bankAccountRepository.deleteAll();
+        customerRepository.deleteAll();
+        bankRepository.deleteAll();
+        bankManagerRepository.deleteAll();
+        adminRepository.deleteAll();
+
+        Admin admin = new Admin();
+        admin.setEmail("admin@test.com");
+        admin.setPassword("x");
+        admin = adminRepository.save(admin);
+
+        BankManager manager = new BankManager();
+        manager.setName("Manager");
+        manager.setEmail("manager@test.com");
+        manager.setPassword("x");
+        manager.setAdmin(admin);
+        manager = bankManagerRepository.save(manager);
+
+        Bank bank = new Bank();
+        bank.setBankName("Test Bank");
+        bank.setBankCode("TB");
+        bank.setAdmin(admin);
+        bank.setBankManager(manager);
+        bank = bankRepository.save(bank);
+
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Customer customer = new Customer();
+            customer.setName("Customer " + i);
+            customer.setEmail("customer" + i + "@test.com");
+            customer.setPassword("x");
+            customer.setBank(bank);
+            customer = customerRepository.save(customer);
+
+            BankAccount account = new BankAccount();
+            account.setAccountNumber("ACC" + i);
+            account.setIfscCode(IFSC);
+            account.setAccountType("SAVINGS");
+            account.setBalance(OPENING_BALANCE);
+            account.setCustomer(customer);
+            account.setBank(bank);
+            bankAccountRepository.save(account);
+
+            accountNumbers.add(account.getAccountNumber());
+        }
+
+        accountDirectory.warmUp();
+    }
+
+    // Transfers allowed to fail with a conflict once their retries are used up: none, since
+    // row locks serialize writers and a conflict must never escape
+    protected int maxExhaustedRetries() {
+        return 0;
+    }
+
+    @Test
+    void concurrentTransfersConserveMoney() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger exhausted = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                    int from = random.nextInt(ACCOUNTS);
+                    int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+
+                    TransferRequest req = new TransferRequest();
+                    req.setSenderAccountNumber(accountNumbers.get(from));
+                    req.setReceiverAccountNumber(accountNumbers.get(to));
+                    req.setIfscCode(IFSC);
+                    req.setAmount(BigDecimal.valueOf(random.nextInt(1, 200)));
+                    req.setPurpose("stress");
+
+                    try {
+                        transferService.transferMoney(req);
+                        succeeded.incrementAndGet();
+                    } catch (ConcurrencyFailureException ex) {
+                        exhausted.incrementAndGet();   // rolled back, checked against the bound below
+                    } catch (RuntimeException ex) {
+                        // only a business rejection is acceptable here
+                        assertEquals("Insufficient balance", ex.getMessage());
+                    }
+                }
+            }));
+        }
+
+        for (Future<?> f : futures) {
+            f.get();
+        }
+        pool.shutdown();
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (BankAccount account : bankAccountRepository.findAll()) {
+            assertTrue(account.getBalance().signum() >= 0, "balance went negative");
+            total = total.add(account.getBalance());
+        }
+
+        assertEquals(0, OPENING_BALANCE.multiply(BigDecimal.valueOf(ACCOUNTS)).compareTo(total));
+        assertTrue(succeeded.get() > 0);
+        assertTrue(exhausted.get() <= maxExhaustedRetries(), "retries ran out " + exhausted.get() + " times");
+        assertEquals(succeeded.get() * 2L, transactionRepository.count());
+    }
+}